@@ -0,0 +1,131 @@
+package com.banking.benchmark;
+
+import com.banking.model.Account;
+import com.banking.model.PostingStatus;
+import com.banking.service.AccountDAOImpl;
+import com.banking.util.DatabaseConnection;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// AccountDAOImpl round trips against an embedded in-memory H2; SchemaMigrator builds the schema, indexes included
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountDAOBenchmark {
+	private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+	private static final String REPEATED_KEY = "bench-repeated";
+
+	@Param({"10000"})
+	public int accounts;
+
+	private AccountDAOImpl accountDAO;
+	private final AtomicLong keys = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		// Not MODE=MySQL: in that mode H2 2.1 can give concurrent inserts the same transaction_id once the
+		// transactions table has its foreign key, which fails the multi-threaded posting benchmarks
+		System.setProperty("db.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+		System.setProperty("db.console.enabled", "false");
+		// ✅ The first connection runs the migrations; only the rows are cleared here (children before accounts)
+		try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+			stmt.execute("DELETE FROM transactions");
+			stmt.execute("DELETE FROM account_balance_slots");
+			stmt.execute("DELETE FROM idempotency_keys");
+			stmt.execute("DELETE FROM accounts");
+		}
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(
+				     "INSERT INTO accounts (account_number, balance, account_type) VALUES (?, ?, ?)")) {
+			conn.setAutoCommit(false);
+			for (int i = 0; i < accounts; i++) {
+				stmt.setString(1, accountNumber(i));
+				stmt.setBigDecimal(2, new BigDecimal("1000000.00"));
+				stmt.setString(3, i % 2 == 0 ? "savings" : "checking");
+				stmt.addBatch();
+			}
+			stmt.executeBatch();
+			conn.commit();
+		}
+		accountDAO = new AccountDAOImpl();
+	}
+
+	// Keeps the ledger and the idempotency keys from growing across iterations
+	@TearDown(Level.Iteration)
+	public void clearLedger() throws SQLException {
+		try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+			stmt.execute("DELETE FROM transactions");
+			stmt.execute("DELETE FROM idempotency_keys");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		DatabaseConnection.closeDatabase();
+		System.clearProperty("db.url");
+		System.clearProperty("db.console.enabled");
+	}
+
+	@Benchmark
+	public boolean deposit() {
+		return accountDAO.deposit(randomAccount(), AMOUNT);
+	}
+
+	@Benchmark
+	public boolean withdraw() {
+		return accountDAO.withdraw(randomAccount(), AMOUNT);
+	}
+
+	@Benchmark
+	public boolean transfer() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int from = random.nextInt(accounts);
+		int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+		return accountDAO.transfer(accountNumber(from), accountNumber(to), AMOUNT);
+	}
+
+	@Benchmark
+	public PostingStatus fastTransfer() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int from = random.nextInt(accounts);
+		int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+		return accountDAO.fastTransfer(accountNumber(from), accountNumber(to), AMOUNT);
+	}
+
+	// Keyed posting: every call stores a new idempotency key in the same transaction as the deposit
+	@Benchmark
+	public PostingStatus depositWithNewKey() {
+		return accountDAO.deposit(randomAccount(), AMOUNT, "bench-" + keys.incrementAndGet());
+	}
+
+	// Keyed posting retried by a client: after the first call the stored outcome is returned without posting
+	@Benchmark
+	public PostingStatus depositWithRepeatedKey() {
+		return accountDAO.deposit(accountNumber(0), AMOUNT, REPEATED_KEY);
+	}
+
+	@Benchmark
+	public Optional<Account> getAccountByNumber() {
+		return accountDAO.getAccountByNumber(randomAccount());
+	}
+
+	private String randomAccount() {
+		return accountNumber(ThreadLocalRandom.current().nextInt(accounts));
+	}
+
+	private static String accountNumber(int i) {
+		return String.format("ACC%07d", i);
+	}
+}
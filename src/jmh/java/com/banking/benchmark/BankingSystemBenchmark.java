@@ -0,0 +1,95 @@
+package com.banking.benchmark;
+
+import com.banking.BankingSystem;
+import com.banking.model.Account;
+import com.banking.model.CheckingAccount;
+import com.banking.model.SavingsAccount;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// In-memory engine at 1K / 100K / 1M accounts
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class BankingSystemBenchmark {
+	private static final int MONTH_END_ACCOUNTS = 1_000;
+
+	@Param({"1000", "100000", "1000000"})
+	public int accounts;
+
+	private BankingSystem bankingSystem;
+	private String[] accountNumbers;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		bankingSystem = newBankingSystem(accounts);
+		accountNumbers = new String[accounts];
+		for (int i = 0; i < accounts; i++) {
+			accountNumbers[i] = accountNumber(i);
+		}
+	}
+
+	// processMonthlyFees changes every balance, so each call gets a fresh small system instead of the trial one
+	@State(Scope.Thread)
+	public static class MonthEnd {
+		private BankingSystem bankingSystem;
+
+		@Setup(Level.Invocation)
+		public void setUp() {
+			bankingSystem = newBankingSystem(MONTH_END_ACCOUNTS);
+		}
+	}
+
+	@Benchmark
+	public Account findAccount() {
+		return bankingSystem.findAccount(accountNumbers[ThreadLocalRandom.current().nextInt(accounts)]);
+	}
+
+	@Benchmark
+	public List<Account> getAccountsSortedByBalance() {
+		return bankingSystem.getAccountsSortedByBalance();
+	}
+
+	@Benchmark
+	public BigDecimal getTotalBalance() {
+		return bankingSystem.getTotalBalance();
+	}
+
+	// Month-end calculation at full size; it reads balances only, so the trial state stays as it was
+	@Benchmark
+	public void calculateMonthlyAdjustments(Blackhole blackhole) {
+		for (String number : accountNumbers) {
+			blackhole.consume(bankingSystem.calculateMonthlyAdjustment(bankingSystem.findAccount(number)));
+		}
+	}
+
+	@Benchmark
+	public void processMonthlyFees(MonthEnd monthEnd, Blackhole blackhole) {
+		monthEnd.bankingSystem.processMonthlyFees();
+		blackhole.consume(monthEnd.bankingSystem);
+	}
+
+	private static BankingSystem newBankingSystem(int accounts) {
+		BankingSystem bankingSystem = new BankingSystem();
+		for (int i = 0; i < accounts; i++) {
+			String number = accountNumber(i);
+			BigDecimal balance = BigDecimal.valueOf(1_000 + (i * 7919L) % 100_000, 2);
+			bankingSystem.addAccount(i % 2 == 0
+					? new SavingsAccount(number, balance.add(new BigDecimal("100.00")))
+					: new CheckingAccount(number, balance));
+		}
+		return bankingSystem;
+	}
+
+	private static String accountNumber(int i) {
+		return String.format("ACC%07d", i);
+	}
+}
@@ -0,0 +1,42 @@
+package com.banking.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the selected benchmarks once per thread count and writes one JMH JSON file per run
+ * ({@code jmh-t<threads>.json}) so results from different commits can be diffed or fed to a JMH visualizer.
+ * <p>
+ * System properties: {@code jmh.include} (benchmark regex), {@code jmh.threads} (comma-separated thread counts),
+ * {@code jmh.resultDir} (output directory). Any command-line arguments are regular JMH options, e.g. {@code -p accounts=1000}.
+ */
+public class BenchmarkRunner {
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		String include = System.getProperty("jmh.include", ".*");
+		String[] threadCounts = System.getProperty("jmh.threads", "1,4,8").split(",");
+		File resultDir = new File(System.getProperty("jmh.resultDir", "target/jmh"));
+		if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+			throw new IllegalStateException("❌ Cannot create result directory " + resultDir);
+		}
+
+		for (String value : threadCounts) {
+			int threads = Integer.parseInt(value.trim());
+			Options options = new OptionsBuilder()
+					.parent(commandLine)
+					.include(include)
+					.threads(threads)
+					.resultFormat(ResultFormatType.JSON)
+					.result(new File(resultDir, "jmh-t" + threads + ".json").getPath())
+					.build();
+			new Runner(options).run();
+		}
+	}
+}
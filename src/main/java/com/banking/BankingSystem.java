@@ -1,21 +1,80 @@
 package com.banking;
 
 import com.banking.model.Account;
+import com.banking.model.AccountSnapshot;
+import com.banking.model.AccountType;
+import com.banking.model.BalanceListener;
+import com.banking.model.LedgerEntry;
+import com.banking.model.Money;
+import com.banking.model.MonthlyAdjustment;
+import com.banking.model.TransactionType;
 import com.banking.exception.AccountNotFoundException;
+import com.banking.util.LedgerJournal;
+import com.banking.util.LockStripes;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+// Safe for concurrent use: balance reads never lock, balance changes go through striped per-account locks.
+// Totals and the balance-ordered index are kept up to date by a BalanceListener on each account, so reports
+// never scan every account. An account should belong to one BankingSystem at a time.
+// With a LedgerJournal, every balance change is appended to it under the same stripe lock, so a snapshot plus
+// the journal records after its sequence rebuild the system exactly (RecoveryService with JournalReplay).
 public class BankingSystem {
-    // Generic collections
-    private final List<Account> accounts = new ArrayList<>();
-    private final Map<String, Account> accountMap = new HashMap<>();
+    private static final int DEFAULT_LOCK_STRIPES = 256;
 
-    // Add account to both collections
+    private final ConcurrentMap<String, Account> accountMap = new ConcurrentHashMap<>();
+    private final LockStripes locks;
+    private final LedgerJournal journal;
+    private final LongAdder postings = new LongAdder();
+    private final Object snapshotLock = new Object();
+    private volatile SnapshotCapture capture;
+
+    // ✅ Running aggregates in cents; the maps are filled once and never change shape
+    private final Map<AccountType, LongAdder> totalCentsByType = new EnumMap<>(AccountType.class);
+    private final Map<AccountType, LongAdder> accountsByType = new EnumMap<>(AccountType.class);
+    private final ConcurrentNavigableMap<BalanceKey, Account> balanceIndex = new ConcurrentSkipListMap<>();
+    private final BalanceListener aggregator = this::onBalanceChanged;
+
+    public BankingSystem() {
+        this(DEFAULT_LOCK_STRIPES);
+    }
+
+    public BankingSystem(int lockStripes) {
+        this(lockStripes, null);
+    }
+
+    public BankingSystem(int lockStripes, LedgerJournal journal) {
+        this.locks = new LockStripes(lockStripes);
+        this.journal = journal;
+        for (AccountType type : AccountType.values()) {
+            totalCentsByType.put(type, new LongAdder());
+            accountsByType.put(type, new LongAdder());
+        }
+    }
+
+    // Add account (replaces any account with the same number)
     public void addAccount(Account account) {
         Objects.requireNonNull(account, "Account cannot be null");
-        accounts.add(account);
-        accountMap.put(account.getAccountNumber(), account);
+        locks.lock(account.getAccountNumber());
+        try {
+            Account previous = accountMap.put(account.getAccountNumber(), account);
+            if (previous != account) {
+                if (previous != null) {
+                    untrack(previous);
+                }
+                track(account);
+            }
+        } finally {
+            locks.unlock(account.getAccountNumber());
+        }
     }
 
     // Find account using Map for O(1) lookup
@@ -27,40 +86,350 @@ public class BankingSystem {
         return account;
     }
 
-    // Get accounts sorted by balance
+    public void deposit(String accountNumber, BigDecimal amount) {
+        deposit(accountNumber, Money.toCents(amount));
+    }
+
+    public void deposit(String accountNumber, long amountCents) {
+        Account account = findAccount(accountNumber);
+        locks.lock(accountNumber);
+        try {
+            beforeChange(account);
+            account.deposit(amountCents);
+            appendToJournal(accountNumber, TransactionType.DEPOSIT, amountCents, null);
+            postings.increment();
+        } finally {
+            locks.unlock(accountNumber);
+        }
+    }
+
+    public void withdraw(String accountNumber, BigDecimal amount) {
+        withdraw(accountNumber, Money.toCents(amount));
+    }
+
+    public void withdraw(String accountNumber, long amountCents) {
+        Account account = findAccount(accountNumber);
+        locks.lock(accountNumber);
+        try {
+            beforeChange(account);
+            account.withdraw(amountCents);
+            appendToJournal(accountNumber, TransactionType.WITHDRAWAL, amountCents, null);
+            postings.increment();
+        } finally {
+            locks.unlock(accountNumber);
+        }
+    }
+
+    // Both accounts are locked in stripe order, so opposite-direction transfers cannot deadlock
+    public void transfer(String fromAccount, String toAccount, BigDecimal amount) {
+        transfer(fromAccount, toAccount, Money.toCents(amount));
+    }
+
+    public void transfer(String fromAccount, String toAccount, long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        if (fromAccount.equals(toAccount)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account.");
+        }
+        Account from = findAccount(fromAccount);
+        Account to = findAccount(toAccount);
+
+        locks.lockPair(fromAccount, toAccount);
+        try {
+            beforeChange(from);
+            beforeChange(to);
+            from.withdraw(amountCents); // throws before anything changes if funds are short
+            to.deposit(amountCents);
+            appendToJournal(fromAccount, TransactionType.TRANSFER_OUT, amountCents, toAccount);
+            appendToJournal(toAccount, TransactionType.TRANSFER_IN, amountCents, fromAccount);
+            postings.increment();
+        } finally {
+            locks.unlockPair(fromAccount, toAccount);
+        }
+    }
+
+    // Get accounts sorted by balance (ties by account number), read from the balance index
     public List<Account> getAccountsSortedByBalance() {
-        return accounts.stream()
-                      .sorted(Comparator.comparing(Account::getBalance))
+        return distinct(balanceIndex.values());
+    }
+
+    // ✅ Top-N and range reads walk the balance index and stop after limit accounts (no sort)
+
+    // Highest balances first; ties by account number, descending
+    public List<Account> topByBalance(int limit) {
+        return first(balanceIndex.descendingMap().values(), limit);
+    }
+
+    // Lowest balances first; ties by account number
+    public List<Account> bottomByBalance(int limit) {
+        return first(balanceIndex.values(), limit);
+    }
+
+    // Accounts with low <= balance <= high, lowest first; bounds are rounded inward to whole cents
+    public List<Account> balanceBetween(BigDecimal low, BigDecimal high, int limit) {
+        long lowCents = Money.toCents(low, RoundingMode.CEILING);
+        long highCents = Money.toCents(high, RoundingMode.FLOOR);
+        if (lowCents > highCents) {
+            return first(Collections.emptyList(), limit);
+        }
+        ConcurrentNavigableMap<BalanceKey, Account> range = highCents == Long.MAX_VALUE
+                ? balanceIndex.tailMap(BalanceKey.lowest(lowCents))
+                : balanceIndex.subMap(BalanceKey.lowest(lowCents), BalanceKey.lowest(highCents + 1));
+        return first(range.values(), limit);
+    }
+
+    // Stable order used to split the account set into month-end chunks
+    public List<Account> getAccountsSortedByNumber() {
+        return accountMap.values().stream()
+                      .sorted(Comparator.comparing(Account::getAccountNumber))
                       .collect(Collectors.toList());
     }
 
-    // Process monthly fees for all accounts
+    // Process monthly fees for all accounts, split across the common fork-join pool
+    // (MonthEndProcessor does the same and also writes the results to the database)
     public void processMonthlyFees() {
-        accounts.forEach(Account::processMonthlyFees);
+        accountMap.values().parallelStream().forEach(this::processMonthlyFees);
     }
 
-    // Get total balance across all accounts
+    // ✅ Month-end in two short steps around the caller's database commit, so no stripe is held during I/O:
+    // the adjustment is calculated under the account's stripe, and booked under it again once it is durable
+    public MonthlyAdjustment calculateMonthlyAdjustment(Account account) {
+        locks.lock(account.getAccountNumber());
+        try {
+            return new MonthlyAdjustment(account, account.getBalanceCents(), account.calculateMonthlyAdjustment());
+        } finally {
+            locks.unlock(account.getAccountNumber());
+        }
+    }
+
+    // Books the same delta the database applied; false if a posting moved the balance after the calculation
+    // (the adjustment then reflects the balance as of the calculation, as it does in the database)
+    public boolean bookMonthlyAdjustment(MonthlyAdjustment adjustment) {
+        Account account = adjustment.getAccount();
+        locks.lock(account.getAccountNumber());
+        try {
+            boolean unchanged = account.getBalanceCents() == adjustment.getBalanceCents();
+            beforeChange(account);
+            account.applyMonthlyAdjustment(adjustment.getAdjustmentCents());
+            journalAdjustment(account.getAccountNumber(), adjustment.getAdjustmentCents());
+            return unchanged;
+        } finally {
+            locks.unlock(account.getAccountNumber());
+        }
+    }
+
+    private void processMonthlyFees(Account account) {
+        locks.lock(account.getAccountNumber());
+        try {
+            beforeChange(account);
+            long adjustment = account.calculateMonthlyAdjustment(); // a fee that does not fit is waived, not thrown
+            account.applyMonthlyAdjustment(adjustment);
+            journalAdjustment(account.getAccountNumber(), adjustment);
+        } finally {
+            locks.unlock(account.getAccountNumber());
+        }
+    }
+
+    // Deposits, withdrawals and transfers applied since this system was created
+    public long getPostingCount() {
+        return postings.sum();
+    }
+
+    /**
+     * Consistent point-in-time copy of every balance, taken without holding up writers.
+     * <p>
+     * All stripes are held only long enough to list the accounts and start the capture. While the copy runs, the
+     * first change to each account saves its old balance into the capture (copy-on-write), so the snapshot shows
+     * every account as it was when the capture started. The journal's last sequence is read at that same instant;
+     * since changes are journaled under their stripe lock, exactly the records after it are missing from the
+     * snapshot. Without a journal the sequence is 0. Accounts added after the snapshot are not in it.
+     */
+    public AccountSnapshot snapshot() {
+        synchronized (snapshotLock) {
+            SnapshotCapture current = new SnapshotCapture();
+            List<Account> accounts;
+            long sequence;
+            locks.lockAll();
+            try {
+                accounts = new ArrayList<>(accountMap.values());
+                sequence = journal == null ? 0 : journal.getLastSequence();
+                capture = current;
+            } finally {
+                locks.unlockAll();
+            }
+
+            try {
+                List<AccountSnapshot.Entry> entries = new ArrayList<>(accounts.size());
+                for (Account account : accounts) {
+                    entries.add(new AccountSnapshot.Entry(account.getAccountNumber(), account.getAccountType(),
+                            current.balanceOf(account)));
+                }
+                return new AccountSnapshot(entries, 0, sequence);
+            } finally {
+                capture = null;
+            }
+        }
+    }
+
+    // Called with the account's stripe held, after its balance changed
+    private void appendToJournal(String accountNumber, TransactionType type, long amountCents, String referenceAccount) {
+        if (journal != null) {
+            journal.append(new LedgerEntry(accountNumber, type, Money.toBigDecimal(amountCents), referenceAccount, LocalDateTime.now()));
+        }
+    }
+
+    private void journalAdjustment(String accountNumber, long adjustmentCents) {
+        if (adjustmentCents != 0) {
+            appendToJournal(accountNumber, adjustmentCents > 0 ? TransactionType.INTEREST : TransactionType.FEE,
+                    Math.abs(adjustmentCents), null);
+        }
+    }
+
+    // Called with the account's stripe held, before its balance changes
+    private void beforeChange(Account account) {
+        SnapshotCapture current = capture;
+        if (current != null) {
+            current.balanceOf(account);
+        }
+    }
+
+    // Get total balance across all accounts (exact once writers are quiet; a moving sum while they run)
     public BigDecimal getTotalBalance() {
-        return accounts.stream()
-                      .map(Account::getBalance)
-                      .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return Money.toBigDecimal(getTotalBalanceCents());
     }
 
-    // Get accounts filtered by minimum balance
+    public long getTotalBalanceCents() {
+        long totalCents = 0;
+        for (LongAdder typeTotal : totalCentsByType.values()) {
+            totalCents = Money.add(totalCents, typeTotal.sum());
+        }
+        return totalCents;
+    }
+
+    public BigDecimal getTotalBalance(AccountType type) {
+        return Money.toBigDecimal(totalCentsByType.get(type).sum());
+    }
+
+    public long getNumberOfAccounts(AccountType type) {
+        return accountsByType.get(type).sum();
+    }
+
+    // Get accounts filtered by minimum balance, as a range scan of the balance index
     public List<Account> getAccountsAboveBalance(BigDecimal minimumBalance) {
-        return accounts.stream()
-                      .filter(a -> a.getBalance().compareTo(minimumBalance) > 0)
-                      .collect(Collectors.toList());
+        // balance > minimum  <=>  cents > floor(minimum * 100)
+        long thresholdCents = Money.toCents(minimumBalance, RoundingMode.FLOOR);
+        if (thresholdCents == Long.MAX_VALUE) {
+            return new ArrayList<>();
+        }
+        return distinct(balanceIndex.tailMap(BalanceKey.lowest(thresholdCents + 1)).values());
     }
 
     // Get number of accounts
     public int getNumberOfAccounts() {
-        return accounts.size();
+        return accountMap.size();
     }
 
     // Clear all accounts
     public void clearAccounts() {
-        accounts.clear();
-        accountMap.clear();
+        locks.lockAll();
+        try {
+            for (Account account : accountMap.values()) {
+                untrack(account);
+            }
+            accountMap.clear();
+        } finally {
+            locks.unlockAll();
+        }
+    }
+
+    // Called with the account's stripe held
+    private void track(Account account) {
+        synchronized (account) {
+            account.setBalanceListener(aggregator);
+            long balance = account.getBalanceCents();
+            totalCentsByType.get(account.getAccountType()).add(balance);
+            accountsByType.get(account.getAccountType()).increment();
+            balanceIndex.put(new BalanceKey(balance, account.getAccountNumber()), account);
+        }
+    }
+
+    private void untrack(Account account) {
+        synchronized (account) {
+            if (account.getBalanceListener() != aggregator) {
+                return;
+            }
+            account.setBalanceListener(null);
+            long balance = account.getBalanceCents();
+            totalCentsByType.get(account.getAccountType()).add(-balance);
+            accountsByType.get(account.getAccountType()).decrement();
+            balanceIndex.remove(new BalanceKey(balance, account.getAccountNumber()));
+        }
+    }
+
+    // Runs under the account's monitor, so changes to one account reach the index in order
+    private void onBalanceChanged(Account account, long oldBalanceCents, long newBalanceCents) {
+        totalCentsByType.get(account.getAccountType()).add(newBalanceCents - oldBalanceCents);
+        // Insert before removing so a concurrent range scan never misses the account; it may see it twice instead
+        balanceIndex.put(new BalanceKey(newBalanceCents, account.getAccountNumber()), account);
+        balanceIndex.remove(new BalanceKey(oldBalanceCents, account.getAccountNumber()));
+    }
+
+    private static List<Account> distinct(Collection<Account> accounts) {
+        return accounts.stream().distinct().collect(Collectors.toList());
+    }
+
+    private static List<Account> first(Collection<Account> accounts, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        return accounts.stream().distinct().limit(limit).collect(Collectors.toList());
+    }
+
+    // Balance index key: balance in cents, then account number
+    private static final class BalanceKey implements Comparable<BalanceKey> {
+        private final long balanceCents;
+        private final String accountNumber;
+
+        BalanceKey(long balanceCents, String accountNumber) {
+            this.balanceCents = balanceCents;
+            this.accountNumber = accountNumber;
+        }
+
+        // Sorts before every account with this balance
+        static BalanceKey lowest(long balanceCents) {
+            return new BalanceKey(balanceCents, "");
+        }
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            int cmp = Long.compare(balanceCents, other.balanceCents);
+            return cmp != 0 ? cmp : accountNumber.compareTo(other.accountNumber);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BalanceKey)) {
+                return false;
+            }
+            BalanceKey other = (BalanceKey) o;
+            return balanceCents == other.balanceCents && accountNumber.equals(other.accountNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(balanceCents) * 31 + accountNumber.hashCode();
+        }
+    }
+
+    // Balance of each account as of the start of a snapshot; the first read (by a writer or the snapshot) wins
+    private static final class SnapshotCapture {
+        private final ConcurrentMap<String, Long> balances = new ConcurrentHashMap<>();
+
+        long balanceOf(Account account) {
+            long current = account.getBalanceCents();
+            Long captured = balances.putIfAbsent(account.getAccountNumber(), current);
+            return captured != null ? captured : current;
+        }
     }
 }
@@ -1,17 +1,49 @@
 package com.banking;
 
 
+import com.banking.service.AccountDAOImpl;
+import com.banking.service.HotAccountRollup;
+import com.banking.service.LoadGenerator;
 import com.banking.util.DatabaseConnection;
 import com.banking.util.DbConfig;
+import com.banking.view.BankingHttpServer;
 import com.banking.view.Dashboard;
 
+import java.io.IOException;
+
 import java.sql.SQLException;
 
 
 
 
 public class Main {
-	public static void main(String[] args) throws SQLException {
+	public static void main(String[] args) throws SQLException, IOException {
+		// ✅ `server` starts the HTTP front-end instead of the console menu
+		if (args.length > 0 && args[0].equals("server")) {
+			BankingHttpServer server = BankingHttpServer.fromConfig();
+			HotAccountRollup rollup = HotAccountRollup.fromConfig(new AccountDAOImpl().getHotAccounts());
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				server.close();
+				rollup.close();
+			}, "http-shutdown"));
+			server.start();
+			return;
+		}
+		// ✅ `loadtest` runs LoadGenerator with the loadtest.* settings and prints its report
+		if (args.length > 0 && args[0].equals("loadtest")) {
+			LoadGenerator generator = LoadGenerator.fromConfig();
+			generator.setUp();
+			LoadGenerator.Report report;
+			try {
+				report = generator.run(DbConfig.getLoadTestDurationMillis(), 0);
+				System.out.println(report);
+			} finally {
+				if (DbConfig.isLoadTestCleanup()) {
+					generator.cleanUp();
+				}
+			}
+			System.exit(report.isMoneyConserved() ? 0 : 1);
+		}
 		Dashboard dashboard = new Dashboard();
 		dashboard.showMenu();
 
@@ -0,0 +1,14 @@
+package com.banking.exception;
+
+public class ConcurrentUpdateException extends BankingException {
+    private final String accountNumber;
+
+    public ConcurrentUpdateException(String accountNumber) {
+        super(String.format("Account %s was changed by another update", accountNumber));
+        this.accountNumber = accountNumber;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+}
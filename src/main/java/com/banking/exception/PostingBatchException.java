@@ -0,0 +1,21 @@
+package com.banking.exception;
+
+import com.banking.model.PostingResult;
+
+import java.util.List;
+
+// A posting batch stopped on a database error; the chunks committed before it are reported, the rest was not applied
+public class PostingBatchException extends BankingException {
+    private final List<PostingResult> committedResults;
+
+    public PostingBatchException(List<PostingResult> committedResults, int totalPostings, Throwable cause) {
+        super(String.format("Posting batch stopped after %d of %d postings: %s",
+                committedResults.size(), totalPostings, cause.getMessage()), cause);
+        this.committedResults = List.copyOf(committedResults);
+    }
+
+    // Results of the first getCommittedResults().size() postings, in order
+    public List<PostingResult> getCommittedResults() {
+        return committedResults;
+    }
+}
@@ -1,15 +1,18 @@
 package com.banking.model;
 
+import com.banking.exception.InsufficientFundsException;
 import java.math.BigDecimal;
 
+// Balance is held in cents (see Money); reads are lock-free (volatile), updates are synchronized on the account
 public abstract class Account {
     private final String accountNumber;
-    private BigDecimal balance;
+    private volatile long balanceCents;
     private final AccountType accountType;
+    private volatile BalanceListener balanceListener;
 
     public Account(String accountNumber, BigDecimal balance, AccountType accountType) {
         this.accountNumber = accountNumber;
-        this.balance = balance;
+        this.balanceCents = Money.toCents(balance);
         this.accountType = accountType;
     }
 
@@ -18,7 +21,11 @@ public abstract class Account {
     }
 
     public BigDecimal getBalance() {
-        return balance;
+        return Money.toBigDecimal(balanceCents);
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
     }
 
     public AccountType getAccountType() {
@@ -26,28 +33,71 @@ public abstract class Account {
     }
 
     public void deposit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) > 0) {
-            balance = balance.add(amount);
+        deposit(Money.toCents(amount));
+    }
+
+    public synchronized void deposit(long amountCents) {
+        if (amountCents > 0) {
+            long oldBalance = balanceCents;
+            balanceCents = Money.add(oldBalance, amountCents);
+            balanceChanged(oldBalance);
         } else {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
     }
 
     public void withdraw(BigDecimal amount) {
-        if (canWithdraw(amount)) {
-            balance = balance.subtract(amount);
-        } else {
-            throw new IllegalArgumentException("Insufficient funds or withdrawal not allowed.");
+        withdraw(Money.toCents(amount));
+    }
+
+    public synchronized void withdraw(long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive.");
+        }
+        if (!canWithdraw(amountCents)) {
+            throw new InsufficientFundsException(accountNumber, Money.toBigDecimal(amountCents), getBalance());
         }
+        long oldBalance = balanceCents;
+        balanceCents = Money.subtract(oldBalance, amountCents);
+        balanceChanged(oldBalance);
     }
 
-    protected abstract boolean canWithdraw(BigDecimal amount);
+    // Books a charge that was already committed elsewhere (a month-end fee); no overdraft or minimum balance check
+    protected synchronized void charge(long amountCents) {
+        long oldBalance = balanceCents;
+        balanceCents = Money.subtract(oldBalance, amountCents);
+        balanceChanged(oldBalance);
+    }
+
+    // Set (or cleared with null) by the BankingSystem holding this account, under the account's monitor
+    public synchronized void setBalanceListener(BalanceListener balanceListener) {
+        this.balanceListener = balanceListener;
+    }
+
+    public BalanceListener getBalanceListener() {
+        return balanceListener;
+    }
+
+    private void balanceChanged(long oldBalance) {
+        BalanceListener listener = balanceListener;
+        if (listener != null) {
+            listener.onBalanceChanged(this, oldBalance, balanceCents);
+        }
+    }
+
+    protected abstract boolean canWithdraw(long amountCents);
 
     public abstract void processMonthlyFees();
 
+    // Interest (positive) or fee (negative) due this month in cents; does not change the balance
+    public abstract long calculateMonthlyAdjustment();
+
+    // Books an adjustment from calculateMonthlyAdjustment() and starts the new month
+    public abstract void applyMonthlyAdjustment(long adjustmentCents);
+
     @Override
     public String toString() {
         return String.format("%s Account [%s] - Balance: $%.2f",
-                accountType, accountNumber, balance);
+                accountType, accountNumber, getBalance());
     }
 }
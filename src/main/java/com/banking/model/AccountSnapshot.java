@@ -0,0 +1,65 @@
+package com.banking.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Point-in-time balances of every account, plus how far into the ledger they reach: every transactions row up
+ * to {@code lastTransactionId} and every journal record up to {@code lastJournalSequence} is already reflected.
+ * Entries are kept in account-number order.
+ */
+public final class AccountSnapshot {
+    private final List<Entry> entries;
+    private final long lastTransactionId;
+    private final long lastJournalSequence;
+
+    public AccountSnapshot(List<Entry> entries, long lastTransactionId, long lastJournalSequence) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(Entry::getAccountNumber));
+        this.entries = Collections.unmodifiableList(sorted);
+        this.lastTransactionId = lastTransactionId;
+        this.lastJournalSequence = lastJournalSequence;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public long getLastJournalSequence() {
+        return lastJournalSequence;
+    }
+
+    public static final class Entry {
+        private final String accountNumber;
+        private final AccountType accountType;
+        private final long balanceCents;
+
+        public Entry(String accountNumber, AccountType accountType, long balanceCents) {
+            this.accountNumber = accountNumber;
+            this.accountType = accountType;
+            this.balanceCents = balanceCents;
+        }
+
+        public static Entry of(Account account) {
+            return new Entry(account.getAccountNumber(), account.getAccountType(), account.getBalanceCents());
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public AccountType getAccountType() {
+            return accountType;
+        }
+
+        public long getBalanceCents() {
+            return balanceCents;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.banking.model;
+
+// Notified after every balance change, while the account's monitor is still held
+public interface BalanceListener {
+    void onBalanceChanged(Account account, long oldBalanceCents, long newBalanceCents);
+}
@@ -3,8 +3,8 @@ package com.banking.model;
 import java.math.BigDecimal;
 
 public class CheckingAccount extends Account implements Transferable {
-    private static final BigDecimal MONTHLY_FEE = new BigDecimal("12.00");
-    private static final BigDecimal OVERDRAFT_LIMIT = new BigDecimal("-100.00");
+    private static final long MONTHLY_FEE_CENTS = 1_200;       // $12.00
+    private static final long OVERDRAFT_LIMIT_CENTS = -10_000; // -$100.00
     private int monthlyTransactions;
 
     public CheckingAccount(String accountNumber, BigDecimal balance) {
@@ -13,14 +13,27 @@ public class CheckingAccount extends Account implements Transferable {
     }
 
     @Override
-    public void processMonthlyFees() {
-        withdraw(MONTHLY_FEE);
+    public synchronized void processMonthlyFees() {
+        applyMonthlyAdjustment(calculateMonthlyAdjustment()); // same fee policy as the month-end run
+    }
+
+    // The fee is waived when charging it would go past the overdraft limit
+    @Override
+    public long calculateMonthlyAdjustment() {
+        return canWithdraw(MONTHLY_FEE_CENTS) ? -MONTHLY_FEE_CENTS : 0;
+    }
+
+    @Override
+    public synchronized void applyMonthlyAdjustment(long adjustmentCents) {
+        if (adjustmentCents < 0) {
+            charge(-adjustmentCents); // decided by calculateMonthlyAdjustment, so it always books
+        }
         monthlyTransactions = 0;
     }
 
     @Override
-    protected boolean canWithdraw(BigDecimal amount) {
-        return getBalance().subtract(amount).compareTo(OVERDRAFT_LIMIT) >= 0;
+    protected boolean canWithdraw(long amountCents) {
+        return Money.subtract(getBalanceCents(), amountCents) >= OVERDRAFT_LIMIT_CENTS;
     }
 
     @Override
@@ -33,7 +46,7 @@ public class CheckingAccount extends Account implements Transferable {
             System.out.println("❌ Invalid transfer amount.");
             return false;
         }
-        if (canWithdraw(amount)) {
+        if (canWithdraw(Money.toCents(amount))) {
             withdraw(amount);
             destination.deposit(amount);
             return true;
@@ -42,18 +55,18 @@ public class CheckingAccount extends Account implements Transferable {
     }
 
     @Override
-    public void withdraw(BigDecimal amount) {
-        super.withdraw(amount);
+    public synchronized void withdraw(long amountCents) {
+        super.withdraw(amountCents);
         monthlyTransactions++;
     }
 
     @Override
-    public void deposit(BigDecimal amount) {
-        super.deposit(amount);
+    public synchronized void deposit(long amountCents) {
+        super.deposit(amountCents);
         monthlyTransactions++;
     }
 
-    public int getMonthlyTransactions() {
+    public synchronized int getMonthlyTransactions() {
         return monthlyTransactions;
     }
 
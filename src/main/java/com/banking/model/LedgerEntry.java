@@ -0,0 +1,47 @@
+package com.banking.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One row of the transactions ledger
+public final class LedgerEntry {
+    private final String accountNumber;
+    private final TransactionType type;
+    private final BigDecimal amount;
+    private final String referenceAccount;
+    private final LocalDateTime timestamp;
+
+    public LedgerEntry(String accountNumber, TransactionType type, BigDecimal amount, String referenceAccount, LocalDateTime timestamp) {
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.amount = amount;
+        this.referenceAccount = referenceAccount;
+        this.timestamp = timestamp;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getReferenceAccount() {
+        return referenceAccount;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s | %s | Account: %s | Amount: $%.2f | Reference: %s",
+                timestamp, type, accountNumber, amount, referenceAccount != null ? referenceAccount : "N/A");
+    }
+}
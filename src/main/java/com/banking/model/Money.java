@@ -0,0 +1,72 @@
+package com.banking.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-scale money arithmetic on {@code long} minor units (cents).
+ * <p>
+ * Balance math in the model runs on cents so the hot path does not allocate; {@link BigDecimal} is only
+ * produced at the JDBC and display boundary. All arithmetic is overflow-checked and throws
+ * {@link ArithmeticException} instead of wrapping.
+ */
+public final class Money {
+    public static final int SCALE = 2;
+    private static final long PPM = 1_000_000L;
+
+    // Amounts coming in (deposits, withdrawals, opening balances) must be whole cents: 10.005 is rejected, not rounded
+    public static long toCents(BigDecimal amount) {
+        return requireCents(amount).unscaledValue().longValueExact();
+    }
+
+    // Computed values and query bounds round as the caller says
+    public static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    // The amount at scale 2; IllegalArgumentException if that would drop a fraction of a cent
+    public static BigDecimal requireCents(BigDecimal amount) {
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount cannot have more than two decimal places: " + amount.toPlainString());
+        }
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    // Rate expressed in parts per million, e.g. 2.5% = 25_000
+    public static long ratePpm(BigDecimal rate) {
+        return rate.movePointRight(6).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+
+    // cents * ratePpm / 1_000_000, rounded half-even, without overflowing on large balances
+    public static long applyRate(long cents, long ratePpm) {
+        long whole = Math.floorDiv(cents, PPM);
+        long part = Math.floorMod(cents, PPM);
+        return Math.addExact(Math.multiplyExact(whole, ratePpm), divideHalfEven(Math.multiplyExact(part, ratePpm), PPM));
+    }
+
+    private static long divideHalfEven(long dividend, long divisor) {
+        long quotient = Math.floorDiv(dividend, divisor);
+        long twiceRemainder = 2 * Math.floorMod(dividend, divisor);
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) == 1)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    private Money() {
+        // Static helpers only
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.model;
+
+// Month-end interest (positive) or fee (negative) for one account, with the balance it was calculated from
+public final class MonthlyAdjustment {
+    private final Account account;
+    private final long balanceCents;
+    private final long adjustmentCents;
+
+    public MonthlyAdjustment(Account account, long balanceCents, long adjustmentCents) {
+        this.account = account;
+        this.balanceCents = balanceCents;
+        this.adjustmentCents = adjustmentCents;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public long getAdjustmentCents() {
+        return adjustmentCents;
+    }
+}
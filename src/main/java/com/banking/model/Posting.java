@@ -0,0 +1,71 @@
+package com.banking.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// A single deposit, withdrawal or transfer submitted as part of a batch
+public final class Posting {
+    public enum Kind {
+        DEPOSIT,
+        WITHDRAWAL,
+        TRANSFER
+    }
+
+    private final Kind kind;
+    private final String accountNumber;
+    private final String counterpartyAccount;
+    private final BigDecimal amount;
+
+    private Posting(Kind kind, String accountNumber, String counterpartyAccount, BigDecimal amount) {
+        Objects.requireNonNull(accountNumber, "Account number cannot be null");
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Posting amount must be positive.");
+        }
+        Money.requireCents(amount);
+        this.kind = kind;
+        this.accountNumber = accountNumber;
+        this.counterpartyAccount = counterpartyAccount;
+        this.amount = amount;
+    }
+
+    public static Posting deposit(String accountNumber, BigDecimal amount) {
+        return new Posting(Kind.DEPOSIT, accountNumber, null, amount);
+    }
+
+    public static Posting withdrawal(String accountNumber, BigDecimal amount) {
+        return new Posting(Kind.WITHDRAWAL, accountNumber, null, amount);
+    }
+
+    public static Posting transfer(String fromAccount, String toAccount, BigDecimal amount) {
+        Objects.requireNonNull(toAccount, "Recipient account cannot be null");
+        if (fromAccount.equals(toAccount)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account.");
+        }
+        return new Posting(Kind.TRANSFER, fromAccount, toAccount, amount);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // For transfers this is the sending account
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    // Receiving account of a transfer, null otherwise
+    public String getCounterpartyAccount() {
+        return counterpartyAccount;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.TRANSFER
+                ? String.format("Posting[%s %s -> %s, %.2f]", kind, accountNumber, counterpartyAccount, amount)
+                : String.format("Posting[%s %s, %.2f]", kind, accountNumber, amount);
+    }
+}
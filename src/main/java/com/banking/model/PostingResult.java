@@ -0,0 +1,28 @@
+package com.banking.model;
+
+public final class PostingResult {
+    private final Posting posting;
+    private final PostingStatus status;
+
+    public PostingResult(Posting posting, PostingStatus status) {
+        this.posting = posting;
+        this.status = status;
+    }
+
+    public Posting getPosting() {
+        return posting;
+    }
+
+    public PostingStatus getStatus() {
+        return status;
+    }
+
+    public boolean isApplied() {
+        return status == PostingStatus.APPLIED;
+    }
+
+    @Override
+    public String toString() {
+        return posting + " => " + status;
+    }
+}
@@ -0,0 +1,8 @@
+package com.banking.model;
+
+// Outcome of a single posting (deposit, withdrawal or transfer)
+public enum PostingStatus {
+    APPLIED,
+    ACCOUNT_NOT_FOUND,
+    INSUFFICIENT_FUNDS
+}
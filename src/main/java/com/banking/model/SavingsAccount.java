@@ -3,28 +3,42 @@ package com.banking.model;
 import java.math.BigDecimal;
 
 public class SavingsAccount extends Account implements Transferable {
-    private static final BigDecimal MINIMUM_BALANCE = new BigDecimal("100.00"); // Minimum required balance
+    private static final long MINIMUM_BALANCE_CENTS = 10_000; // Minimum required balance ($100.00)
     private final BigDecimal interestRate;
+    private final long interestRatePpm;
 
     public SavingsAccount(String accountNumber, BigDecimal balance) {
         super(accountNumber, balance, AccountType.SAVINGS); // ✅ Use AccountType Enum
         this.interestRate = new BigDecimal("0.025"); // ✅ 2.5% interest rate
+        this.interestRatePpm = Money.ratePpm(interestRate);
     }
 
     public SavingsAccount(String accountNumber, BigDecimal balance, BigDecimal interestRate) {
         super(accountNumber, balance, AccountType.SAVINGS);
         this.interestRate = interestRate;
+        this.interestRatePpm = Money.ratePpm(interestRate);
     }
 
     @Override
-    public void processMonthlyFees() {
-        BigDecimal interest = getBalance().multiply(interestRate);
-        deposit(interest);
+    public synchronized void processMonthlyFees() {
+        applyMonthlyAdjustment(calculateMonthlyAdjustment());
     }
 
     @Override
-    protected boolean canWithdraw(BigDecimal amount) {
-        return getBalance().subtract(amount).compareTo(MINIMUM_BALANCE) >= 0;
+    public long calculateMonthlyAdjustment() {
+        return Math.max(Money.applyRate(getBalanceCents(), interestRatePpm), 0);
+    }
+
+    @Override
+    public synchronized void applyMonthlyAdjustment(long adjustmentCents) {
+        if (adjustmentCents > 0) {
+            deposit(adjustmentCents);
+        }
+    }
+
+    @Override
+    protected boolean canWithdraw(long amountCents) {
+        return Money.subtract(getBalanceCents(), amountCents) >= MINIMUM_BALANCE_CENTS;
     }
 
     @Override
@@ -37,7 +51,7 @@ public class SavingsAccount extends Account implements Transferable {
             System.out.println("❌ Invalid transfer amount.");
             return false;
         }
-        if (canWithdraw(amount)) {
+        if (canWithdraw(Money.toCents(amount))) {
             withdraw(amount);
             destination.deposit(amount);
             return true;
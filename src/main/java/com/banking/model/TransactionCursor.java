@@ -0,0 +1,66 @@
+package com.banking.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Position in an account's history: the (transaction_date, transaction_id) of the last row a page returned.
+ * {@link #encode()} gives an opaque token that can be handed to a client and turned back with {@link #decode}.
+ */
+public final class TransactionCursor {
+    private final LocalDateTime transactionDate;
+    private final long transactionId;
+
+    public TransactionCursor(LocalDateTime transactionDate, long transactionId) {
+        this.transactionDate = Objects.requireNonNull(transactionDate, "Cursor date cannot be null");
+        this.transactionId = transactionId;
+    }
+
+    public static TransactionCursor after(TransactionRecord record) {
+        return new TransactionCursor(record.getTransactionDate(), record.getTransactionId());
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    public String encode() {
+        return transactionDate + "|" + transactionId;
+    }
+
+    public static TransactionCursor decode(String token) {
+        int separator = token.lastIndexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid transaction cursor: " + token);
+        }
+        try {
+            return new TransactionCursor(LocalDateTime.parse(token.substring(0, separator)),
+                    Long.parseLong(token.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid transaction cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionCursor)) return false;
+        TransactionCursor other = (TransactionCursor) o;
+        return transactionId == other.transactionId && transactionDate.equals(other.transactionDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(transactionDate, transactionId);
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
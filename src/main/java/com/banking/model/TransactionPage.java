@@ -0,0 +1,27 @@
+package com.banking.model;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page of history, newest first; nextCursor is null on the last page
+public final class TransactionPage {
+    private final List<TransactionRecord> records;
+    private final TransactionCursor nextCursor;
+
+    public TransactionPage(List<TransactionRecord> records, TransactionCursor nextCursor) {
+        this.records = Collections.unmodifiableList(records);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TransactionRecord> getRecords() {
+        return records;
+    }
+
+    public TransactionCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A stored ledger row, as read back from the transactions table
+public final class TransactionRecord {
+    private final long transactionId;
+    private final String accountNumber;
+    private final TransactionType type;
+    private final BigDecimal amount;
+    private final String referenceAccount;
+    private final LocalDateTime transactionDate;
+
+    public TransactionRecord(long transactionId, String accountNumber, TransactionType type, BigDecimal amount,
+                             String referenceAccount, LocalDateTime transactionDate) {
+        this.transactionId = transactionId;
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.amount = amount;
+        this.referenceAccount = referenceAccount;
+        this.transactionDate = transactionDate;
+    }
+
+    public long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getReferenceAccount() {
+        return referenceAccount;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d | %s | %s | Account: %s | Amount: $%.2f | Reference: %s",
+                transactionId, transactionDate, type, accountNumber, amount,
+                referenceAccount != null ? referenceAccount : "N/A");
+    }
+}
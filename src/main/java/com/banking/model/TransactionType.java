@@ -0,0 +1,16 @@
+package com.banking.model;
+
+public enum TransactionType {
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER_IN,
+    TRANSFER_OUT,
+    FEE,
+    INTEREST,
+    TRANSFER; // Legacy rows written before transfers were split into IN/OUT legs
+
+    // Ledger rows may hold older lowercase values
+    public static TransactionType fromColumn(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.model;
+
+// What a login needs from the users row; the password is a PasswordHasher hash (or a legacy plain-text value)
+public final class UserCredentials {
+    private final int userId;
+    private final String username;
+    private final String passwordHash;
+    private final String role;
+
+    public UserCredentials(int userId, String username, String passwordHash, String role) {
+        this.userId = userId;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.role = role;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
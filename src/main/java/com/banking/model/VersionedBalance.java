@@ -0,0 +1,28 @@
+package com.banking.model;
+
+import java.math.BigDecimal;
+
+// A balance together with the row version it was read at; pass the version back to AccountDAO.updateBalance
+public final class VersionedBalance {
+    private final String accountNumber;
+    private final BigDecimal balance;
+    private final long version;
+
+    public VersionedBalance(String accountNumber, BigDecimal balance, long version) {
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+        this.version = version;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
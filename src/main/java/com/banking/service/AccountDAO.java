@@ -1,19 +1,62 @@
 package com.banking.service;
 
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.ConcurrentUpdateException;
 import com.banking.model.Account;
+import com.banking.model.Posting;
+import com.banking.model.PostingResult;
+import com.banking.model.PostingStatus;
+import com.banking.model.VersionedBalance;
+import com.banking.util.RetryPolicy;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public abstract class AccountDAO {
 	public abstract void createAccount(Account account);
 	public abstract Optional<Account> getAccountByNumber(String accountNumber);
 	public abstract void updateBalance(String accountNumber, BigDecimal newBalance);
+
+	// ✅ Optimistic concurrency: read a balance with its row version, then write only if that version is still current
+	public abstract Optional<VersionedBalance> getVersionedBalance(String accountNumber);
+	public abstract boolean updateBalance(String accountNumber, long expectedVersion, BigDecimal newBalance);
 	public abstract List<Account> getAllAccounts();
+
+	// ✅ Constant-memory scans: keyset pages ordered by account number, or one row at a time
+	public abstract List<Account> getAccountsAfter(String lastAccountNumber, int limit);
+	public abstract void forEachAccount(Consumer<? super Account> action);
 	public abstract void deleteAccount(String accountNumber);
 
+	// ✅ Leaderboard / risk screens: top is balance DESC, account number DESC; bottom and between are both ASC
+	public abstract List<Account> topByBalance(int limit);
+	public abstract List<Account> bottomByBalance(int limit);
+	public abstract List<Account> balanceBetween(BigDecimal low, BigDecimal high, int limit); // inclusive bounds
+
 	// ✅ Account Transactions
 	public abstract boolean deposit(String accountNumber, BigDecimal amount);
 	public abstract boolean withdraw(String accountNumber, BigDecimal amount);
 	public abstract boolean transfer(String fromAccount, String toAccount, BigDecimal amount); // ✅ Add transfer method
+
+	// ✅ Idempotent postings: a repeated key gets the first call's result back without posting again (null = no key)
+	public abstract PostingStatus deposit(String accountNumber, BigDecimal amount, String idempotencyKey);
+	public abstract PostingStatus withdraw(String accountNumber, BigDecimal amount, String idempotencyKey);
+	public abstract PostingStatus fastTransfer(String fromAccount, String toAccount, BigDecimal amount, String idempotencyKey);
+
+	// ✅ Bulk ingestion: one result per posting, in input order (PostingBatchException carries them if it stops early)
+	public abstract List<PostingResult> applyBatch(List<Posting> postings);
+
+	// Read-modify-write without holding a row lock: re-read and retry with backoff whenever another writer got in first
+	public BigDecimal adjustBalance(String accountNumber, UnaryOperator<BigDecimal> change, RetryPolicy retryPolicy) {
+		return retryPolicy.execute(() -> {
+			VersionedBalance current = getVersionedBalance(accountNumber)
+					.orElseThrow(() -> new AccountNotFoundException(accountNumber));
+			BigDecimal newBalance = change.apply(current.getBalance());
+			if (!updateBalance(accountNumber, current.getVersion(), newBalance)) {
+				throw new ConcurrentUpdateException(accountNumber);
+			}
+			return newBalance;
+		}, e -> e instanceof ConcurrentUpdateException);
+	}
 }
@@ -2,19 +2,112 @@ package com.banking.service;
 
 
 import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.PostingBatchException;
 import com.banking.model.Account;
+import com.banking.model.AccountType;
 import com.banking.model.SavingsAccount;
 import com.banking.model.CheckingAccount;
+import com.banking.model.LedgerEntry;
+import com.banking.model.Money;
+import com.banking.model.Posting;
+import com.banking.model.PostingResult;
+import com.banking.model.PostingStatus;
+import com.banking.model.TransactionType;
+import com.banking.model.VersionedBalance;
 import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+import com.banking.util.RetryPolicy;
+import com.banking.util.SqlErrors;
 import com.banking.util.TransactionLogger;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class AccountDAOImpl extends AccountDAO {
+	// Per owner: moves whenever this process creates or deletes one of the user's accounts, so CustomerSession
+	// reloads only that user's ownership (changes made elsewhere are found by getUserAccountType on a miss)
+	private static final ConcurrentMap<Integer, AtomicLong> userAccountsVersions = new ConcurrentHashMap<>();
+
+	private static final String TRANSFER_LEGS_SQL =
+			"UPDATE accounts SET balance = balance + CASE WHEN account_number = ? THEN ? ELSE ? END, version = version + 1 " +
+			"WHERE account_number IN (?, ?) AND (account_number = ? OR balance >= ?)";
+	// Both rows of a transfer are locked up front, lowest account number first, so two transfers over the same
+	// pair (in either direction) queue on the same row instead of each holding the one the other needs
+	private static final String LOCK_PAIR_SQL =
+			"SELECT account_number, balance FROM accounts WHERE account_number IN (?, ?) ORDER BY account_number FOR UPDATE";
+	private static final String LOCK_ONE_SQL =
+			"SELECT account_number, balance FROM accounts WHERE account_number = ? FOR UPDATE";
+	private static final String POSTING_SQL =
+			"UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE account_number = ? AND (? OR balance >= ?)";
+	private static final String EXISTS_PROBE_SQL =
+			"UPDATE accounts SET balance = balance WHERE account_number = ?";
+	private static final String VERSIONED_BALANCE_SQL =
+			"SELECT balance, version FROM accounts WHERE account_number = ?";
+	private static final String COMPARE_AND_SET_SQL =
+			"UPDATE accounts SET balance = ?, version = version + 1 WHERE account_number = ? AND version = ?";
+	private static final String ACCOUNT_SQL =
+			"SELECT account_number, " + HotAccountSlots.TOTAL_BALANCE_COLUMN + ", account_type FROM accounts WHERE account_number = ?";
+	private static final String USER_ACCOUNT_TYPE_SQL = "SELECT account_type FROM accounts WHERE user_id = ? AND account_number = ?";
+	private static final String OWNER_SQL = "SELECT user_id FROM accounts WHERE account_number = ?";
+	// Row balance only: the slot subquery is added back just for the user's hot accounts (ACCOUNT_SQL)
+	private static final String USER_ACCOUNTS_SQL =
+			"SELECT account_number, balance, account_type FROM accounts WHERE user_id = ?";
+	private static final String SCAN_SQL =
+			"SELECT account_number, " + HotAccountSlots.TOTAL_BALANCE_COLUMN + ", account_type FROM accounts";
+	private static final String FIRST_PAGE_SQL =
+			"SELECT account_number, " + HotAccountSlots.TOTAL_BALANCE_COLUMN + ", account_type FROM accounts ORDER BY account_number LIMIT ?";
+	private static final String NEXT_PAGE_SQL =
+			"SELECT account_number, " + HotAccountSlots.TOTAL_BALANCE_COLUMN + ", account_type FROM accounts WHERE account_number > ? ORDER BY account_number LIMIT ?";
+	// Served from idx_accounts_balance (V6); the account number tie-break keeps results identical to BankingSystem.
+	// They rank hot accounts by their account row, i.e. as of the last roll-up of their slots.
+	private static final String TOP_BY_BALANCE_SQL =
+			"SELECT account_number, balance, account_type FROM accounts ORDER BY balance DESC, account_number DESC LIMIT ?";
+	private static final String BOTTOM_BY_BALANCE_SQL =
+			"SELECT account_number, balance, account_type FROM accounts ORDER BY balance, account_number LIMIT ?";
+	private static final String BALANCE_BETWEEN_SQL =
+			"SELECT account_number, balance, account_type FROM accounts WHERE balance BETWEEN ? AND ? " +
+			"ORDER BY balance, account_number LIMIT ?";
+
+	// Shared by every instance, so a retry reaching any AccountDAOImpl in this process finds the recent key
+	private static final IdempotencyStore SHARED_IDEMPOTENCY_STORE = IdempotencyStore.fromConfig();
+	private static final HotAccountSlots SHARED_HOT_ACCOUNTS = new HotAccountSlots();
+	// Deadlocks and lock timeouts on postings are retried from the start of the transaction; counts via getLockRetryPolicy
+	private static final RetryPolicy LOCK_RETRY = RetryPolicy.fromConfig();
+
+	private final IdempotencyStore idempotencyStore;
+	private final HotAccountSlots hotAccounts;
+
+	public AccountDAOImpl() {
+		this(SHARED_IDEMPOTENCY_STORE, SHARED_HOT_ACCOUNTS);
+	}
+
+	public AccountDAOImpl(IdempotencyStore idempotencyStore) {
+		this(idempotencyStore, SHARED_HOT_ACCOUNTS);
+	}
+
+	public AccountDAOImpl(IdempotencyStore idempotencyStore, HotAccountSlots hotAccounts) {
+		this.idempotencyStore = idempotencyStore;
+		this.hotAccounts = hotAccounts;
+	}
+
+	public HotAccountSlots getHotAccounts() {
+		return hotAccounts;
+	}
 
 	@Override
 	public void createAccount(Account account) {
@@ -47,9 +140,8 @@ public class AccountDAOImpl extends AccountDAO {
 
 	@Override
 	public Optional<Account> getAccountByNumber(String accountNumber) {
-		String sql = "SELECT * FROM accounts WHERE account_number = ?";
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
+		     PreparedStatement stmt = conn.prepareStatement(ACCOUNT_SQL)) {
 			stmt.setString(1, accountNumber);
 			ResultSet rs = stmt.executeQuery();
 			if (rs.next()) {
@@ -78,7 +170,9 @@ public class AccountDAOImpl extends AccountDAO {
 
 	@Override
 	public void updateBalance(String accountNumber, BigDecimal newBalance) {
-		String sql = "UPDATE accounts SET balance = ? WHERE account_number = ?";
+		// A hot account's slots stay where they are; the account row takes whatever makes the total come out right
+		String sql = "UPDATE accounts SET balance = ? - COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s " +
+				"WHERE s.account_number = accounts.account_number), 0), version = version + 1 WHERE account_number = ?";
 		try (Connection conn = DatabaseConnection.connect();
 		     PreparedStatement stmt = conn.prepareStatement(sql)) {
 			stmt.setBigDecimal(1, newBalance);
@@ -89,19 +183,122 @@ public class AccountDAOImpl extends AccountDAO {
 		}
 	}
 
+	// A hot account is rolled up first, so the balance returned is all in the versioned row; credits that reach
+	// its slots afterwards are not part of the read and survive the compare-and-set
+	@Override
+	public Optional<VersionedBalance> getVersionedBalance(String accountNumber) {
+		if (hotAccounts.isHot(accountNumber)) {
+			hotAccounts.rollUp(accountNumber);
+		}
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(VERSIONED_BALANCE_SQL)) {
+			stmt.setString(1, accountNumber);
+			ResultSet rs = stmt.executeQuery();
+			if (!rs.next()) {
+				return Optional.empty();
+			}
+			return Optional.of(new VersionedBalance(accountNumber, rs.getBigDecimal("balance"), rs.getLong("version")));
+		} catch (SQLException e) {
+			throw new RuntimeException("Error reading balance version", e);
+		}
+	}
+
+	// ✅ Writes only if nobody changed the row since it was read at expectedVersion; no row lock outlives the statement
+	@Override
+	public boolean updateBalance(String accountNumber, long expectedVersion, BigDecimal newBalance) {
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(COMPARE_AND_SET_SQL)) {
+			stmt.setBigDecimal(1, newBalance);
+			stmt.setString(2, accountNumber);
+			stmt.setLong(3, expectedVersion);
+			return stmt.executeUpdate() == 1;
+		} catch (SQLException e) {
+			throw new RuntimeException("Error updating balance", e);
+		}
+	}
+
 	@Override
 	public List<Account> getAllAccounts() {
 		List<Account> accounts = new ArrayList<>();
-		String sql = "SELECT * FROM accounts";
+		forEachAccount(accounts::add);
+		return accounts;
+	}
+
+	// Keyset page: the accounts that sort after lastAccountNumber (null for the first page)
+	@Override
+	public List<Account> getAccountsAfter(String lastAccountNumber, int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Page size must be positive.");
+		}
+		List<Account> accounts = new ArrayList<>(Math.min(limit, 1024));
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql);
-		     ResultSet rs = stmt.executeQuery()) {
-			while (rs.next()) {
-				accounts.add(createAccountInstance(
-						rs.getString("account_number"),
-						rs.getBigDecimal("balance"),
-						rs.getString("account_type")
-				));
+		     PreparedStatement stmt = conn.prepareStatement(lastAccountNumber == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL)) {
+			int index = 1;
+			if (lastAccountNumber != null) {
+				stmt.setString(index++, lastAccountNumber);
+			}
+			stmt.setInt(index, limit);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					accounts.add(mapAccount(rs));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error retrieving accounts", e);
+		}
+		return accounts;
+	}
+
+	// Streams every account to the action without holding the result set in memory
+	@Override
+	public void forEachAccount(Consumer<? super Account> action) {
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(SCAN_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			stmt.setFetchSize(DbConfig.getQueryFetchSize());
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					action.accept(mapAccount(rs));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error retrieving accounts", e);
+		}
+	}
+
+	@Override
+	public List<Account> topByBalance(int limit) {
+		return queryByBalance(TOP_BY_BALANCE_SQL, limit);
+	}
+
+	@Override
+	public List<Account> bottomByBalance(int limit) {
+		return queryByBalance(BOTTOM_BY_BALANCE_SQL, limit);
+	}
+
+	// Bounds are rounded inward to whole cents, as BankingSystem.balanceBetween does
+	@Override
+	public List<Account> balanceBetween(BigDecimal low, BigDecimal high, int limit) {
+		return queryByBalance(BALANCE_BETWEEN_SQL, limit,
+				Money.toBigDecimal(Money.toCents(low, RoundingMode.CEILING)),
+				Money.toBigDecimal(Money.toCents(high, RoundingMode.FLOOR)));
+	}
+
+	private List<Account> queryByBalance(String sql, int limit, Object... bounds) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Limit must be positive.");
+		}
+		List<Account> accounts = new ArrayList<>(Math.min(limit, 1024));
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(sql)) {
+			int index = 1;
+			for (Object bound : bounds) {
+				stmt.setObject(index++, bound);
+			}
+			stmt.setInt(index, limit);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					accounts.add(mapAccount(rs));
+				}
 			}
 		} catch (SQLException e) {
 			throw new RuntimeException("Error retrieving accounts", e);
@@ -111,11 +308,20 @@ public class AccountDAOImpl extends AccountDAO {
 
 	@Override
 	public void deleteAccount(String accountNumber) {
+		if (hotAccounts.isHot(accountNumber)) {
+			hotAccounts.disable(accountNumber);
+		}
 		String sql = "DELETE FROM accounts WHERE account_number = ?";
 		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement owner = conn.prepareStatement(OWNER_SQL);
 		     PreparedStatement stmt = conn.prepareStatement(sql)) {
+			owner.setString(1, accountNumber);
+			ResultSet rs = owner.executeQuery();
+			Integer userId = rs.next() ? rs.getObject("user_id", Integer.class) : null;
 			stmt.setString(1, accountNumber);
-			stmt.executeUpdate();
+			if (stmt.executeUpdate() > 0 && userId != null) {
+				accountsChanged(userId);
+			}
 		} catch (SQLException e) {
 			throw new RuntimeException("Error deleting account", e);
 		}
@@ -131,6 +337,23 @@ public class AccountDAOImpl extends AccountDAO {
 		}
 	}
 
+	// A hot account again, row and slots in one statement so a roll-up in between cannot be counted twice
+	private Account readTotal(Connection conn, Account account) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(ACCOUNT_SQL)) {
+			stmt.setString(1, account.getAccountNumber());
+			ResultSet rs = stmt.executeQuery();
+			return rs.next() ? mapAccount(rs) : account;
+		}
+	}
+
+	private Account mapAccount(ResultSet rs) throws SQLException {
+		return createAccountInstance(
+				rs.getString("account_number"),
+				rs.getBigDecimal("balance"),
+				rs.getString("account_type")
+		);
+	}
+
 	private Account createAccountInstance(String accountNumber, BigDecimal balance, String accountType) {
 		switch (accountType.toLowerCase()) {
 			case "savings":
@@ -142,53 +365,46 @@ public class AccountDAOImpl extends AccountDAO {
 		}
 	}
 
-	public boolean createUser(String username, String password, String fullName, String email) {
-		String sql = "INSERT INTO users (username, password, full_name, email) VALUES (?, ?, ?, ?)";
+	public static long getAccountsVersion(int userId) {
+		AtomicLong version = userAccountsVersions.get(userId);
+		return version == null ? 0 : version.get();
+	}
 
-		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setString(1, username);
-			stmt.setString(2, password); // ⚠ Hash passwords in a real app
-			stmt.setString(3, fullName);
-			stmt.setString(4, email);
-			stmt.executeUpdate();
-			return true;
-		} catch (SQLException e) {
-			System.err.println("❌ Error creating user: " + e.getMessage());
-			return false;
-		}
+	private static void accountsChanged(int userId) {
+		userAccountsVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
 	}
 
-	public int authenticateUser(String username, String password) {
-		String sql = "SELECT user_id FROM users WHERE username = ? AND password = ?";
+	// ✅ Type of one of the user's accounts, answered from idx_accounts_user; empty if the user does not own it
+	public Optional<AccountType> getUserAccountType(int userId, String accountNumber) {
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setString(1, username);
-			stmt.setString(2, password);
+		     PreparedStatement stmt = conn.prepareStatement(USER_ACCOUNT_TYPE_SQL)) {
+			stmt.setInt(1, userId);
+			stmt.setString(2, accountNumber);
 			ResultSet rs = stmt.executeQuery();
-			if (rs.next()) {
-				return rs.getInt("user_id");
-			}
+			return rs.next() ? Optional.of(AccountType.valueOf(rs.getString("account_type").toUpperCase())) : Optional.empty();
 		} catch (SQLException e) {
-			System.err.println("❌ Error during login: " + e.getMessage());
+			throw new RuntimeException("❌ Error checking account ownership: " + e.getMessage(), e);
 		}
-		return -1;
+	}
+
+	public static RetryPolicy getLockRetryPolicy() {
+		return LOCK_RETRY;
 	}
 
 	public List<Account> getUserAccounts(int userId) {
 		List<Account> accounts = new ArrayList<>();
-		String sql = "SELECT * FROM accounts WHERE user_id = ?";
-
+		Set<String> hot = hotAccounts.getHotAccounts();
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
+		     PreparedStatement stmt = conn.prepareStatement(USER_ACCOUNTS_SQL)) {
 			stmt.setInt(1, userId);
 			ResultSet rs = stmt.executeQuery();
 			while (rs.next()) {
-				accounts.add(createAccountInstance(
-						rs.getString("account_number"),
-						rs.getBigDecimal("balance"),
-						rs.getString("account_type")
-				));
+				accounts.add(mapAccount(rs));
+			}
+			for (int i = 0; i < accounts.size(); i++) {
+				if (hot.contains(accounts.get(i).getAccountNumber())) {
+					accounts.set(i, readTotal(conn, accounts.get(i)));
+				}
 			}
 		} catch (SQLException e) {
 			System.err.println("❌ Error retrieving user accounts: " + e.getMessage());
@@ -206,6 +422,7 @@ public class AccountDAOImpl extends AccountDAO {
 			stmt.setString(3, accountType);
 			stmt.setInt(4, userId);
 			stmt.executeUpdate();
+			accountsChanged(userId);
 			return true;
 		} catch (SQLException e) {
 			System.err.println("❌ Error creating account: " + e.getMessage());
@@ -213,123 +430,365 @@ public class AccountDAOImpl extends AccountDAO {
 		}
 	}
 
+	// ✅ Same posting path as the keyed variants: amount checked, row locked, ledger row in the same transaction
 	@Override
 	public boolean deposit(String accountNumber, BigDecimal amount) {
-		Optional<Account> account = getAccountByNumber(accountNumber);
-		if (!account.isPresent()) {
+		if (deposit(accountNumber, amount, null) == PostingStatus.ACCOUNT_NOT_FOUND) {
 			throw new AccountNotFoundException("❌ Account not found: " + accountNumber);
 		}
+		return true;
+	}
 
-		String sql = "UPDATE accounts SET balance = balance + ? WHERE account_number = ?";
-		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setBigDecimal(1, amount);
-			stmt.setString(2, accountNumber);
-			int rowsAffected = stmt.executeUpdate();
-			if (rowsAffected > 0) {
-				TransactionLogger.saveTransaction(accountNumber, "DEPOSIT", amount, null);
+	@Override
+	public boolean withdraw(String accountNumber, BigDecimal amount) {
+		PostingStatus status = withdraw(accountNumber, amount, null);
+		if (status == PostingStatus.ACCOUNT_NOT_FOUND) {
+			throw new AccountNotFoundException("❌ Account not found: " + accountNumber);
+		}
+		return status == PostingStatus.APPLIED;
+	}
+
+	@Override
+	public boolean transfer(String fromAccount, String toAccount, BigDecimal amount) {
+		PostingStatus status = fastTransfer(fromAccount, toAccount, amount);
+		switch (status) {
+			case APPLIED:
+				System.out.println("✅ Transfer successful!");
 				return true;
-			}
-			return false;
-		} catch (SQLException e) {
-			throw new RuntimeException("❌ Error processing deposit: " + e.getMessage());
+			case INSUFFICIENT_FUNDS:
+				System.err.println("❌ Transfer failed: Insufficient funds.");
+				return false;
+			default:
+				throw new AccountNotFoundException(fromAccount + " or " + toAccount);
 		}
 	}
 
+	// ✅ Both rows locked in account-number order, both legs in one UPDATE, both ledger rows in one INSERT
+	public PostingStatus fastTransfer(String fromAccount, String toAccount, BigDecimal amount) {
+		return fastTransfer(fromAccount, toAccount, amount, null);
+	}
 
+	@Override
+	public PostingStatus fastTransfer(String fromAccount, String toAccount, BigDecimal amount, String idempotencyKey) {
+		requirePositive(amount);
+		if (fromAccount.equals(toAccount)) {
+			throw new IllegalArgumentException("Cannot transfer to the same account.");
+		}
+		return post(idempotencyKey, requestOf("TRANSFER", fromAccount, toAccount, amount), conn -> {
+			PostingStatus status = applyTransferLegs(conn, fromAccount, toAccount, amount);
+			if (status == PostingStatus.APPLIED) {
+				TransactionLogger.saveTransferLegs(conn, fromAccount, toAccount, amount);
+			}
+			return status;
+		});
+	}
 
 	@Override
-	public boolean withdraw(String accountNumber, BigDecimal amount) {
-		Optional<Account> account = getAccountByNumber(accountNumber);
-		if (!account.isPresent()) {
-			throw new AccountNotFoundException("❌ Account not found: " + accountNumber);
+	public PostingStatus deposit(String accountNumber, BigDecimal amount, String idempotencyKey) {
+		requirePositive(amount);
+		return post(idempotencyKey, requestOf("DEPOSIT", accountNumber, null, amount),
+				conn -> applySingleLeg(conn, accountNumber, amount, TransactionType.DEPOSIT));
+	}
+
+	@Override
+	public PostingStatus withdraw(String accountNumber, BigDecimal amount, String idempotencyKey) {
+		requirePositive(amount);
+		return post(idempotencyKey, requestOf("WITHDRAWAL", accountNumber, null, amount),
+				conn -> applySingleLeg(conn, accountNumber, amount, TransactionType.WITHDRAWAL));
+	}
+
+	// One conditional UPDATE plus its ledger row; a failed debit is told apart from a missing account by a no-op probe
+	private PostingStatus applySingleLeg(Connection conn, String accountNumber, BigDecimal amount, TransactionType type) throws SQLException {
+		boolean debit = type == TransactionType.WITHDRAWAL;
+		PostingStatus status = debit ? debit(conn, accountNumber, amount) : credit(conn, accountNumber, amount);
+		if (status == PostingStatus.APPLIED) {
+			TransactionLogger.saveTransactions(conn, List.of(new LedgerEntry(accountNumber, type, amount, null, LocalDateTime.now())));
 		}
+		return status;
+	}
 
-		String sql = "UPDATE accounts SET balance = balance - ? WHERE account_number = ? AND balance >= ?";
-		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setBigDecimal(1, amount);
+	// A hot account is credited in one of its slots, any other account in its own row
+	private PostingStatus credit(Connection conn, String accountNumber, BigDecimal amount) throws SQLException {
+		if (hotAccounts.credit(conn, accountNumber, amount) || postLeg(conn, accountNumber, amount, false)) {
+			return PostingStatus.APPLIED;
+		}
+		return PostingStatus.ACCOUNT_NOT_FOUND;
+	}
+
+	// Debits the account row; a hot account that is short there gets its slots rolled up and one more try
+	private PostingStatus debit(Connection conn, String accountNumber, BigDecimal amount) throws SQLException {
+		if (postLeg(conn, accountNumber, amount, true)) {
+			return PostingStatus.APPLIED;
+		}
+		if (hotAccounts.isHot(accountNumber) && hotAccounts.rollUp(conn, accountNumber).signum() != 0
+				&& postLeg(conn, accountNumber, amount, true)) {
+			return PostingStatus.APPLIED;
+		}
+		try (PreparedStatement probe = conn.prepareStatement(EXISTS_PROBE_SQL)) {
+			probe.setString(1, accountNumber);
+			return probe.executeUpdate() == 1 ? PostingStatus.INSUFFICIENT_FUNDS : PostingStatus.ACCOUNT_NOT_FOUND;
+		}
+	}
+
+	private boolean postLeg(Connection conn, String accountNumber, BigDecimal amount, boolean debit) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(POSTING_SQL)) {
+			stmt.setBigDecimal(1, debit ? amount.negate() : amount);
 			stmt.setString(2, accountNumber);
-			stmt.setBigDecimal(3, amount);
-			int rowsAffected = stmt.executeUpdate();
-			if (rowsAffected > 0) {
-				TransactionLogger.saveTransaction(accountNumber, "WITHDRAWAL", amount, null);
-				return true;
-			}
-			return false;
-		} catch (SQLException e) {
-			throw new RuntimeException("❌ Error processing withdrawal: " + e.getMessage());
+			stmt.setBoolean(3, !debit);
+			stmt.setBigDecimal(4, debit ? amount : BigDecimal.ZERO);
+			return stmt.executeUpdate() == 1;
 		}
 	}
 
+	// One posting transaction; a deadlock or lock timeout rolled all of it back, key claim included, so it is run again
+	private PostingStatus post(String idempotencyKey, String request, IdempotencyStore.Posting posting) {
+		return LOCK_RETRY.execute(() -> idempotencyStore.execute(idempotencyKey, request, posting), SqlErrors::isLockConflict);
+	}
 
+	private static void requirePositive(BigDecimal amount) {
+		if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new IllegalArgumentException("Amount must be positive.");
+		}
+		Money.requireCents(amount); // DECIMAL(15, 2) would round it silently
+	}
 
-	@Override
-	public boolean transfer(String fromAccount, String toAccount, BigDecimal amount) {
-		Connection conn = null;
-		PreparedStatement withdrawStmt = null;
-		PreparedStatement depositStmt = null;
+	// What a key is bound to; 25 and 25.00 are the same request
+	private static String requestOf(String operation, String accountNumber, String counterparty, BigDecimal amount) {
+		return operation + "|" + accountNumber + "|" + (counterparty == null ? "" : counterparty)
+				+ "|" + amount.stripTrailingZeros().toPlainString();
+	}
 
-		try {
-			conn = DatabaseConnection.connect();
-			conn.setAutoCommit(false); // ✅ Begin transaction
+	// Locks both rows in account-number order, then debits the sender and credits the recipient in a single
+	// statement. The locking read already tells a missing account or a short balance apart, so no probe is needed.
+	private PostingStatus applyTransferLegs(Connection conn, String fromAccount, String toAccount, BigDecimal amount) throws SQLException {
+		boolean hotRecipient = hotAccounts.isHot(toAccount);
+		if (hotRecipient || hotAccounts.isHot(fromAccount)) {
+			// Leg by leg, so a hot recipient is credited in a slot (its account row is left unlocked) and a hot
+			// sender can roll up before it is refused. Account rows are always locked before any slot.
+			Map<String, BigDecimal> locked = hotRecipient ? lockInOrder(conn, fromAccount, null) : lockInOrder(conn, fromAccount, toAccount);
+			if (!locked.containsKey(fromAccount) || (!hotRecipient && !locked.containsKey(toAccount))) {
+				return PostingStatus.ACCOUNT_NOT_FOUND;
+			}
+			PostingStatus status = debit(conn, fromAccount, amount);
+			if (status == PostingStatus.APPLIED && credit(conn, toAccount, amount) != PostingStatus.APPLIED) {
+				status = PostingStatus.ACCOUNT_NOT_FOUND;
+			}
+			return status;
+		}
+		Map<String, BigDecimal> locked = lockInOrder(conn, fromAccount, toAccount);
+		if (locked.size() < 2) {
+			return PostingStatus.ACCOUNT_NOT_FOUND;
+		}
+		if (locked.get(fromAccount).compareTo(amount) < 0) {
+			return PostingStatus.INSUFFICIENT_FUNDS;
+		}
+		try (PreparedStatement stmt = conn.prepareStatement(TRANSFER_LEGS_SQL)) {
+			stmt.setString(1, toAccount);
+			stmt.setBigDecimal(2, amount);
+			stmt.setBigDecimal(3, amount.negate());
+			stmt.setString(4, fromAccount);
+			stmt.setString(5, toAccount);
+			stmt.setString(6, toAccount);
+			stmt.setBigDecimal(7, amount);
+			return stmt.executeUpdate() == 2 ? PostingStatus.APPLIED : PostingStatus.INSUFFICIENT_FUNDS;
+		}
+	}
 
-			Optional<Account> sender = getAccountByNumber(fromAccount);
-			Optional<Account> recipient = getAccountByNumber(toAccount);
+	// ✅ Locks the rows that exist (second may be null) and returns their balances
+	private Map<String, BigDecimal> lockInOrder(Connection conn, String first, String second) throws SQLException {
+		Map<String, BigDecimal> balances = new HashMap<>();
+		try (PreparedStatement stmt = conn.prepareStatement(second == null ? LOCK_ONE_SQL : LOCK_PAIR_SQL)) {
+			stmt.setString(1, first);
+			if (second != null) {
+				stmt.setString(2, second);
+			}
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				balances.put(rs.getString("account_number"), rs.getBigDecimal("balance"));
+			}
+		}
+		return balances;
+	}
+
+	@Override
+	public List<PostingResult> applyBatch(List<Posting> postings) {
+		return applyBatch(postings, DbConfig.getBatchCommitSize());
+	}
 
-			if (!sender.isPresent()) {
-				throw new AccountNotFoundException("❌ Sender account not found: " + fromAccount);
+	// ✅ Postings are sent as JDBC batches and committed every commitSize postings. If a chunk fails on anything
+	// but a lock conflict, the results of the chunks already committed travel on the PostingBatchException.
+	public List<PostingResult> applyBatch(List<Posting> postings, int commitSize) {
+		if (commitSize <= 0) {
+			throw new IllegalArgumentException("Commit size must be positive.");
+		}
+		PostingStatus[] statuses = new PostingStatus[postings.size()];
+		int committed = 0;
+
+		try (Connection conn = DatabaseConnection.connect()) {
+			conn.setAutoCommit(false);
+			while (committed < postings.size()) {
+				int chunkStart = committed;
+				int chunkEnd = Math.min(committed + commitSize, postings.size());
+				// A lock conflict rolled the whole chunk back, so it is run again from its first posting
+				LOCK_RETRY.execute(() -> {
+					try {
+						applyChunk(conn, postings, chunkStart, chunkEnd, statuses);
+						return null;
+					} catch (SQLException e) {
+						throw new RuntimeException("❌ Error applying posting batch: " + e.getMessage(), e);
+					}
+				}, SqlErrors::isLockConflict);
+				committed = chunkEnd;
 			}
+		} catch (SQLException | RuntimeException e) {
+			throw new PostingBatchException(resultsOf(postings, statuses, committed), postings.size(), e);
+		}
+		return resultsOf(postings, statuses, postings.size());
+	}
+
+	private static List<PostingResult> resultsOf(List<Posting> postings, PostingStatus[] statuses, int count) {
+		List<PostingResult> results = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			results.add(new PostingResult(postings.get(i), statuses[i]));
+		}
+		return results;
+	}
 
-			if (!recipient.isPresent()) {
-				throw new AccountNotFoundException("❌ Recipient account not found: " + toAccount);
+	// Locks the chunk's accounts and decides every posting against those balances in order, so only postings
+	// that will apply are sent, as a single JDBC batch, and the chunk is never run twice. A hot account that
+	// comes up short has its slots rolled up once per chunk first, the same as a single debit does.
+	private void applyChunk(Connection conn, List<Posting> postings, int start, int end, PostingStatus[] statuses) throws SQLException {
+		try {
+			Map<String, BigDecimal> balances = lockChunk(conn, postings, start, end);
+			Set<String> rolledUp = new HashSet<>();
+			PostingStatus[] decided = new PostingStatus[end - start];
+			List<Integer> applied = new ArrayList<>();
+			for (int i = start; i < end; i++) {
+				decided[i - start] = decide(conn, postings.get(i), balances, rolledUp);
+				if (decided[i - start] == PostingStatus.APPLIED) {
+					applied.add(i);
+				}
 			}
 
-			// ✅ Withdraw from sender
-			withdrawStmt = conn.prepareStatement(
-					"UPDATE accounts SET balance = balance - ? WHERE account_number = ? AND balance >= ?");
-			withdrawStmt.setBigDecimal(1, amount);
-			withdrawStmt.setString(2, fromAccount);
-			withdrawStmt.setBigDecimal(3, amount);
-			int withdrawSuccess = withdrawStmt.executeUpdate();
-			if (withdrawSuccess == 0) {
-				conn.rollback();
-				System.err.println("❌ Transfer failed: Insufficient funds.");
-				return false;
+			if (!applied.isEmpty()) {
+				for (int count : executePostings(conn, postings, applied)) {
+					if (count != 1) {
+						throw new IllegalStateException("Posting batch no longer matches the locked balances");
+					}
+				}
+				TransactionLogger.saveTransactions(conn, ledgerEntriesFor(postings, applied));
 			}
+			conn.commit();
+			System.arraycopy(decided, 0, statuses, start, decided.length);
+		} catch (SQLException | RuntimeException e) {
+			conn.rollback();
+			throw e;
+		}
+	}
 
-			// ✅ Deposit to receiver
-			depositStmt = conn.prepareStatement(
-					"UPDATE accounts SET balance = balance + ? WHERE account_number = ?");
-			depositStmt.setBigDecimal(1, amount);
-			depositStmt.setString(2, toAccount);
-			int depositSuccess = depositStmt.executeUpdate();
-			if (depositSuccess == 0) {
-				conn.rollback();
-				System.err.println("❌ Transfer failed: Recipient account not found.");
-				return false;
+	// ✅ Every account the chunk touches, locked in one statement in account-number order (the order transfers use),
+	// so the batch never holds one row while it waits for another. Returns the balances of the rows that exist.
+	private Map<String, BigDecimal> lockChunk(Connection conn, List<Posting> postings, int start, int end) throws SQLException {
+		Set<String> accountNumbers = new TreeSet<>();
+		for (int i = start; i < end; i++) {
+			Posting posting = postings.get(i);
+			accountNumbers.add(posting.getAccountNumber());
+			if (posting.getCounterpartyAccount() != null) {
+				accountNumbers.add(posting.getCounterpartyAccount());
+			}
+		}
+		String sql = "SELECT account_number, balance FROM accounts WHERE account_number IN ("
+				+ String.join(", ", Collections.nCopies(accountNumbers.size(), "?")) + ") ORDER BY account_number FOR UPDATE";
+		Map<String, BigDecimal> balances = new HashMap<>();
+		try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+			int parameter = 1;
+			for (String accountNumber : accountNumbers) {
+				stmt.setString(parameter++, accountNumber);
+			}
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				balances.put(rs.getString("account_number"), rs.getBigDecimal("balance"));
 			}
+		}
+		return balances;
+	}
 
-			// ✅ Log transaction
-			TransactionLogger.saveTransaction(fromAccount, "TRANSFER", amount, toAccount);
-			TransactionLogger.saveTransaction(toAccount, "TRANSFER", amount, fromAccount);
+	// Status of one posting against the running balances, which it updates if it applies. The rows are locked,
+	// so the outcome is exactly what the database will do when the batch runs.
+	private PostingStatus decide(Connection conn, Posting posting, Map<String, BigDecimal> balances, Set<String> rolledUp) throws SQLException {
+		String accountNumber = posting.getAccountNumber();
+		String recipient = posting.getKind() == Posting.Kind.DEPOSIT ? accountNumber : posting.getCounterpartyAccount();
+		if (!balances.containsKey(accountNumber) || (recipient != null && !balances.containsKey(recipient))) {
+			return PostingStatus.ACCOUNT_NOT_FOUND;
+		}
+		BigDecimal amount = posting.getAmount();
+		if (posting.getKind() != Posting.Kind.DEPOSIT) {
+			// The account row is locked before its slots, as everywhere else
+			if (balances.get(accountNumber).compareTo(amount) < 0 && hotAccounts.isHot(accountNumber) && rolledUp.add(accountNumber)) {
+				balances.merge(accountNumber, hotAccounts.rollUp(conn, accountNumber), BigDecimal::add);
+			}
+			if (balances.get(accountNumber).compareTo(amount) < 0) {
+				return PostingStatus.INSUFFICIENT_FUNDS;
+			}
+			balances.merge(accountNumber, amount.negate(), BigDecimal::add);
+		}
+		if (recipient != null) {
+			balances.merge(recipient, amount, BigDecimal::add);
+		}
+		return PostingStatus.APPLIED;
+	}
 
-			conn.commit(); // ✅ Commit transaction
-			System.out.println("✅ Transfer successful!");
-			return true;
-		} catch (SQLException e) {
-			if (conn != null) {
-				try {
-					conn.rollback();
-				} catch (SQLException rollbackEx) {
-					System.err.println("❌ Error rolling back transfer: " + rollbackEx.getMessage());
+	// One statement per deposit/withdrawal, two per transfer (debit, then credit), all in order
+	private int[] executePostings(Connection conn, List<Posting> postings, List<Integer> applied) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(POSTING_SQL)) {
+			for (int index : applied) {
+				Posting posting = postings.get(index);
+				switch (posting.getKind()) {
+					case DEPOSIT:
+						addPostingLeg(stmt, posting.getAccountNumber(), posting.getAmount(), false);
+						break;
+					case WITHDRAWAL:
+						addPostingLeg(stmt, posting.getAccountNumber(), posting.getAmount(), true);
+						break;
+					case TRANSFER:
+						addPostingLeg(stmt, posting.getAccountNumber(), posting.getAmount(), true);
+						addPostingLeg(stmt, posting.getCounterpartyAccount(), posting.getAmount(), false);
+						break;
 				}
 			}
-			throw new RuntimeException("❌ Error processing transfer: " + e.getMessage());
-		} finally {
-			DatabaseConnection.closeResources(null, withdrawStmt, depositStmt, conn);
+			return stmt.executeBatch();
+		}
+	}
+
+	private void addPostingLeg(PreparedStatement stmt, String accountNumber, BigDecimal amount, boolean debit) throws SQLException {
+		stmt.setBigDecimal(1, debit ? amount.negate() : amount);
+		stmt.setString(2, accountNumber);
+		stmt.setBoolean(3, !debit);
+		stmt.setBigDecimal(4, debit ? amount : BigDecimal.ZERO);
+		stmt.addBatch();
+	}
+
+	private List<LedgerEntry> ledgerEntriesFor(List<Posting> postings, List<Integer> applied) {
+		LocalDateTime now = LocalDateTime.now();
+		List<LedgerEntry> entries = new ArrayList<>(applied.size());
+		for (int index : applied) {
+			Posting posting = postings.get(index);
+			switch (posting.getKind()) {
+				case DEPOSIT:
+					entries.add(new LedgerEntry(posting.getAccountNumber(), TransactionType.DEPOSIT, posting.getAmount(), null, now));
+					break;
+				case WITHDRAWAL:
+					entries.add(new LedgerEntry(posting.getAccountNumber(), TransactionType.WITHDRAWAL, posting.getAmount(), null, now));
+					break;
+				case TRANSFER:
+					entries.add(new LedgerEntry(posting.getAccountNumber(), TransactionType.TRANSFER_OUT, posting.getAmount(), posting.getCounterpartyAccount(), now));
+					entries.add(new LedgerEntry(posting.getCounterpartyAccount(), TransactionType.TRANSFER_IN, posting.getAmount(), posting.getAccountNumber(), now));
+					break;
+			}
 		}
+		return entries;
 	}
+
 	public boolean isAccountOwnedByUser(String accountNumber, int userId, String accountType) {
 		String sql = "SELECT COUNT(*) FROM accounts WHERE account_number = ? AND user_id = ? AND account_type = ?";
 		try (Connection conn = DatabaseConnection.connect();
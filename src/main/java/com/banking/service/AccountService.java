@@ -14,12 +14,12 @@ public class AccountService {
 
     public void transfer(String fromAcc, String toAcc, BigDecimal amount)
             throws InsufficientFundsException, AccountNotFoundException {
-        Account from = findAccount(fromAcc);
-        Account to = findAccount(toAcc);
+        findAccount(fromAcc);
+        findAccount(toAcc);
 
         try {
-            from.withdraw(amount);
-            to.deposit(amount);
+            // Locks both accounts so concurrent transfers cannot lose updates
+            bankingSystem.transfer(fromAcc, toAcc, amount);
         } catch (InsufficientFundsException | IllegalArgumentException e) {
             // Handle specific exceptions
             throw e;
@@ -0,0 +1,129 @@
+package com.banking.service;
+
+import com.banking.model.UserCredentials;
+import com.banking.util.DbConfig;
+import com.banking.util.LruCache;
+import com.banking.util.PasswordHasher;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * The one place users log in.
+ * <p>
+ * A login reads the user's row by username (a unique index) and checks the password against its salted PBKDF2
+ * hash; legacy plain-text rows and hashes made with an older cost are re-hashed on success. A successful
+ * {@link #login} returns a {@link Session} whose random token is kept in a bounded, short-lived cache, so
+ * {@link #validate} on every following call within the session costs neither a database round trip nor a hash.
+ */
+public class AuthService {
+	private static final int TOKEN_BYTES = 32;
+
+	private final UserDAO userDAO;
+	private final PasswordHasher hasher;
+	private final LruCache<String, Session> sessions;
+	private final SecureRandom random = new SecureRandom();
+	// Checked when the username does not exist, so unknown and known users take the same time to reject
+	private final String dummyHash;
+
+	public AuthService(UserDAO userDAO, PasswordHasher hasher, int maxSessions, long sessionTtlMillis) {
+		this.userDAO = userDAO;
+		this.hasher = hasher;
+		this.sessions = new LruCache<>(maxSessions, sessionTtlMillis);
+		this.dummyHash = hasher.hash("not-a-password");
+	}
+
+	public static AuthService fromConfig() {
+		PasswordHasher hasher = PasswordHasher.fromConfig();
+		return new AuthService(new UserDAOImpl(hasher), hasher, DbConfig.getSessionCacheMaxSize(), DbConfig.getSessionTtlMillis());
+	}
+
+	// ✅ Verifies the password; returns the user's credentials, or empty if the username or password is wrong
+	public Optional<UserCredentials> authenticate(String username, String password) {
+		if (username == null || password == null) {
+			return Optional.empty();
+		}
+		Optional<UserCredentials> credentials = userDAO.getCredentials(username);
+		if (credentials.isEmpty()) {
+			hasher.verify(password, dummyHash);
+			return Optional.empty();
+		}
+		UserCredentials user = credentials.get();
+		if (!hasher.verify(password, user.getPasswordHash())) {
+			return Optional.empty();
+		}
+		if (hasher.needsRehash(user.getPasswordHash())) {
+			userDAO.updatePasswordHash(user.getUserId(), hasher.hash(password));
+		}
+		return credentials;
+	}
+
+	// User id for the console menus, -1 if the login failed
+	public int authenticateUser(String username, String password) {
+		return authenticate(username, password).map(UserCredentials::getUserId).orElse(-1);
+	}
+
+	public Optional<Session> login(String username, String password) {
+		return authenticate(username, password).map(user -> {
+			Session session = new Session(newToken(), user.getUserId(), user.getUsername(), user.getRole());
+			sessions.put(session.getToken(), session);
+			return session;
+		});
+	}
+
+	// ✅ Cache-only check: no database access and no hashing
+	public Optional<Session> validate(String token) {
+		return token == null ? Optional.empty() : Optional.ofNullable(sessions.get(token));
+	}
+
+	public void logout(String token) {
+		if (token != null) {
+			sessions.invalidate(token);
+		}
+	}
+
+	public LruCache<String, Session> getSessionCache() {
+		return sessions;
+	}
+
+	private String newToken() {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		random.nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	public static final class Session {
+		private final String token;
+		private final int userId;
+		private final String username;
+		private final String role;
+
+		private Session(String token, int userId, String username, String role) {
+			this.token = token;
+			this.userId = userId;
+			this.username = username;
+			this.role = role;
+		}
+
+		public String getToken() {
+			return token;
+		}
+
+		public int getUserId() {
+			return userId;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+		public String getRole() {
+			return role;
+		}
+
+		public boolean isAdmin() {
+			return "admin".equalsIgnoreCase(role);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.AccountFactory;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.model.Posting;
+import com.banking.model.PostingResult;
+import com.banking.model.PostingStatus;
+import com.banking.model.VersionedBalance;
+import com.banking.util.DbConfig;
+import com.banking.util.LruCache;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of another {@link AccountDAO}.
+ * <p>
+ * {@link #getAccountByNumber} is served from a bounded LRU cache with a TTL. Every write made through this
+ * DAO invalidates the accounts it touched. Writes that bypass it (another process, direct SQL) are only
+ * picked up once the TTL expires. Each hit returns a fresh {@link Account}, so callers cannot change what is cached.
+ */
+public class CachingAccountDAO extends AccountDAO {
+	private final AccountDAO delegate;
+	private final LruCache<String, CachedAccount> cache;
+
+	public CachingAccountDAO(AccountDAO delegate, int maxSize, long ttlMillis) {
+		this.delegate = delegate;
+		this.cache = new LruCache<>(maxSize, ttlMillis);
+	}
+
+	public CachingAccountDAO(AccountDAO delegate) {
+		this(delegate, DbConfig.getAccountCacheMaxSize(), DbConfig.getAccountCacheTtlMillis());
+	}
+
+	@Override
+	public Optional<Account> getAccountByNumber(String accountNumber) {
+		CachedAccount cached = cache.get(accountNumber);
+		if (cached != null) {
+			return Optional.of(cached.toAccount(accountNumber));
+		}
+
+		long stamp = cache.writeStamp(accountNumber);
+		Optional<Account> loaded = delegate.getAccountByNumber(accountNumber);
+		loaded.ifPresent(account -> cache.putIfUnchanged(accountNumber, new CachedAccount(account), stamp));
+		return loaded;
+	}
+
+	@Override
+	public void createAccount(Account account) {
+		try {
+			delegate.createAccount(account);
+		} finally {
+			cache.invalidate(account.getAccountNumber());
+		}
+	}
+
+	@Override
+	public void updateBalance(String accountNumber, BigDecimal newBalance) {
+		try {
+			delegate.updateBalance(accountNumber, newBalance);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public Optional<VersionedBalance> getVersionedBalance(String accountNumber) {
+		return delegate.getVersionedBalance(accountNumber);
+	}
+
+	@Override
+	public boolean updateBalance(String accountNumber, long expectedVersion, BigDecimal newBalance) {
+		try {
+			return delegate.updateBalance(accountNumber, expectedVersion, newBalance);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public List<Account> getAllAccounts() {
+		return delegate.getAllAccounts();
+	}
+
+	@Override
+	public List<Account> getAccountsAfter(String lastAccountNumber, int limit) {
+		return delegate.getAccountsAfter(lastAccountNumber, limit);
+	}
+
+	@Override
+	public void forEachAccount(Consumer<? super Account> action) {
+		delegate.forEachAccount(action);
+	}
+
+	@Override
+	public List<Account> topByBalance(int limit) {
+		return delegate.topByBalance(limit);
+	}
+
+	@Override
+	public List<Account> bottomByBalance(int limit) {
+		return delegate.bottomByBalance(limit);
+	}
+
+	@Override
+	public List<Account> balanceBetween(BigDecimal low, BigDecimal high, int limit) {
+		return delegate.balanceBetween(low, high, limit);
+	}
+
+	@Override
+	public void deleteAccount(String accountNumber) {
+		try {
+			delegate.deleteAccount(accountNumber);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public boolean deposit(String accountNumber, BigDecimal amount) {
+		try {
+			return delegate.deposit(accountNumber, amount);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public boolean withdraw(String accountNumber, BigDecimal amount) {
+		try {
+			return delegate.withdraw(accountNumber, amount);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public boolean transfer(String fromAccount, String toAccount, BigDecimal amount) {
+		try {
+			return delegate.transfer(fromAccount, toAccount, amount);
+		} finally {
+			cache.invalidate(fromAccount);
+			cache.invalidate(toAccount);
+		}
+	}
+
+	@Override
+	public PostingStatus deposit(String accountNumber, BigDecimal amount, String idempotencyKey) {
+		try {
+			return delegate.deposit(accountNumber, amount, idempotencyKey);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public PostingStatus withdraw(String accountNumber, BigDecimal amount, String idempotencyKey) {
+		try {
+			return delegate.withdraw(accountNumber, amount, idempotencyKey);
+		} finally {
+			cache.invalidate(accountNumber);
+		}
+	}
+
+	@Override
+	public PostingStatus fastTransfer(String fromAccount, String toAccount, BigDecimal amount, String idempotencyKey) {
+		try {
+			return delegate.fastTransfer(fromAccount, toAccount, amount, idempotencyKey);
+		} finally {
+			cache.invalidate(fromAccount);
+			cache.invalidate(toAccount);
+		}
+	}
+
+	@Override
+	public List<PostingResult> applyBatch(List<Posting> postings) {
+		try {
+			return delegate.applyBatch(postings);
+		} finally {
+			for (Posting posting : postings) {
+				cache.invalidate(posting.getAccountNumber());
+				if (posting.getCounterpartyAccount() != null) {
+					cache.invalidate(posting.getCounterpartyAccount());
+				}
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	// ✅ Hit / miss / eviction statistics
+	public LruCache<String, ?> getCache() {
+		return cache;
+	}
+
+	// Immutable copy of what the database returned
+	static final class CachedAccount {
+		private final AccountType accountType;
+		private final long balanceCents;
+
+		private CachedAccount(Account account) {
+			this.accountType = account.getAccountType();
+			this.balanceCents = account.getBalanceCents();
+		}
+
+		private Account toAccount(String accountNumber) {
+			return AccountFactory.createAccount(accountType, accountNumber, Money.toBigDecimal(balanceCents));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A logged-in customer's accounts, loaded once with {@link AccountDAOImpl#getUserAccounts} so that ownership and
+ * account-type checks before each operation are map lookups instead of a query.
+ * <p>
+ * The list is reloaded on the next check after this process creates or deletes one of this user's accounts
+ * ({@link AccountDAOImpl#getAccountsVersion(int)}), or after {@link #invalidate()}. An account the list does not
+ * have is looked up once more with {@link AccountDAOImpl#getUserAccountType}, so an account opened by another
+ * process is found on first use; one deleted elsewhere stays listed until the session is reloaded. Balances in
+ * the loaded accounts are not kept current; read balances from the DAO.
+ */
+public class CustomerSession {
+	private final int userId;
+	private final AccountDAOImpl accountDAO;
+
+	private Map<String, AccountType> accounts = new HashMap<>();
+	private long loadedVersion = -1;
+
+	public CustomerSession(int userId, AccountDAOImpl accountDAO) {
+		this.userId = userId;
+		this.accountDAO = accountDAO;
+		reload();
+	}
+
+	public int getUserId() {
+		return userId;
+	}
+
+	// ✅ In-memory check: does this user own the account, and is it of the given type?
+	public synchronized boolean owns(String accountNumber, AccountType accountType) {
+		refreshIfStale();
+		AccountType owned = accounts.get(accountNumber);
+		return accountType == (owned != null ? owned : lookUp(accountNumber));
+	}
+
+	public synchronized boolean owns(String accountNumber) {
+		refreshIfStale();
+		return accounts.containsKey(accountNumber) || lookUp(accountNumber) != null;
+	}
+
+	public synchronized Collection<String> getAccountNumbers() {
+		refreshIfStale();
+		return Set.copyOf(accounts.keySet());
+	}
+
+	// Forces a reload on the next check, e.g. after a change made by another process
+	public synchronized void invalidate() {
+		loadedVersion = -1;
+	}
+
+	private void refreshIfStale() {
+		if (loadedVersion != AccountDAOImpl.getAccountsVersion(userId)) {
+			reload();
+		}
+	}
+
+	// A miss may be an account created by another process; only a hit is remembered
+	private AccountType lookUp(String accountNumber) {
+		AccountType type = accountDAO.getUserAccountType(userId, accountNumber).orElse(null);
+		if (type != null) {
+			accounts.put(accountNumber, type);
+		}
+		return type;
+	}
+
+	private synchronized void reload() {
+		long version = AccountDAOImpl.getAccountsVersion(userId); // read first: a change during the load forces another
+		Map<String, AccountType> loaded = new HashMap<>();
+		for (Account account : accountDAO.getUserAccounts(userId)) {
+			loaded.put(account.getAccountNumber(), account.getAccountType());
+		}
+		accounts = loaded;
+		loadedVersion = version;
+	}
+}
@@ -0,0 +1,52 @@
+package com.banking.service;
+
+import com.banking.util.DbConfig;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls the slots of every hot account into its account row on a timer, so the account row (which debits and
+ * the balance rankings use) never falls far behind the credits arriving in the slots.
+ */
+public class HotAccountRollup implements AutoCloseable {
+	private final HotAccountSlots hotAccounts;
+	private final ScheduledExecutorService timer;
+
+	public HotAccountRollup(HotAccountSlots hotAccounts, long intervalMillis) {
+		if (intervalMillis <= 0) {
+			throw new IllegalArgumentException("Roll-up interval must be positive.");
+		}
+		this.hotAccounts = hotAccounts;
+		this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "hot-account-rollup");
+			thread.setDaemon(true);
+			return thread;
+		});
+		timer.scheduleWithFixedDelay(this::rollUpQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public static HotAccountRollup fromConfig(HotAccountSlots hotAccounts) {
+		return new HotAccountRollup(hotAccounts, DbConfig.getHotAccountRollupIntervalMillis());
+	}
+
+	@Override
+	public void close() {
+		timer.shutdown();
+		try {
+			timer.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Scheduled runs must not throw, or the executor silently cancels them
+	private void rollUpQuietly() {
+		try {
+			hotAccounts.rollUpAll();
+		} catch (RuntimeException e) {
+			System.err.println("❌ Hot account roll-up failed: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package com.banking.service;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in sub-balances for accounts that take a large share of all credits (settlement, fee collection).
+ * <p>
+ * A hot account's balance is its {@code accounts.balance} plus the sum of its rows in
+ * {@code account_balance_slots} (schema migration V9). Credits go to one random slot, so concurrent postings lock
+ * different rows instead of queueing on the account row. Slots only ever grow; {@link #rollUp} moves what they
+ * hold into the account row, which a debit does first when the account row alone is short, and
+ * {@link HotAccountRollup} does in the background. Both sides of every move happen in one transaction, so the
+ * total is exact at all times.
+ * <p>
+ * Which accounts are hot is read from the slots table once per process and kept current by {@link #enable} and
+ * {@link #disable}; an account this process does not know is hot is simply posted to its account row.
+ */
+public class HotAccountSlots {
+	// Account row plus slots, for queries that report the balance of a hot account
+	static final String TOTAL_BALANCE_COLUMN = "balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s " +
+			"WHERE s.account_number = accounts.account_number), 0) AS balance";
+
+	private static final String LOAD_SQL = "SELECT account_number, COUNT(*) AS slots FROM account_balance_slots GROUP BY account_number";
+	private static final String ACCOUNT_EXISTS_SQL = "SELECT 1 FROM accounts WHERE account_number = ?";
+	private static final String INSERT_SLOT_SQL = "INSERT INTO account_balance_slots (account_number, slot, balance) VALUES (?, ?, 0)";
+	private static final String DELETE_SLOTS_SQL = "DELETE FROM account_balance_slots WHERE account_number = ?";
+	private static final String CREDIT_SQL =
+			"UPDATE account_balance_slots SET balance = balance + ? WHERE account_number = ? AND slot = ?";
+	private static final String LOCK_ACCOUNT_SQL = "SELECT balance FROM accounts WHERE account_number = ? FOR UPDATE";
+	private static final String LOCK_SLOTS_SQL =
+			"SELECT slot, balance FROM account_balance_slots WHERE account_number = ? ORDER BY slot FOR UPDATE";
+	private static final String DRAIN_SLOT_SQL =
+			"UPDATE account_balance_slots SET balance = balance - ? WHERE account_number = ? AND slot = ?";
+	private static final String ADD_TO_ACCOUNT_SQL =
+			"UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE account_number = ?";
+
+	private volatile Map<String, Integer> slotCounts;
+
+	// ✅ Spreads future credits to the account over the given number of slots (re-slotting rolls up first)
+	public void enable(String accountNumber, int slots) {
+		if (slots <= 0) {
+			throw new IllegalArgumentException("Slot count must be positive.");
+		}
+		inTransaction(conn -> {
+			requireAccount(conn, accountNumber);
+			rollUp(conn, accountNumber);
+			deleteSlots(conn, accountNumber);
+			try (PreparedStatement stmt = conn.prepareStatement(INSERT_SLOT_SQL)) {
+				for (int slot = 0; slot < slots; slot++) {
+					stmt.setString(1, accountNumber);
+					stmt.setInt(2, slot);
+					stmt.addBatch();
+				}
+				stmt.executeBatch();
+			}
+			return null;
+		});
+		hotAccounts().put(accountNumber, slots);
+	}
+
+	// Folds the slots back into the account row and goes back to plain postings
+	public void disable(String accountNumber) {
+		inTransaction(conn -> {
+			rollUp(conn, accountNumber);
+			deleteSlots(conn, accountNumber);
+			return null;
+		});
+		hotAccounts().remove(accountNumber);
+	}
+
+	public boolean isHot(String accountNumber) {
+		return hotAccounts().containsKey(accountNumber);
+	}
+
+	public Set<String> getHotAccounts() {
+		return Set.copyOf(hotAccounts().keySet());
+	}
+
+	// Re-reads which accounts are hot, e.g. after another process enabled one
+	public void refresh() {
+		slotCounts = load();
+	}
+
+	// ✅ Moves everything in the account's slots into its account row, in its own transaction; returns the amount moved
+	public BigDecimal rollUp(String accountNumber) {
+		return inTransaction(conn -> rollUp(conn, accountNumber));
+	}
+
+	// One transaction per hot account, so a busy account never holds up the others; returns the accounts that had credits
+	public int rollUpAll() {
+		int rolled = 0;
+		for (String accountNumber : getHotAccounts()) {
+			if (rollUp(accountNumber).signum() != 0) {
+				rolled++;
+			}
+		}
+		return rolled;
+	}
+
+	// Credits a random slot inside the caller's transaction; false if the account has no slots (post to the account row)
+	boolean credit(Connection conn, String accountNumber, BigDecimal amount) throws SQLException {
+		Integer slots = hotAccounts().get(accountNumber);
+		if (slots == null) {
+			return false;
+		}
+		try (PreparedStatement stmt = conn.prepareStatement(CREDIT_SQL)) {
+			stmt.setBigDecimal(1, amount);
+			stmt.setString(2, accountNumber);
+			stmt.setInt(3, ThreadLocalRandom.current().nextInt(slots));
+			return stmt.executeUpdate() == 1;
+		}
+	}
+
+	// Inside the caller's transaction. The account row is locked before the slots, the same order transfers use,
+	// and each slot is reduced by exactly what was read from it, so a credit that lands in between is kept.
+	BigDecimal rollUp(Connection conn, String accountNumber) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(LOCK_ACCOUNT_SQL)) {
+			stmt.setString(1, accountNumber);
+			if (!stmt.executeQuery().next()) {
+				return BigDecimal.ZERO; // nowhere to move the slots to
+			}
+		}
+		BigDecimal total = BigDecimal.ZERO;
+		try (PreparedStatement lock = conn.prepareStatement(LOCK_SLOTS_SQL);
+		     PreparedStatement drain = conn.prepareStatement(DRAIN_SLOT_SQL)) {
+			lock.setString(1, accountNumber);
+			ResultSet rs = lock.executeQuery();
+			boolean drained = false;
+			while (rs.next()) {
+				BigDecimal balance = rs.getBigDecimal("balance");
+				if (balance.signum() == 0) {
+					continue;
+				}
+				drain.setBigDecimal(1, balance);
+				drain.setString(2, accountNumber);
+				drain.setInt(3, rs.getInt("slot"));
+				drain.addBatch();
+				total = total.add(balance);
+				drained = true;
+			}
+			if (!drained) {
+				return BigDecimal.ZERO;
+			}
+			drain.executeBatch();
+		}
+		try (PreparedStatement stmt = conn.prepareStatement(ADD_TO_ACCOUNT_SQL)) {
+			stmt.setBigDecimal(1, total);
+			stmt.setString(2, accountNumber);
+			stmt.executeUpdate();
+		}
+		return total;
+	}
+
+	private Map<String, Integer> hotAccounts() {
+		Map<String, Integer> counts = slotCounts;
+		if (counts == null) {
+			synchronized (this) {
+				if (slotCounts == null) {
+					slotCounts = load();
+				}
+				counts = slotCounts;
+			}
+		}
+		return counts;
+	}
+
+	private Map<String, Integer> load() {
+		Map<String, Integer> counts = new ConcurrentHashMap<>();
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(LOAD_SQL)) {
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				counts.put(rs.getString("account_number"), rs.getInt("slots"));
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error loading hot accounts", e);
+		}
+		return counts;
+	}
+
+	private static void requireAccount(Connection conn, String accountNumber) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(ACCOUNT_EXISTS_SQL)) {
+			stmt.setString(1, accountNumber);
+			if (!stmt.executeQuery().next()) {
+				throw new AccountNotFoundException(accountNumber);
+			}
+		}
+	}
+
+	private static void deleteSlots(Connection conn, String accountNumber) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(DELETE_SLOTS_SQL)) {
+			stmt.setString(1, accountNumber);
+			stmt.executeUpdate();
+		}
+	}
+
+	private interface Work<T> {
+		T run(Connection conn) throws SQLException;
+	}
+
+	private static <T> T inTransaction(Work<T> work) {
+		try (Connection conn = DatabaseConnection.connect()) {
+			conn.setAutoCommit(false);
+			try {
+				T result = work.run(conn);
+				conn.commit();
+				return result;
+			} catch (SQLException | RuntimeException e) {
+				conn.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("❌ Error updating hot account slots: " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.banking.service;
+
+import com.banking.model.PostingStatus;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+import com.banking.util.LruCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Makes a posting safe to retry under a client-supplied idempotency key.
+ * <p>
+ * The first request with a key claims it by inserting into {@code idempotency_keys} (schema migration V8) in the
+ * same database transaction as the posting itself, so the key and the balance change commit or roll back
+ * together. A concurrent duplicate blocks on the primary key until the first one commits and then reads its
+ * outcome instead of posting again. Outcomes are also kept in a bounded in-memory cache, so a retry that reaches
+ * this process again is answered without any database access.
+ */
+public class IdempotencyStore {
+	private static final int MAX_KEY_LENGTH = 100;
+	private static final String CLAIM_SQL =
+			"INSERT INTO idempotency_keys (idempotency_key, request, status, created_at) VALUES (?, ?, ?, ?)";
+	private static final String LOOKUP_SQL = "SELECT request, status FROM idempotency_keys WHERE idempotency_key = ?";
+	private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+	private final LruCache<String, Outcome> recentKeys;
+
+	// The posting itself, run inside the store's transaction; whatever it changed is rolled back if it reports a failure
+	@FunctionalInterface
+	public interface Posting {
+		PostingStatus apply(Connection conn) throws SQLException;
+	}
+
+	public IdempotencyStore(int maxRecentKeys, long recentKeyTtlMillis) {
+		this.recentKeys = new LruCache<>(maxRecentKeys, recentKeyTtlMillis);
+	}
+
+	public static IdempotencyStore fromConfig() {
+		return new IdempotencyStore(DbConfig.getIdempotencyCacheMaxSize(), DbConfig.getIdempotencyCacheTtlMillis());
+	}
+
+	// ✅ Runs the posting once per key; request describes it so a key reused for something else is rejected.
+	// A null key just runs the posting in its own transaction.
+	public PostingStatus execute(String key, String request, Posting posting) {
+		if (key != null) {
+			if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+				throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+			}
+			Outcome recent = recentKeys.get(key);
+			if (recent != null) {
+				return recent.statusFor(key, request);
+			}
+		}
+
+		try (Connection conn = DatabaseConnection.connect()) {
+			conn.setAutoCommit(false);
+			try {
+				if (key != null && !claim(conn, key, request, PostingStatus.APPLIED)) {
+					return duplicate(conn, key, request);
+				}
+				PostingStatus status = posting.apply(conn);
+				if (status != PostingStatus.APPLIED) {
+					conn.rollback(); // a failed transfer may have credited one leg
+					if (key != null && !claim(conn, key, request, status)) {
+						return duplicate(conn, key, request);
+					}
+				}
+				conn.commit();
+				if (key != null) {
+					remember(key, new Outcome(request, status));
+				}
+				return status;
+			} catch (SQLException | RuntimeException e) {
+				conn.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("❌ Error processing posting: " + e.getMessage(), e);
+		}
+	}
+
+	// Keys older than the given age are forgotten; a client retrying after that posts again
+	public int purgeOlderThan(Duration age) {
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(PURGE_SQL)) {
+			stmt.setObject(1, LocalDateTime.now().minus(age));
+			return stmt.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("Error purging idempotency keys", e);
+		}
+	}
+
+	public LruCache<String, Outcome> getRecentKeys() {
+		return recentKeys;
+	}
+
+	// False if the key is already taken; a concurrent claim blocks this insert until it commits or rolls back
+	private boolean claim(Connection conn, String key, String request, PostingStatus status) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(CLAIM_SQL)) {
+			stmt.setString(1, key);
+			stmt.setString(2, request);
+			stmt.setString(3, status.name());
+			stmt.setObject(4, LocalDateTime.now());
+			stmt.executeUpdate();
+			return true;
+		} catch (SQLException e) {
+			if (e.getSQLState() != null && e.getSQLState().startsWith("23")) { // integrity constraint: key already used
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	private PostingStatus duplicate(Connection conn, String key, String request) throws SQLException {
+		conn.rollback();
+		return remember(key, lookup(conn, key)).statusFor(key, request);
+	}
+
+	private Outcome lookup(Connection conn, String key) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(LOOKUP_SQL)) {
+			stmt.setString(1, key);
+			ResultSet rs = stmt.executeQuery();
+			if (!rs.next()) {
+				throw new IllegalStateException("Idempotency key " + key + " vanished after a duplicate insert");
+			}
+			return new Outcome(rs.getString("request"), PostingStatus.valueOf(rs.getString("status")));
+		}
+	}
+
+	private Outcome remember(String key, Outcome outcome) {
+		recentKeys.put(key, outcome);
+		return outcome;
+	}
+
+	public static final class Outcome {
+		private final String request;
+		private final PostingStatus status;
+
+		private Outcome(String request, PostingStatus status) {
+			this.request = request;
+			this.status = status;
+		}
+
+		private PostingStatus statusFor(String key, String otherRequest) {
+			if (!request.equals(otherRequest)) {
+				throw new IllegalArgumentException("Idempotency key " + key + " was already used for a different request.");
+			}
+			return status;
+		}
+
+		public PostingStatus getStatus() {
+			return status;
+		}
+	}
+}
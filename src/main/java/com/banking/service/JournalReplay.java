@@ -0,0 +1,29 @@
+package com.banking.service;
+
+import com.banking.model.LedgerEntry;
+import com.banking.util.JournalReader;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// Replays ledger journal records after the snapshot's sequence; each partition scans the mapped journal and keeps its own accounts
+public class JournalReplay implements ReplaySource {
+	private final Path directory;
+	private final long afterSequence;
+
+	public JournalReplay(Path directory, long afterSequence) {
+		this.directory = directory;
+		this.afterSequence = afterSequence;
+	}
+
+	@Override
+	public void replay(String fromAccount, String toAccount, Consumer<? super LedgerEntry> action) {
+		new JournalReader(directory, afterSequence).replay(record -> {
+			String account = record.getEntry().getAccountNumber();
+			if ((fromAccount == null || account.compareTo(fromAccount) >= 0)
+					&& (toAccount == null || account.compareTo(toAccount) < 0)) {
+				action.accept(record.getEntry());
+			}
+		});
+	}
+}
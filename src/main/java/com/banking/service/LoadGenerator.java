@@ -0,0 +1,345 @@
+package com.banking.service;
+
+import com.banking.model.PostingStatus;
+import com.banking.model.UserCredentials;
+import com.banking.model.Users;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+import com.banking.util.LatencyHistogram;
+import com.banking.util.PasswordHasher;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test for the account operations.
+ * <p>
+ * {@link #setUp()} creates N synthetic users, each with one account, through {@link UserDAOImpl#createUser} and
+ * {@link AccountDAOImpl#createAccount}. {@link #run} then drives a weighted mix of deposits, withdrawals and
+ * transfers from M threads, optionally paced to a target rate. When paced, each operation's latency is measured
+ * from the moment it was scheduled to start rather than when it actually started, so a stall shows up in the
+ * percentiles instead of quietly lowering the request rate (coordinated omission).
+ * <p>
+ * At the end the total money across the synthetic accounts is compared with the opening total plus the net of the
+ * deposits and withdrawals that succeeded; transfers must not create or destroy money.
+ */
+public class LoadGenerator {
+	private static final String TOTAL_SQL = "SELECT COALESCE(SUM(balance), 0) FROM accounts WHERE account_number LIKE ?";
+	private static final String CLEANUP_SQL = "DELETE FROM users WHERE username LIKE ?";
+	private static final long MAX_AMOUNT_CENTS = 5_000; // $50.00
+	private static final int SYNTHETIC_HASH_ITERATIONS = 1_000; // setup measures the database, not the hash cost
+
+	public enum Operation {
+		DEPOSIT, WITHDRAW, TRANSFER
+	}
+
+	private final AccountDAOImpl accountDAO;
+	private final UserDAOImpl userDAO;
+	private final String prefix;
+	private final int users;
+	private final int threads;
+	private final double targetOpsPerSecond;
+	private final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+	private final int totalWeight;
+	private final BigDecimal openingBalance;
+
+	private final List<String> accounts = new ArrayList<>();
+	private BigDecimal openingTotal;
+
+	public LoadGenerator(int users, int threads, double targetOpsPerSecond,
+	                     int depositWeight, int withdrawWeight, int transferWeight) {
+		if (users < 2 || threads <= 0) {
+			throw new IllegalArgumentException("Need at least two users and one thread.");
+		}
+		if (depositWeight < 0 || withdrawWeight < 0 || transferWeight < 0 || depositWeight + withdrawWeight + transferWeight == 0) {
+			throw new IllegalArgumentException("Operation weights must be non-negative and not all zero.");
+		}
+		this.accountDAO = new AccountDAOImpl();
+		this.userDAO = new UserDAOImpl(new PasswordHasher(SYNTHETIC_HASH_ITERATIONS));
+		this.prefix = ("LT" + Long.toString(System.currentTimeMillis(), 36)
+				+ Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36) + "-").toUpperCase();
+		this.users = users;
+		this.threads = threads;
+		this.targetOpsPerSecond = targetOpsPerSecond;
+		weights.put(Operation.DEPOSIT, depositWeight);
+		weights.put(Operation.WITHDRAW, withdrawWeight);
+		weights.put(Operation.TRANSFER, transferWeight);
+		this.totalWeight = depositWeight + withdrawWeight + transferWeight;
+		this.openingBalance = new BigDecimal("1000.00");
+	}
+
+	public static LoadGenerator fromConfig() {
+		return new LoadGenerator(DbConfig.getLoadTestUsers(), DbConfig.getLoadTestThreads(), DbConfig.getLoadTestTargetRate(),
+				DbConfig.getLoadTestDepositWeight(), DbConfig.getLoadTestWithdrawWeight(), DbConfig.getLoadTestTransferWeight());
+	}
+
+	// Prefix of every synthetic username and account number in this run
+	public String getPrefix() {
+		return prefix;
+	}
+
+	// ✅ Creates the users and accounts, spread over the worker threads
+	public void setUp() {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<String>> created = new ArrayList<>(users);
+			for (int i = 0; i < users; i++) {
+				int index = i;
+				created.add(pool.submit(() -> createUserWithAccount(index)));
+			}
+			for (Future<String> account : created) {
+				accounts.add(account.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("❌ Load test setup interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("❌ Load test setup failed: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		openingTotal = totalBalance();
+		System.out.printf("✅ Load test: created %d users and accounts (%s*), opening total %s%n", users, prefix, openingTotal);
+	}
+
+	private String createUserWithAccount(int index) {
+		String username = String.format("%s%06d", prefix, index);
+		String password = "load-" + index;
+		if (!userDAO.createUser(new Users(username, password, "Load Test " + index, username.toLowerCase() + "@load.test", "customer"))) {
+			throw new IllegalStateException("Could not create user " + username);
+		}
+		int userId = userDAO.getCredentials(username).map(UserCredentials::getUserId).orElse(-1);
+		if (userId < 0 || !accountDAO.createAccount(username, openingBalance, "checking", userId)) {
+			throw new IllegalStateException("Could not create account for " + username);
+		}
+		return username;
+	}
+
+	/**
+	 * Runs until durationMillis has passed or maxOperations have been started (either may be 0 for no limit).
+	 */
+	public Report run(long durationMillis, long maxOperations) {
+		if (openingTotal == null) {
+			throw new IllegalStateException("Call setUp() before run().");
+		}
+		if (durationMillis <= 0 && maxOperations <= 0) {
+			throw new IllegalArgumentException("Set a duration, an operation count, or both.");
+		}
+		Report report = new Report();
+		AtomicLong started = new AtomicLong();
+		long startNanos = System.nanoTime();
+		long deadline = durationMillis > 0 ? startNanos + durationMillis * 1_000_000 : Long.MAX_VALUE;
+		// Each thread runs an equal share of the target rate on its own schedule
+		long intervalNanos = targetOpsPerSecond > 0 ? (long) (1e9 * threads / targetOpsPerSecond) : 0;
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> workers = new ArrayList<>(threads);
+			for (int t = 0; t < threads; t++) {
+				long offset = intervalNanos * t / threads;
+				workers.add(pool.submit(() -> {
+					long intended = startNanos + offset;
+					while ((maxOperations <= 0 || started.incrementAndGet() <= maxOperations) && System.nanoTime() < deadline) {
+						if (intervalNanos > 0) {
+							long wait = intended - System.nanoTime();
+							if (wait > 0) {
+								LockSupport.parkNanos(wait);
+							}
+						}
+						long measuredFrom = intervalNanos > 0 ? intended : System.nanoTime();
+						runOne(report, measuredFrom);
+						intended += intervalNanos;
+					}
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("❌ Load test interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("❌ Load test worker failed: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		report.elapsedNanos = System.nanoTime() - startNanos;
+		report.expectedTotal = openingTotal.add(BigDecimal.valueOf(report.netCents.sum(), 2));
+		report.actualTotal = totalBalance();
+		return report;
+	}
+
+	private void runOne(Report report, long measuredFrom) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Operation operation = pick(random.nextInt(totalWeight));
+		long cents = 1 + random.nextLong(MAX_AMOUNT_CENTS);
+		BigDecimal amount = BigDecimal.valueOf(cents, 2);
+		String account = accounts.get(random.nextInt(accounts.size()));
+		OperationStats stats = report.stats.get(operation);
+
+		try {
+			boolean applied;
+			switch (operation) {
+				case DEPOSIT:
+					applied = accountDAO.deposit(account, amount, null) == PostingStatus.APPLIED;
+					if (applied) {
+						report.netCents.add(cents);
+					}
+					break;
+				case WITHDRAW:
+					applied = accountDAO.withdraw(account, amount, null) == PostingStatus.APPLIED;
+					if (applied) {
+						report.netCents.add(-cents);
+					}
+					break;
+				default:
+					String other = accounts.get(random.nextInt(accounts.size() - 1));
+					if (other.equals(account)) {
+						other = accounts.get(accounts.size() - 1);
+					}
+					applied = accountDAO.fastTransfer(account, other, amount) == PostingStatus.APPLIED;
+			}
+			(applied ? stats.succeeded : stats.rejected).increment();
+		} catch (RuntimeException e) {
+			stats.errors.increment();
+		} finally {
+			stats.latency.record(System.nanoTime() - measuredFrom);
+		}
+	}
+
+	private Operation pick(int roll) {
+		for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+			roll -= weight.getValue();
+			if (roll < 0) {
+				return weight.getKey();
+			}
+		}
+		throw new IllegalStateException("Roll outside the weight range");
+	}
+
+	// ✅ Money held by this run's accounts, read in one query
+	public BigDecimal totalBalance() {
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(TOTAL_SQL)) {
+			stmt.setString(1, prefix + "%");
+			try (ResultSet rs = stmt.executeQuery()) {
+				rs.next();
+				return rs.getBigDecimal(1).setScale(2);
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error reading load test balances", e);
+		}
+	}
+
+	// Deletes this run's users; their accounts and transactions go with them (ON DELETE CASCADE)
+	public void cleanUp() {
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(CLEANUP_SQL)) {
+			stmt.setString(1, prefix + "%");
+			stmt.executeUpdate();
+		} catch (SQLException e) {
+			throw new RuntimeException("Error deleting load test users", e);
+		}
+	}
+
+	private static final class OperationStats {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final LongAdder succeeded = new LongAdder();
+		private final LongAdder rejected = new LongAdder(); // insufficient funds
+		private final LongAdder errors = new LongAdder();
+	}
+
+	public static final class Report {
+		private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+		private final LongAdder netCents = new LongAdder();
+		private long elapsedNanos;
+		private BigDecimal expectedTotal;
+		private BigDecimal actualTotal;
+
+		private Report() {
+			for (Operation operation : Operation.values()) {
+				stats.put(operation, new OperationStats());
+			}
+		}
+
+		public LatencyHistogram getLatency(Operation operation) {
+			return stats.get(operation).latency;
+		}
+
+		public long getSucceeded(Operation operation) {
+			return stats.get(operation).succeeded.sum();
+		}
+
+		public long getRejected(Operation operation) {
+			return stats.get(operation).rejected.sum();
+		}
+
+		public long getErrors(Operation operation) {
+			return stats.get(operation).errors.sum();
+		}
+
+		public long getTotalOperations() {
+			long total = 0;
+			for (OperationStats operation : stats.values()) {
+				total += operation.latency.getCount();
+			}
+			return total;
+		}
+
+		public double getThroughput() {
+			return elapsedNanos == 0 ? 0 : getTotalOperations() * 1e9 / elapsedNanos;
+		}
+
+		public BigDecimal getExpectedTotal() {
+			return expectedTotal;
+		}
+
+		public BigDecimal getActualTotal() {
+			return actualTotal;
+		}
+
+		// False means money was created or lost; errors leave the outcome of their operation unknown
+		public boolean isMoneyConserved() {
+			return expectedTotal.compareTo(actualTotal) == 0;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder out = new StringBuilder();
+			out.append(String.format("%-9s %9s %9s %8s %7s %9s %9s %9s %9s%n",
+					"op", "ops", "ok", "rejected", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+			for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+				OperationStats s = entry.getValue();
+				out.append(String.format("%-9s %9d %9d %8d %7d %9.3f %9.3f %9.3f %9.3f%n",
+						entry.getKey(), s.latency.getCount(), s.succeeded.sum(), s.rejected.sum(), s.errors.sum(),
+						millis(s.latency.getValueAtPercentile(50)), millis(s.latency.getValueAtPercentile(99)),
+						millis(s.latency.getValueAtPercentile(99.9)), millis(s.latency.getMax())));
+			}
+			out.append(String.format("%d operations in %.1f s: %.0f ops/s%n", getTotalOperations(), elapsedNanos / 1e9, getThroughput()));
+			out.append(isMoneyConserved()
+					? String.format("✅ Money conserved: total %s", actualTotal)
+					: String.format("❌ Money NOT conserved: expected %s, found %s", expectedTotal, actualTotal));
+			return out.toString();
+		}
+
+		private static double millis(long nanos) {
+			return nanos / 1e6;
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.model.Account;
+import com.banking.model.LedgerEntry;
+import com.banking.model.Money;
+import com.banking.model.MonthlyAdjustment;
+import com.banking.model.TransactionType;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.TransactionLogger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Month-end run over every account in a {@link BankingSystem}.
+ * <p>
+ * Accounts are taken in account-number order and split into chunks that run in parallel. Each chunk is one
+ * database transaction: new balances go out as a JDBC batch, fee/interest ledger rows as another, and the
+ * chunk's accounts are recorded in {@code month_end_accounts} (schema migration V10) and its range in
+ * {@code month_end_progress} (V3). No stripe lock in the {@link BankingSystem} is held during that commit: each
+ * adjustment is calculated under its account's stripe beforehand and booked in memory under it again afterwards,
+ * with the same delta the database applied. Running the same {@code runId} again skips exactly the accounts
+ * recorded for it, so an interrupted month-end resumes where it stopped, including accounts opened meanwhile.
+ */
+public class MonthEndProcessor {
+	private static final String ADJUST_SQL = "UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE account_number = ?";
+	private static final String CHECKPOINT_SQL =
+			"INSERT INTO month_end_progress (run_id, first_account, last_account, accounts, completed_at) VALUES (?, ?, ?, ?, ?)";
+	private static final String ACCOUNT_DONE_SQL = "INSERT INTO month_end_accounts (run_id, account_number) VALUES (?, ?)";
+	private static final String COMPLETED_SQL = "SELECT account_number FROM month_end_accounts WHERE run_id = ?";
+
+	private final BankingSystem bankingSystem;
+	private final int chunkSize;
+	private final int parallelism;
+
+	public interface ProgressListener {
+		void onChunkCompleted(String runId, int completedChunks, int totalChunks, long accountsProcessed);
+	}
+
+	public MonthEndProcessor(BankingSystem bankingSystem, int chunkSize, int parallelism) {
+		if (chunkSize <= 0 || parallelism <= 0) {
+			throw new IllegalArgumentException("Chunk size and parallelism must be positive.");
+		}
+		this.bankingSystem = bankingSystem;
+		this.chunkSize = chunkSize;
+		this.parallelism = parallelism;
+	}
+
+	public Summary run(String runId) {
+		return run(runId, (id, done, total, accounts) ->
+				System.out.printf("📅 Month-end %s: chunk %d/%d done (%d accounts)%n", id, done, total, accounts));
+	}
+
+	public Summary run(String runId, ProgressListener listener) {
+		Set<String> completedAccounts = loadCompletedAccounts(runId);
+		List<Account> remaining = new ArrayList<>();
+		long alreadyDone = 0;
+		for (Account account : bankingSystem.getAccountsSortedByNumber()) {
+			if (completedAccounts.contains(account.getAccountNumber())) {
+				alreadyDone++;
+			} else {
+				remaining.add(account);
+			}
+		}
+
+		List<List<Account>> chunks = new ArrayList<>();
+		for (int start = 0; start < remaining.size(); start += chunkSize) {
+			chunks.add(remaining.subList(start, Math.min(start + chunkSize, remaining.size())));
+		}
+
+		Summary summary = new Summary(alreadyDone);
+		AtomicInteger completed = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+		try {
+			List<Future<?>> futures = new ArrayList<>(chunks.size());
+			for (List<Account> chunk : chunks) {
+				futures.add(pool.submit(() -> {
+					processChunk(runId, chunk, summary);
+					listener.onChunkCompleted(runId, completed.incrementAndGet(), chunks.size(), summary.getAccountsProcessed());
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("❌ Month-end run " + runId + " interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("❌ Month-end run " + runId + " failed; rerun it to resume: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return summary;
+	}
+
+	private void processChunk(String runId, List<Account> chunk, Summary summary) throws SQLException {
+		List<MonthlyAdjustment> adjustments = new ArrayList<>(chunk.size());
+		for (Account account : chunk) {
+			adjustments.add(bankingSystem.calculateMonthlyAdjustment(account));
+		}
+
+		try (Connection conn = DatabaseConnection.connect()) {
+			conn.setAutoCommit(false);
+			try {
+				int[] updated = writeBalances(conn, adjustments);
+				TransactionLogger.saveTransactions(conn, ledgerEntries(adjustments, updated));
+				writeAccountsDone(conn, runId, chunk);
+				writeCheckpoint(conn, runId, chunk);
+				conn.commit();
+			} catch (SQLException e) {
+				conn.rollback();
+				throw e;
+			}
+		}
+
+		// ✅ Durable now; booking re-takes each account's stripe only for its own update
+		for (MonthlyAdjustment adjustment : adjustments) {
+			summary.record(adjustment.getAdjustmentCents(), bankingSystem.bookMonthlyAdjustment(adjustment));
+		}
+	}
+
+	private int[] writeBalances(Connection conn, List<MonthlyAdjustment> adjustments) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(ADJUST_SQL)) {
+			for (MonthlyAdjustment adjustment : adjustments) {
+				stmt.setBigDecimal(1, Money.toBigDecimal(adjustment.getAdjustmentCents()));
+				stmt.setString(2, adjustment.getAccount().getAccountNumber());
+				stmt.addBatch();
+			}
+			return stmt.executeBatch();
+		}
+	}
+
+	// Only accounts that exist in the database get a ledger row
+	private List<LedgerEntry> ledgerEntries(List<MonthlyAdjustment> adjustments, int[] updated) {
+		LocalDateTime now = LocalDateTime.now();
+		List<LedgerEntry> entries = new ArrayList<>();
+		for (int i = 0; i < adjustments.size(); i++) {
+			long cents = adjustments.get(i).getAdjustmentCents();
+			if (cents == 0 || updated[i] != 1) {
+				continue;
+			}
+			TransactionType type = cents > 0 ? TransactionType.INTEREST : TransactionType.FEE;
+			entries.add(new LedgerEntry(adjustments.get(i).getAccount().getAccountNumber(), type,
+					Money.toBigDecimal(Math.abs(cents)), null, now));
+		}
+		return entries;
+	}
+
+	private void writeAccountsDone(Connection conn, String runId, List<Account> chunk) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(ACCOUNT_DONE_SQL)) {
+			for (Account account : chunk) {
+				stmt.setString(1, runId);
+				stmt.setString(2, account.getAccountNumber());
+				stmt.addBatch();
+			}
+			stmt.executeBatch();
+		}
+	}
+
+	private void writeCheckpoint(Connection conn, String runId, List<Account> chunk) throws SQLException {
+		try (PreparedStatement stmt = conn.prepareStatement(CHECKPOINT_SQL)) {
+			stmt.setString(1, runId);
+			stmt.setString(2, chunk.get(0).getAccountNumber());
+			stmt.setString(3, chunk.get(chunk.size() - 1).getAccountNumber());
+			stmt.setInt(4, chunk.size());
+			stmt.setObject(5, LocalDateTime.now());
+			stmt.executeUpdate();
+		}
+	}
+
+	private Set<String> loadCompletedAccounts(String runId) {
+		Set<String> accounts = new HashSet<>();
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(COMPLETED_SQL)) {
+			stmt.setString(1, runId);
+			ResultSet rs = stmt.executeQuery();
+			while (rs.next()) {
+				accounts.add(rs.getString("account_number"));
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("❌ Error reading month-end progress: " + e.getMessage(), e);
+		}
+		return accounts;
+	}
+
+	public static final class Summary {
+		private final long accountsSkipped;
+		private final LongAdder accountsProcessed = new LongAdder();
+		private final LongAdder interestCents = new LongAdder();
+		private final LongAdder feeCents = new LongAdder();
+		private final LongAdder balancesMoved = new LongAdder();
+
+		private Summary(long accountsSkipped) {
+			this.accountsSkipped = accountsSkipped;
+		}
+
+		private void record(long adjustmentCents, boolean balanceUnchanged) {
+			accountsProcessed.increment();
+			if (!balanceUnchanged) {
+				balancesMoved.increment();
+			}
+			if (adjustmentCents > 0) {
+				interestCents.add(adjustmentCents);
+			} else {
+				feeCents.add(-adjustmentCents);
+			}
+		}
+
+		// Accounts already handled by an earlier attempt of the same run
+		public long getAccountsSkipped() {
+			return accountsSkipped;
+		}
+
+		public long getAccountsProcessed() {
+			return accountsProcessed.sum();
+		}
+
+		public long getInterestCents() {
+			return interestCents.sum();
+		}
+
+		public long getFeeCents() {
+			return feeCents.sum();
+		}
+
+		// Accounts posted to between calculating and booking; their adjustment is on the earlier balance
+		public long getBalancesMoved() {
+			return balancesMoved.sum();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Month-end summary: %d processed, %d already done, interest $%.2f, fees $%.2f",
+					getAccountsProcessed(), accountsSkipped,
+					Money.toBigDecimal(getInterestCents()), Money.toBigDecimal(getFeeCents()));
+		}
+	}
+}
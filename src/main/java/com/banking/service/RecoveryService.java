@@ -0,0 +1,214 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.model.AccountFactory;
+import com.banking.model.AccountSnapshot;
+import com.banking.model.AccountType;
+import com.banking.model.LedgerEntry;
+import com.banking.model.Money;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rebuilds a {@link BankingSystem} from an {@link AccountSnapshot} plus the ledger entries recorded after it.
+ * <p>
+ * The snapshot is split into contiguous account-number ranges, one per partition. Each partition replays only its
+ * own range from the {@link ReplaySource}, sums the balance changes per account and then adds its finished accounts
+ * to the system, so partitions never share state. The database snapshot is read in one bulk scan instead of one
+ * {@code getAccountByNumber} call per account.
+ */
+public class RecoveryService {
+	private static final String SNAPSHOT_ACCOUNTS_SQL =
+			"SELECT account_number, " + HotAccountSlots.TOTAL_BALANCE_COLUMN + ", account_type FROM accounts ORDER BY account_number";
+	private static final String SNAPSHOT_POSITION_SQL =
+			"SELECT COALESCE(MAX(transaction_id), 0) FROM transactions";
+
+	private final int parallelism;
+
+	public interface ProgressListener {
+		void onPartitionCompleted(int completedPartitions, int totalPartitions, long entriesReplayed);
+	}
+
+	public RecoveryService(int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Parallelism must be positive.");
+		}
+		this.parallelism = parallelism;
+	}
+
+	// ✅ Cold start only, before anything posts: the accounts table already holds every committed posting, so
+	// nothing is replayed (with ledger.async a ledger row can land after its balance update and would count twice)
+	public Summary recoverFromDatabase(BankingSystem bankingSystem) {
+		return recover(bankingSystem, loadDatabaseSnapshot(), (fromAccount, toAccount, action) -> { });
+	}
+
+	public Summary recover(BankingSystem bankingSystem, AccountSnapshot snapshot, ReplaySource source) {
+		return recover(bankingSystem, snapshot, source, (done, total, entries) ->
+				System.out.printf("♻️ Recovery: partition %d/%d done (%d ledger entries replayed)%n", done, total, entries));
+	}
+
+	public Summary recover(BankingSystem bankingSystem, AccountSnapshot snapshot, ReplaySource source, ProgressListener listener) {
+		long start = System.nanoTime();
+		List<AccountSnapshot.Entry> entries = snapshot.getEntries();
+		int partitions = Math.max(1, Math.min(parallelism, entries.size()));
+		Summary summary = new Summary();
+		AtomicInteger completed = new AtomicInteger();
+
+		bankingSystem.clearAccounts();
+		ExecutorService pool = Executors.newFixedThreadPool(partitions);
+		try {
+			List<Future<?>> futures = new ArrayList<>(partitions);
+			for (int p = 0; p < partitions; p++) {
+				int from = (int) ((long) entries.size() * p / partitions);
+				int to = (int) ((long) entries.size() * (p + 1) / partitions);
+				// The first and last partitions are open-ended so entries for unknown accounts are still counted
+				String fromAccount = p == 0 ? null : entries.get(from).getAccountNumber();
+				String toAccount = p == partitions - 1 ? null : entries.get(to).getAccountNumber();
+				List<AccountSnapshot.Entry> slice = entries.subList(from, to);
+				futures.add(pool.submit(() -> {
+					recoverPartition(bankingSystem, slice, source, fromAccount, toAccount, summary);
+					listener.onPartitionCompleted(completed.incrementAndGet(), partitions, summary.getEntriesReplayed());
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("❌ Recovery interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("❌ Recovery failed: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		summary.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		return summary;
+	}
+
+	private void recoverPartition(BankingSystem bankingSystem, List<AccountSnapshot.Entry> slice, ReplaySource source,
+	                              String fromAccount, String toAccount, Summary summary) {
+		Map<String, long[]> balances = new HashMap<>(slice.size() * 4 / 3 + 1);
+		for (AccountSnapshot.Entry entry : slice) {
+			balances.put(entry.getAccountNumber(), new long[]{entry.getBalanceCents()});
+		}
+
+		long[] replayed = new long[1];
+		long[] skipped = new long[1];
+		source.replay(fromAccount, toAccount, entry -> {
+			long[] balance = balances.get(entry.getAccountNumber());
+			long delta = signedCents(entry);
+			if (balance == null || delta == 0) {
+				skipped[0]++; // account not in the snapshot, or a legacy row without a direction
+				return;
+			}
+			balance[0] = Money.add(balance[0], delta);
+			replayed[0]++;
+		});
+
+		for (AccountSnapshot.Entry entry : slice) {
+			long cents = balances.get(entry.getAccountNumber())[0];
+			bankingSystem.addAccount(AccountFactory.createAccount(entry.getAccountType(), entry.getAccountNumber(),
+					Money.toBigDecimal(cents)));
+		}
+		summary.accountsLoaded.add(slice.size());
+		summary.entriesReplayed.add(replayed[0]);
+		summary.entriesSkipped.add(skipped[0]);
+	}
+
+	// Balance effect of one ledger row on its own account
+	static long signedCents(LedgerEntry entry) {
+		long cents = Money.toCents(entry.getAmount());
+		switch (entry.getType()) {
+			case DEPOSIT:
+			case TRANSFER_IN:
+			case INTEREST:
+				return cents;
+			case WITHDRAWAL:
+			case TRANSFER_OUT:
+			case FEE:
+				return -cents;
+			default:
+				return 0;
+		}
+	}
+
+	// ✅ Accounts and the ledger high-water mark, read from one consistent view of the database
+	public AccountSnapshot loadDatabaseSnapshot() {
+		List<AccountSnapshot.Entry> entries = new ArrayList<>();
+		try (Connection conn = DatabaseConnection.connect()) {
+			int isolation = conn.getTransactionIsolation();
+			conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+			conn.setAutoCommit(false);
+			try {
+				long lastTransactionId;
+				try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(SNAPSHOT_POSITION_SQL)) {
+					rs.next();
+					lastTransactionId = rs.getLong(1);
+				}
+				try (PreparedStatement stmt = conn.prepareStatement(SNAPSHOT_ACCOUNTS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+					stmt.setFetchSize(DbConfig.getQueryFetchSize());
+					try (ResultSet rs = stmt.executeQuery()) {
+						while (rs.next()) {
+							entries.add(new AccountSnapshot.Entry(
+									rs.getString("account_number"),
+									AccountType.valueOf(rs.getString("account_type").toUpperCase()),
+									Money.toCents(rs.getBigDecimal("balance"))));
+						}
+					}
+				}
+				conn.commit();
+				return new AccountSnapshot(entries, lastTransactionId, 0);
+			} finally {
+				conn.setTransactionIsolation(isolation);
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error loading account snapshot", e);
+		}
+	}
+
+	public static final class Summary {
+		private final LongAdder accountsLoaded = new LongAdder();
+		private final LongAdder entriesReplayed = new LongAdder();
+		private final LongAdder entriesSkipped = new LongAdder();
+		private volatile long elapsedMillis;
+
+		private Summary() {
+		}
+
+		public long getAccountsLoaded() {
+			return accountsLoaded.sum();
+		}
+
+		public long getEntriesReplayed() {
+			return entriesReplayed.sum();
+		}
+
+		// Entries for accounts missing from the snapshot, or legacy TRANSFER rows with no direction
+		public long getEntriesSkipped() {
+			return entriesSkipped.sum();
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Recovery summary: %d accounts loaded, %d entries replayed, %d skipped in %d ms",
+					getAccountsLoaded(), getEntriesReplayed(), getEntriesSkipped(), elapsedMillis);
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.banking.service;
+
+import com.banking.model.LedgerEntry;
+
+import java.util.function.Consumer;
+
+// Ledger entries recorded after a snapshot, restricted to accounts in [fromAccount, toAccount); null bounds are open
+public interface ReplaySource {
+	void replay(String fromAccount, String toAccount, Consumer<? super LedgerEntry> action);
+}
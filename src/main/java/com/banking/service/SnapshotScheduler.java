@@ -0,0 +1,154 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.model.AccountSnapshot;
+import com.banking.util.DbConfig;
+import com.banking.util.SnapshotFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes {@link SnapshotFile}s of a {@link BankingSystem} on a timer and/or after every N postings, keeping only
+ * the newest few. Snapshots are taken with {@link BankingSystem#snapshot}, so postings keep flowing while a file
+ * is written; recovery then only has to replay the system's journal after the newest snapshot.
+ */
+public class SnapshotScheduler implements AutoCloseable {
+	private static final String PREFIX = "balances-";
+	private static final String SUFFIX = ".snap";
+	private static final long POSTING_CHECK_MILLIS = 100;
+
+	private final BankingSystem bankingSystem;
+	private final Path directory;
+	private final long everyPostings;
+	private final boolean compress;
+	private final int retain;
+	private final ScheduledExecutorService timer;
+
+	private long postingsAtLastSnapshot;
+	private volatile Path latest;
+
+	public SnapshotScheduler(BankingSystem bankingSystem, Path directory, long intervalMillis, long everyPostings,
+	                         boolean compress, int retain) {
+		if (retain <= 0) {
+			throw new IllegalArgumentException("At least one snapshot must be retained.");
+		}
+		this.bankingSystem = bankingSystem;
+		this.directory = directory;
+		this.everyPostings = everyPostings;
+		this.compress = compress;
+		this.retain = retain;
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error creating snapshot directory " + directory, e);
+		}
+		this.postingsAtLastSnapshot = bankingSystem.getPostingCount();
+
+		this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "balance-snapshots");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (intervalMillis > 0) {
+			timer.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+		}
+		if (everyPostings > 0) {
+			timer.scheduleWithFixedDelay(this::snapshotIfDue, POSTING_CHECK_MILLIS, POSTING_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public static SnapshotScheduler fromConfig(BankingSystem bankingSystem) {
+		return new SnapshotScheduler(bankingSystem, Paths.get(DbConfig.getSnapshotDirectory()),
+				DbConfig.getSnapshotIntervalMillis(), DbConfig.getSnapshotEveryPostings(),
+				DbConfig.isSnapshotCompressed(), DbConfig.getSnapshotRetain());
+	}
+
+	// ✅ Takes and writes a snapshot now; returns the file
+	public synchronized Path snapshotNow() {
+		long postings = bankingSystem.getPostingCount();
+		AccountSnapshot snapshot = bankingSystem.snapshot();
+		Path file = directory.resolve(String.format("%s%020d%s", PREFIX, System.currentTimeMillis(), SUFFIX));
+		if (file.equals(latest)) {
+			file = directory.resolve(String.format("%s%020d%s", PREFIX, System.currentTimeMillis() + 1, SUFFIX));
+		}
+		SnapshotFile.write(snapshot, file, compress);
+		postingsAtLastSnapshot = postings;
+		latest = file;
+		prune();
+		return file;
+	}
+
+	public Path getLatest() {
+		return latest;
+	}
+
+	// Newest snapshot file in a directory, if any
+	public static Optional<Path> findLatest(Path directory) {
+		List<Path> files = list(directory);
+		return files.isEmpty() ? Optional.empty() : Optional.of(files.get(files.size() - 1));
+	}
+
+	@Override
+	public void close() {
+		timer.shutdown();
+		try {
+			timer.awaitTermination(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private synchronized void snapshotIfDue() {
+		if (bankingSystem.getPostingCount() - postingsAtLastSnapshot >= everyPostings) {
+			snapshotQuietly();
+		}
+	}
+
+	// Scheduled runs must not throw, or the executor silently cancels them
+	private void snapshotQuietly() {
+		try {
+			Path file = snapshotNow();
+			System.out.println("📸 Balance snapshot written: " + file.getFileName());
+		} catch (RuntimeException e) {
+			System.err.println("❌ Balance snapshot failed: " + e.getMessage());
+		}
+	}
+
+	private void prune() {
+		List<Path> files = list(directory);
+		for (int i = 0; i < files.size() - retain; i++) {
+			try {
+				Files.deleteIfExists(files.get(i));
+			} catch (IOException e) {
+				System.err.println("❌ Could not delete old snapshot " + files.get(i) + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private static List<Path> list(Path directory) {
+		if (!Files.isDirectory(directory)) {
+			return List.of();
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(p -> {
+						String name = p.getFileName().toString();
+						return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+					})
+					.sorted()
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error listing snapshots in " + directory, e);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.banking.service;
+
+import com.banking.model.TransactionCursor;
+import com.banking.model.TransactionPage;
+import com.banking.model.TransactionRecord;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public interface TransactionDAO {
+	// Newest first; from is inclusive, to is exclusive, either may be null. Pass the previous page's cursor to continue.
+	TransactionPage getTransactions(String accountNumber, LocalDateTime from, LocalDateTime to, TransactionCursor cursor, int limit);
+
+	// Oldest first, one row at a time; a null accountNumber exports the whole ledger
+	void exportTransactions(String accountNumber, LocalDateTime from, LocalDateTime to, Consumer<? super TransactionRecord> action);
+}
@@ -0,0 +1,127 @@
+package com.banking.service;
+
+import com.banking.model.TransactionCursor;
+import com.banking.model.TransactionPage;
+import com.banking.model.TransactionRecord;
+import com.banking.model.TransactionType;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ledger reads over the transactions table.
+ * <p>
+ * Pages are keyset-paginated on {@code (transaction_date, transaction_id)}: a page starts right after the cursor's
+ * row instead of skipping an OFFSET, so page 1000 costs the same as page 1 and is served from
+ * {@code idx_transactions_account_date_id}. {@code transaction_date} is NOT NULL (V11), so every row has a place in
+ * that order and a cursor to resume after it.
+ */
+public class TransactionDAOImpl implements TransactionDAO {
+	public static final int MAX_PAGE_SIZE = 1000;
+
+	private static final String COLUMNS =
+			"SELECT transaction_id, account_number, transaction_type, amount, transaction_date, reference_account FROM transactions";
+
+	@Override
+	public TransactionPage getTransactions(String accountNumber, LocalDateTime from, LocalDateTime to,
+	                                       TransactionCursor cursor, int limit) {
+		if (accountNumber == null) {
+			throw new IllegalArgumentException("Account number is required.");
+		}
+		if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+		}
+
+		StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE account_number = ?");
+		List<Object> params = new ArrayList<>();
+		params.add(accountNumber);
+		appendRange(sql, params, from, to);
+		if (cursor != null) {
+			sql.append(" AND (transaction_date < ? OR (transaction_date = ? AND transaction_id < ?))");
+			params.add(cursor.getTransactionDate());
+			params.add(cursor.getTransactionDate());
+			params.add(cursor.getTransactionId());
+		}
+		// One extra row tells us whether another page follows
+		sql.append(" ORDER BY transaction_date DESC, transaction_id DESC LIMIT ?");
+		params.add(limit + 1);
+
+		List<TransactionRecord> records = new ArrayList<>(limit + 1);
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+			bind(stmt, params);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					records.add(mapRecord(rs));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error retrieving transactions", e);
+		}
+
+		if (records.size() > limit) {
+			records.remove(limit);
+			return new TransactionPage(records, TransactionCursor.after(records.get(limit - 1)));
+		}
+		return new TransactionPage(records, null);
+	}
+
+	@Override
+	public void exportTransactions(String accountNumber, LocalDateTime from, LocalDateTime to,
+	                               Consumer<? super TransactionRecord> action) {
+		StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE 1 = 1");
+		List<Object> params = new ArrayList<>();
+		if (accountNumber != null) {
+			sql.append(" AND account_number = ?");
+			params.add(accountNumber);
+		}
+		appendRange(sql, params, from, to);
+		sql.append(" ORDER BY transaction_date, transaction_id");
+
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			stmt.setFetchSize(DbConfig.getQueryFetchSize());
+			bind(stmt, params);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					action.accept(mapRecord(rs));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error exporting transactions", e);
+		}
+	}
+
+	private static void appendRange(StringBuilder sql, List<Object> params, LocalDateTime from, LocalDateTime to) {
+		if (from != null) {
+			sql.append(" AND transaction_date >= ?");
+			params.add(from);
+		}
+		if (to != null) {
+			sql.append(" AND transaction_date < ?");
+			params.add(to);
+		}
+	}
+
+	private static void bind(PreparedStatement stmt, List<Object> params) throws SQLException {
+		for (int i = 0; i < params.size(); i++) {
+			stmt.setObject(i + 1, params.get(i));
+		}
+	}
+
+	private static TransactionRecord mapRecord(ResultSet rs) throws SQLException {
+		return new TransactionRecord(
+				rs.getLong("transaction_id"),
+				rs.getString("account_number"),
+				TransactionType.fromColumn(rs.getString("transaction_type")),
+				rs.getBigDecimal("amount"),
+				rs.getString("reference_account"),
+				rs.getObject("transaction_date", LocalDateTime.class)
+		);
+	}
+}
@@ -0,0 +1,57 @@
+package com.banking.service;
+
+import com.banking.model.LedgerEntry;
+import com.banking.model.TransactionType;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Replays transactions rows with an id above the snapshot's; each account range is one indexed, streamed query
+public class TransactionTableReplay implements ReplaySource {
+	private final long afterTransactionId;
+
+	public TransactionTableReplay(long afterTransactionId) {
+		this.afterTransactionId = afterTransactionId;
+	}
+
+	@Override
+	public void replay(String fromAccount, String toAccount, Consumer<? super LedgerEntry> action) {
+		StringBuilder sql = new StringBuilder("SELECT account_number, transaction_type, amount, reference_account, transaction_date " +
+				"FROM transactions WHERE transaction_id > ?");
+		List<String> bounds = new ArrayList<>(2);
+		if (fromAccount != null) {
+			sql.append(" AND account_number >= ?");
+			bounds.add(fromAccount);
+		}
+		if (toAccount != null) {
+			sql.append(" AND account_number < ?");
+			bounds.add(toAccount);
+		}
+
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			stmt.setFetchSize(DbConfig.getQueryFetchSize());
+			stmt.setLong(1, afterTransactionId);
+			for (int i = 0; i < bounds.size(); i++) {
+				stmt.setString(i + 2, bounds.get(i));
+			}
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					action.accept(new LedgerEntry(
+							rs.getString("account_number"),
+							TransactionType.fromColumn(rs.getString("transaction_type")),
+							rs.getBigDecimal("amount"),
+							rs.getString("reference_account"),
+							rs.getObject("transaction_date", LocalDateTime.class)));
+				}
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Error replaying transactions", e);
+		}
+	}
+}
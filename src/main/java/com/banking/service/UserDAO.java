@@ -1,16 +1,25 @@
 package com.banking.service;
 
+import com.banking.model.UserCredentials;
 import com.banking.model.Users;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserDAO {
-	boolean createUser(Users user); // Use Users object
+	boolean createUser(Users user); // Use Users object; the password is stored hashed
 
 	List<Users> getAllUsers();
 
+	List<Users> getUsersAfter(String lastUsername, int limit); // Keyset page ordered by username
+
+	void forEachUser(Consumer<? super Users> action); // Streams rows without building a list
+
 	Optional<Users> getUserByUsername(String username);
 
-	int authenticateUser(String username, String password);
+	// ✅ Login lookups go through AuthService, which verifies the hash
+	Optional<UserCredentials> getCredentials(String username);
+
+	boolean updatePasswordHash(int userId, String passwordHash);
 }
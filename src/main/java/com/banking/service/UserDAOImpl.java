@@ -1,14 +1,33 @@
 package com.banking.service;
 
+import com.banking.model.UserCredentials;
 import com.banking.model.Users;
 import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
+import com.banking.util.PasswordHasher;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class UserDAOImpl implements UserDAO {
+	private static final String USER_COLUMNS = "username, password, full_name, email, user_role";
+	// username is UNIQUE, so this is a single index lookup
+	private static final String CREDENTIALS_SQL = "SELECT user_id, username, password, user_role FROM users WHERE username = ?";
+	private static final String UPDATE_PASSWORD_SQL = "UPDATE users SET password = ? WHERE user_id = ?";
+
+	private final PasswordHasher hasher;
+
+	public UserDAOImpl() {
+		this(PasswordHasher.fromConfig());
+	}
+
+	public UserDAOImpl(PasswordHasher hasher) {
+		this.hasher = hasher;
+	}
+
 	@Override
 	public boolean createUser(Users user) {
 		String sql = "INSERT INTO users (username, password, full_name, email, user_role) VALUES (?, ?, ?, ?, ?)";
@@ -17,7 +36,8 @@ public class UserDAOImpl implements UserDAO {
 		     PreparedStatement stmt = conn.prepareStatement(sql)) {
 
 			stmt.setString(1, user.getUsername());
-			stmt.setString(2, user.getPassword());
+			String password = user.getPassword();
+			stmt.setString(2, PasswordHasher.isHash(password) ? password : hasher.hash(password));
 			stmt.setString(3, user.getFullName());
 			stmt.setString(4, user.getEmail());
 			stmt.setString(5, user.getRole());
@@ -33,20 +53,31 @@ public class UserDAOImpl implements UserDAO {
 	@Override
 	public List<Users> getAllUsers() {
 		List<Users> users = new ArrayList<>();
-		String sql = "SELECT * FROM users";
+		forEachUser(users::add);
+		return users;
+	}
+
+	@Override
+	public List<Users> getUsersAfter(String lastUsername, int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Page size must be positive.");
+		}
+		List<Users> users = new ArrayList<>(Math.min(limit, 1024));
+		String sql = lastUsername == null
+				? "SELECT " + USER_COLUMNS + " FROM users ORDER BY username LIMIT ?"
+				: "SELECT " + USER_COLUMNS + " FROM users WHERE username > ? ORDER BY username LIMIT ?";
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql);
-		     ResultSet rs = stmt.executeQuery()) {
-
-			while (rs.next()) {
-				Users user = new Users(
-						rs.getString("username"),
-						rs.getString("password"),
-						rs.getString("full_name"),
-						rs.getString("email"),
-						rs.getString("role")
-				);
-				users.add(user);
+		     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+			int index = 1;
+			if (lastUsername != null) {
+				stmt.setString(index++, lastUsername);
+			}
+			stmt.setInt(index, limit);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					users.add(mapUser(rs));
+				}
 			}
 		} catch (SQLException e) {
 			System.err.println("❌ Error fetching users: " + e.getMessage());
@@ -54,23 +85,33 @@ public class UserDAOImpl implements UserDAO {
 		return users;
 	}
 
+	@Override
+	public void forEachUser(Consumer<? super Users> action) {
+		String sql = "SELECT " + USER_COLUMNS + " FROM users";
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+			stmt.setFetchSize(DbConfig.getQueryFetchSize());
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					action.accept(mapUser(rs));
+				}
+			}
+		} catch (SQLException e) {
+			System.err.println("❌ Error fetching users: " + e.getMessage());
+		}
+	}
+
 	@Override
 	public Optional<Users> getUserByUsername(String username) {
-		String sql = "SELECT * FROM users WHERE username = ?";
+		String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE username = ?";
 		try (Connection conn = DatabaseConnection.connect();
 		     PreparedStatement stmt = conn.prepareStatement(sql)) {
 
 			stmt.setString(1, username);
 			ResultSet rs = stmt.executeQuery();
 			if (rs.next()) {
-				Users user = new Users(
-						rs.getString("username"),
-						rs.getString("password"),
-						rs.getString("full_name"),
-						rs.getString("email"),
-						rs.getString("role")
-				);
-				return Optional.of(user);
+				return Optional.of(mapUser(rs));
 			}
 		} catch (SQLException e) {
 			System.err.println("❌ Error fetching user: " + e.getMessage());
@@ -79,20 +120,43 @@ public class UserDAOImpl implements UserDAO {
 	}
 
 	@Override
-	public int authenticateUser(String username, String password) {
-		String sql = "SELECT user_id FROM users WHERE username = ? AND password = ?";
+	public Optional<UserCredentials> getCredentials(String username) {
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
-
+		     PreparedStatement stmt = conn.prepareStatement(CREDENTIALS_SQL)) {
 			stmt.setString(1, username);
-			stmt.setString(2, password);
-			ResultSet rs = stmt.executeQuery();
-			if (rs.next()) {
-				return rs.getInt("user_id");
+			try (ResultSet rs = stmt.executeQuery()) {
+				if (rs.next()) {
+					return Optional.of(new UserCredentials(rs.getInt("user_id"), rs.getString("username"),
+							rs.getString("password"), rs.getString("user_role")));
+				}
 			}
 		} catch (SQLException e) {
-			System.err.println("❌ Error authenticating user: " + e.getMessage());
+			throw new RuntimeException("Error reading credentials", e);
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public boolean updatePasswordHash(int userId, String passwordHash) {
+		try (Connection conn = DatabaseConnection.connect();
+		     PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_SQL)) {
+			stmt.setString(1, passwordHash);
+			stmt.setInt(2, userId);
+			return stmt.executeUpdate() > 0;
+		} catch (SQLException e) {
+			System.err.println("❌ Error updating password: " + e.getMessage());
+			return false;
 		}
-		return -1; // User not found
+	}
+
+	// Role lives in the user_role column
+	private Users mapUser(ResultSet rs) throws SQLException {
+		return new Users(
+				rs.getString("username"),
+				rs.getString("password"),
+				rs.getString("full_name"),
+				rs.getString("email"),
+				rs.getString("user_role")
+		);
 	}
 }
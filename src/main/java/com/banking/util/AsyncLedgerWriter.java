@@ -0,0 +1,371 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group-committing ledger writer.
+ * <p>
+ * Callers put rows on a bounded queue and return immediately; a single writer thread drains the queue and
+ * inserts a batch every {@code batchSize} rows or {@code flushIntervalMillis}, whichever comes first. When the
+ * queue is full, callers block until the writer catches up. {@link #writeThrough} waits until the row is
+ * committed, waiting at most {@code writeTimeoutMillis}.
+ * <p>
+ * Queued rows are never dropped. A batch that cannot be saved stays at the head of the line and is retried with
+ * backoff doubling up to {@code MAX_BACKOFF_MILLIS}; nothing new is taken off the queue meanwhile, so during a
+ * database outage the queue fills and callers block, as with the journal relay. Only a write-through row is given
+ * up on after {@code MAX_FLUSH_ATTEMPTS}, because its caller gets the error and still has the row.
+ * <p>
+ * {@link #close()} stops accepting rows and flushes everything queued for up to {@code closeTimeoutMillis}; rows
+ * still unsaved after that are counted, reported, and their write-through callers get an error, so shutdown never
+ * hangs on a database that is down. A row put while closing is either flushed by close or refused, never lost.
+ */
+public class AsyncLedgerWriter implements AutoCloseable {
+	private static final int MAX_FLUSH_ATTEMPTS = 3;
+	private static final long MAX_BACKOFF_MILLIS = 5000;
+	private static final long DEFAULT_WRITE_TIMEOUT_MILLIS = 30_000;
+	private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 10_000;
+
+	private final BlockingQueue<PendingEntry> queue;
+	private final int batchSize;
+	private final long flushIntervalMillis;
+	private final long writeTimeoutMillis;
+	private final long closeTimeoutMillis;
+	private final Thread writer;
+	private volatile boolean running = true;
+
+	private final LongAdder rowsWritten = new LongAdder();
+	private final LongAdder rowsFailed = new LongAdder();
+	private final LongAdder rowsUnsaved = new LongAdder();
+	private final LongAdder failedFlushes = new LongAdder();
+	private final LongAdder flushCount = new LongAdder();
+	private final LongAdder totalFlushNanos = new LongAdder();
+	private final LongAdder backpressureWaits = new LongAdder();
+	private final AtomicLong maxFlushNanos = new AtomicLong();
+	private volatile long lastFlushNanos;
+
+	public AsyncLedgerWriter(int queueCapacity, int batchSize, long flushIntervalMillis) {
+		this(queueCapacity, batchSize, flushIntervalMillis, DEFAULT_WRITE_TIMEOUT_MILLIS, DEFAULT_CLOSE_TIMEOUT_MILLIS);
+	}
+
+	public AsyncLedgerWriter(int queueCapacity, int batchSize, long flushIntervalMillis,
+	                         long writeTimeoutMillis, long closeTimeoutMillis) {
+		if (queueCapacity <= 0 || batchSize <= 0) {
+			throw new IllegalArgumentException("Queue capacity and batch size must be positive.");
+		}
+		if (writeTimeoutMillis <= 0 || closeTimeoutMillis < 0) {
+			throw new IllegalArgumentException("Write timeout must be positive and close timeout not negative.");
+		}
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.writeTimeoutMillis = writeTimeoutMillis;
+		this.closeTimeoutMillis = closeTimeoutMillis;
+		this.writer = new Thread(this::drainLoop, "ledger-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	// ✅ Build a writer from database.properties
+	public static AsyncLedgerWriter fromConfig() {
+		return new AsyncLedgerWriter(
+				DbConfig.getLedgerQueueCapacity(),
+				DbConfig.getLedgerBatchSize(),
+				DbConfig.getLedgerFlushIntervalMillis(),
+				DbConfig.getLedgerWriteTimeoutMillis(),
+				DbConfig.getLedgerCloseTimeoutMillis()
+		);
+	}
+
+	// ✅ Queue a row; blocks only while the queue is full
+	public void enqueue(LedgerEntry entry) {
+		put(new PendingEntry(entry, null));
+	}
+
+	// ✅ Queue a row and wait until it has been committed (at most writeTimeoutMillis; the row may still be saved later)
+	public void writeThrough(LedgerEntry entry) throws SQLException {
+		CompletableFuture<Void> committed = new CompletableFuture<>();
+		put(new PendingEntry(entry, committed));
+		try {
+			committed.get(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for ledger write", e);
+		} catch (ExecutionException e) {
+			throw new SQLException("Ledger write failed: " + e.getCause().getMessage(), e.getCause());
+		} catch (TimeoutException e) {
+			throw new SQLException("Ledger write not committed within " + writeTimeoutMillis + " ms", e);
+		}
+	}
+
+	private void put(PendingEntry pending) {
+		if (!running) {
+			throw new IllegalStateException("Ledger writer is closed");
+		}
+		if (!queue.offer(pending)) {
+			backpressureWaits.increment();
+			try {
+				queue.put(pending);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while queueing ledger row", e);
+			}
+		}
+		// close() may have taken its last look at the queue meanwhile: take the row back unless it was picked up
+		if (!running && queue.remove(pending)) {
+			throw new IllegalStateException("Ledger writer is closed");
+		}
+	}
+
+	private void drainLoop() {
+		List<PendingEntry> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				collectBatch(batch, first.committed != null);
+				flushUntilSaved(batch);
+			} catch (InterruptedException e) {
+				// Interrupted by close() past its deadline
+				giveUp(batch);
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	// ✅ Retries the batch with capped backoff until it is saved; the queue backs up behind it meanwhile
+	private void flushUntilSaved(List<PendingEntry> batch) throws InterruptedException {
+		long backoff = 0;
+		while (!flush(batch)) {
+			backoff = Math.min(Math.max(backoff * 2, 100), MAX_BACKOFF_MILLIS);
+			Thread.sleep(backoff);
+		}
+	}
+
+	// Fill the batch until it is full or the flush interval has passed; a write-through row flushes at once
+	private void collectBatch(List<PendingEntry> batch, boolean urgent) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+		while (batch.size() < batchSize) {
+			queue.drainTo(batch, batchSize - batch.size());
+			if (batch.size() >= batchSize || urgent || !running) {
+				return;
+			}
+			for (PendingEntry pending : batch) {
+				if (pending.committed != null) {
+					return;
+				}
+			}
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return;
+			}
+			PendingEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+			urgent = next.committed != null;
+		}
+	}
+
+	// True once nothing in the batch is left to save; failed write-through rows are handed back to their callers
+	private boolean flush(List<PendingEntry> batch) {
+		List<LedgerEntry> entries = new ArrayList<>(batch.size());
+		for (PendingEntry pending : batch) {
+			entries.add(pending.entry);
+		}
+
+		long start = System.nanoTime();
+		SQLException failure = null;
+		for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+			try (Connection conn = DatabaseConnection.connect()) {
+				conn.setAutoCommit(false);
+				TransactionLogger.saveTransactions(conn, entries);
+				conn.commit();
+				failure = null;
+				break;
+			} catch (SQLException e) {
+				failure = e;
+				sleepQuietly(50L * attempt);
+			} catch (RuntimeException e) {
+				failure = new SQLException(e.getMessage(), e);
+				sleepQuietly(50L * attempt);
+			}
+		}
+		recordFlush(System.nanoTime() - start);
+
+		if (failure == null) {
+			rowsWritten.add(entries.size());
+			batch.forEach(pending -> pending.complete(null));
+			return true;
+		}
+		failedFlushes.increment();
+		List<PendingEntry> handedBack = new ArrayList<>();
+		for (PendingEntry pending : batch) {
+			if (pending.committed != null) {
+				handedBack.add(pending);
+			}
+		}
+		batch.removeAll(handedBack);
+		rowsFailed.add(handedBack.size());
+		SQLException cause = failure;
+		handedBack.forEach(pending -> pending.complete(cause));
+		System.err.println("❌ Could not save " + entries.size() + " transactions, "
+				+ batch.size() + " kept for retry: " + failure.getMessage());
+		return batch.isEmpty();
+	}
+
+	private void recordFlush(long nanos) {
+		flushCount.increment();
+		totalFlushNanos.add(nanos);
+		lastFlushNanos = nanos;
+		maxFlushNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Rows that will not be saved: counted, and their write-through callers get an error
+	private void giveUp(List<PendingEntry> pending) {
+		rowsUnsaved.add(pending.size());
+		SQLException cause = new SQLException("Ledger writer closed before the row was saved");
+		pending.forEach(entry -> entry.complete(cause));
+		pending.clear();
+	}
+
+	@Override
+	public void close() {
+		close(closeTimeoutMillis);
+	}
+
+	// ✅ Stop accepting rows and flush what is still queued for up to timeoutMillis; returns the rows left unsaved
+	public synchronized long close(long timeoutMillis) {
+		if (!running) {
+			return 0;
+		}
+		running = false;
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		long unsavedBefore = rowsUnsaved.sum();
+		try {
+			writer.join(Math.max(1, timeoutMillis));
+			if (writer.isAlive()) {
+				writer.interrupt(); // stuck retrying during an outage: it gives up its batch and exits
+				writer.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// Rows the writer left behind or that raced in after its last check
+		List<PendingEntry> leftover = new ArrayList<>();
+		queue.drainTo(leftover);
+		long backoff = 0;
+		while (!leftover.isEmpty() && !flush(leftover) && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+			backoff = Math.min(Math.max(backoff * 2, 100), MAX_BACKOFF_MILLIS);
+			sleepQuietly(Math.min(backoff, Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+		}
+		queue.drainTo(leftover);
+		giveUp(leftover);
+
+		long unsaved = rowsUnsaved.sum() - unsavedBefore;
+		if (unsaved > 0) {
+			System.err.println("❌ Ledger writer closed with " + unsaved + " transactions unsaved");
+		}
+		return unsaved;
+	}
+
+	// ✅ Writer metrics
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	public long getRowsWritten() {
+		return rowsWritten.sum();
+	}
+
+	// Write-through rows whose callers got an error; queued rows are retried instead
+	public long getRowsFailed() {
+		return rowsFailed.sum();
+	}
+
+	// Rows still unsaved when the writer was closed
+	public long getRowsUnsaved() {
+		return rowsUnsaved.sum();
+	}
+
+	// Flushes that gave up and were retried later
+	public long getFailedFlushes() {
+		return failedFlushes.sum();
+	}
+
+	public long getFlushCount() {
+		return flushCount.sum();
+	}
+
+	public long getBackpressureWaits() {
+		return backpressureWaits.sum();
+	}
+
+	public double getLastFlushMillis() {
+		return lastFlushNanos / 1_000_000.0;
+	}
+
+	public double getMaxFlushMillis() {
+		return maxFlushNanos.get() / 1_000_000.0;
+	}
+
+	public double getAverageFlushMillis() {
+		long flushes = flushCount.sum();
+		return flushes == 0 ? 0.0 : totalFlushNanos.sum() / (flushes * 1_000_000.0);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AsyncLedgerWriter[queued=%d, written=%d, failed=%d, flushes=%d, failedFlushes=%d, avgFlush=%.3fms, maxFlush=%.3fms, backpressure=%d]",
+				getQueueDepth(), getRowsWritten(), getRowsFailed(), getFlushCount(), getFailedFlushes(),
+				getAverageFlushMillis(), getMaxFlushMillis(), getBackpressureWaits());
+	}
+
+	private static final class PendingEntry {
+		private final LedgerEntry entry;
+		private final CompletableFuture<Void> committed;
+
+		private PendingEntry(LedgerEntry entry, CompletableFuture<Void> committed) {
+			this.entry = entry;
+			this.committed = committed;
+		}
+
+		private void complete(SQLException failure) {
+			if (committed == null) {
+				return;
+			}
+			if (failure == null) {
+				committed.complete(null);
+			} else {
+				committed.completeExceptionally(failure);
+			}
+		}
+	}
+}
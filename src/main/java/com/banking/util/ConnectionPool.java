@@ -0,0 +1,448 @@
+package com.banking.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool.
+ * <p>
+ * A connection is checked out per thread: nested {@link #getConnection()} calls on a thread that already
+ * holds a connection get a handle to the same physical connection, and it only goes back to the pool when
+ * the outermost handle is closed. Closing a handle never closes the physical connection.
+ * <p>
+ * {@code prepareStatement(sql)} is served from a small per-connection cache, so hot statements are parsed
+ * once per physical connection. Closing a cached statement only clears its parameters.
+ */
+public class ConnectionPool implements AutoCloseable {
+	private final String url;
+	private final String username;
+	private final String password;
+	private final int maxSize;
+	private final int minIdle;
+	private final long acquireTimeoutMillis;
+	private final long idleTimeoutMillis;
+	private final long validationIntervalMillis;
+	private final int validationTimeoutSeconds;
+	private final int statementCacheSize;
+
+	private final Semaphore permits;
+	private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+	private final ThreadLocal<PooledConnection> checkedOut = new ThreadLocal<>();
+	private final AtomicInteger totalConnections = new AtomicInteger();
+	private final AtomicInteger activeConnections = new AtomicInteger();
+	private final LongAdder acquireCount = new LongAdder();
+	private final LongAdder acquireTimeouts = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final ScheduledExecutorService evictor;
+	private volatile boolean closed;
+
+	public ConnectionPool(String url, String username, String password, int maxSize, int minIdle,
+	                      long acquireTimeoutMillis, long idleTimeoutMillis,
+	                      long validationIntervalMillis, int validationTimeoutSeconds) {
+		this(url, username, password, maxSize, minIdle, acquireTimeoutMillis, idleTimeoutMillis,
+				validationIntervalMillis, validationTimeoutSeconds, 0);
+	}
+
+	public ConnectionPool(String url, String username, String password, int maxSize, int minIdle,
+	                      long acquireTimeoutMillis, long idleTimeoutMillis,
+	                      long validationIntervalMillis, int validationTimeoutSeconds, int statementCacheSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Pool size must be positive.");
+		}
+		this.url = url;
+		this.username = username;
+		this.password = password;
+		this.maxSize = maxSize;
+		this.minIdle = Math.min(Math.max(minIdle, 0), maxSize);
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.validationIntervalMillis = validationIntervalMillis;
+		this.validationTimeoutSeconds = validationTimeoutSeconds;
+		this.statementCacheSize = Math.max(statementCacheSize, 0);
+		this.permits = new Semaphore(maxSize, true);
+
+		this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "db-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (idleTimeoutMillis > 0) {
+			long period = Math.max(idleTimeoutMillis / 2, 1000);
+			evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	// ✅ Build a pool from database.properties
+	public static ConnectionPool fromConfig() {
+		return new ConnectionPool(
+				DbConfig.getUrl(),
+				DbConfig.getUsername(),
+				DbConfig.getPassword(),
+				DbConfig.getPoolMaxSize(),
+				DbConfig.getPoolMinIdle(),
+				DbConfig.getPoolAcquireTimeoutMillis(),
+				DbConfig.getPoolIdleTimeoutMillis(),
+				DbConfig.getPoolValidationIntervalMillis(),
+				DbConfig.getPoolValidationTimeoutSeconds(),
+				DbConfig.getPoolStatementCacheSize()
+		);
+	}
+
+	public Connection getConnection() throws SQLException {
+		if (closed) {
+			throw new SQLException("Connection pool is closed");
+		}
+
+		// ✅ Re-entrant checkout: same thread, same physical connection
+		PooledConnection held = checkedOut.get();
+		if (held != null) {
+			held.holds++;
+			return held.newHandle();
+		}
+
+		long start = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a database connection", e);
+		}
+		long waited = System.nanoTime() - start;
+		if (!acquired) {
+			acquireTimeouts.increment();
+			throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis
+					+ " ms waiting for a database connection (active=" + activeConnections.get() + ")");
+		}
+		recordWait(waited);
+
+		PooledConnection pooled;
+		try {
+			pooled = takeIdleOrCreate();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		pooled.holds = 1;
+		checkedOut.set(pooled);
+		activeConnections.incrementAndGet();
+		return pooled.newHandle();
+	}
+
+	private PooledConnection takeIdleOrCreate() throws SQLException {
+		PooledConnection pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			if (isUsable(pooled)) {
+				return pooled;
+			}
+			discard(pooled);
+		}
+		Connection physical = DriverManager.getConnection(url, username, password);
+		totalConnections.incrementAndGet();
+		return new PooledConnection(physical);
+	}
+
+	private boolean isUsable(PooledConnection pooled) {
+		try {
+			if (pooled.physical.isClosed()) {
+				return false;
+			}
+			if (System.currentTimeMillis() - pooled.lastUsed < validationIntervalMillis) {
+				return true;
+			}
+			return pooled.physical.isValid(validationTimeoutSeconds);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void release(PooledConnection pooled) {
+		if (--pooled.holds > 0) {
+			return;
+		}
+		if (checkedOut.get() == pooled) {
+			checkedOut.remove();
+		}
+		activeConnections.decrementAndGet();
+
+		boolean reusable = !closed;
+		try {
+			// ✅ Never hand the next borrower someone else's open transaction
+			if (!pooled.physical.getAutoCommit()) {
+				pooled.physical.rollback();
+				pooled.physical.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			reusable = false;
+		}
+
+		if (reusable) {
+			pooled.lastUsed = System.currentTimeMillis();
+			idle.offerFirst(pooled);
+		} else {
+			discard(pooled);
+		}
+		permits.release();
+	}
+
+	private void discard(PooledConnection pooled) {
+		totalConnections.decrementAndGet();
+		try {
+			pooled.physical.close();
+		} catch (SQLException e) {
+			System.err.println("❌ Error closing pooled connection: " + e.getMessage());
+		}
+	}
+
+	private void recordWait(long waitedNanos) {
+		acquireCount.increment();
+		totalWaitNanos.add(waitedNanos);
+		maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+	}
+
+	// Oldest idle connections sit at the tail of the deque
+	void evictIdle() {
+		long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+		Iterator<PooledConnection> it = idle.descendingIterator();
+		while (it.hasNext() && idle.size() > minIdle) {
+			PooledConnection pooled = it.next();
+			if (pooled.lastUsed < cutoff && idle.removeLastOccurrence(pooled)) {
+				discard(pooled);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		evictor.shutdownNow();
+		PooledConnection pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			discard(pooled);
+		}
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	// ✅ Pool metrics
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public int getActiveConnections() {
+		return activeConnections.get();
+	}
+
+	public int getIdleConnections() {
+		return idle.size();
+	}
+
+	public int getTotalConnections() {
+		return totalConnections.get();
+	}
+
+	public int getThreadsAwaitingConnection() {
+		return permits.getQueueLength();
+	}
+
+	public long getAcquireCount() {
+		return acquireCount.sum();
+	}
+
+	public long getAcquireTimeouts() {
+		return acquireTimeouts.sum();
+	}
+
+	public double getAverageWaitMillis() {
+		long count = acquireCount.sum();
+		return count == 0 ? 0.0 : totalWaitNanos.sum() / (count * 1_000_000.0);
+	}
+
+	public double getMaxWaitMillis() {
+		return maxWaitNanos.get() / 1_000_000.0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ConnectionPool[active=%d, idle=%d, total=%d/%d, waiting=%d, avgWait=%.3fms, maxWait=%.3fms, timeouts=%d]",
+				getActiveConnections(), getIdleConnections(), getTotalConnections(), maxSize,
+				getThreadsAwaitingConnection(), getAverageWaitMillis(), getMaxWaitMillis(), getAcquireTimeouts());
+	}
+
+	private final class PooledConnection {
+		private final Connection physical;
+		private final Map<String, CachedStatement> statements;
+		private volatile long lastUsed = System.currentTimeMillis();
+		private int holds;
+
+		private PooledConnection(Connection physical) {
+			this.physical = physical;
+			this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+					if (size() <= statementCacheSize) {
+						return false;
+					}
+					eldest.getValue().closeQuietly();
+					return true;
+				}
+			};
+		}
+
+		// Only the owning thread touches the cache, so no locking is needed
+		private PreparedStatement prepare(String sql) throws SQLException {
+			if (statementCacheSize == 0) {
+				return physical.prepareStatement(sql);
+			}
+			CachedStatement cached = statements.get(sql);
+			if (cached != null && cached.inUse) {
+				// Same SQL already open further up the call stack
+				return physical.prepareStatement(sql);
+			}
+			if (cached == null) {
+				cached = new CachedStatement(physical.prepareStatement(sql));
+				statements.put(sql, cached);
+			}
+			return cached.checkout();
+		}
+
+		private Connection newHandle() {
+			return (Connection) Proxy.newProxyInstance(
+					Connection.class.getClassLoader(),
+					new Class<?>[]{Connection.class},
+					new Handle(this));
+		}
+	}
+
+	// Hands out the physical connection; close() returns it to the pool instead of closing it
+	private final class Handle implements InvocationHandler {
+		private final PooledConnection pooled;
+		private boolean closed;
+
+		private Handle(PooledConnection pooled) {
+			this.pooled = pooled;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "close":
+					if (!closed) {
+						closed = true;
+						release(pooled);
+					}
+					return null;
+				case "isClosed":
+					return closed || pooled.physical.isClosed();
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "PooledConnection[" + pooled.physical + "]";
+				case "prepareStatement":
+					if (!closed && args.length == 1) {
+						return pooled.prepare((String) args[0]);
+					}
+					break;
+				default:
+					break;
+			}
+			if (closed) {
+				throw new SQLException("Connection handle is already closed");
+			}
+			try {
+				return method.invoke(pooled.physical, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	// A prepared statement kept open across checkouts; close() just makes it available again
+	private static final class CachedStatement implements InvocationHandler {
+		private final PreparedStatement statement;
+		private boolean inUse;
+		private ResultSet lastResult;
+
+		private CachedStatement(PreparedStatement statement) {
+			this.statement = statement;
+		}
+
+		private PreparedStatement checkout() {
+			inUse = true;
+			return (PreparedStatement) Proxy.newProxyInstance(
+					PreparedStatement.class.getClassLoader(),
+					new Class<?>[]{PreparedStatement.class},
+					this);
+		}
+
+		private void closeQuietly() {
+			try {
+				statement.close();
+			} catch (SQLException ignored) {
+				// the connection is going away or the statement is already closed
+			}
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "close":
+					if (inUse) {
+						inUse = false;
+						if (lastResult != null) {
+							lastResult.close();
+							lastResult = null;
+						}
+						statement.clearParameters();
+						statement.clearBatch();
+					}
+					return null;
+				case "isClosed":
+					return !inUse || statement.isClosed();
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					break;
+			}
+			if (!inUse) {
+				throw new SQLException("Statement is already closed");
+			}
+			try {
+				Object result = method.invoke(statement, args);
+				if (result instanceof ResultSet) {
+					lastResult = (ResultSet) result;
+				}
+				return result;
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
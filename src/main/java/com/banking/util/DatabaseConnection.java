@@ -5,29 +5,51 @@ import org.h2.tools.Server;
 import java.sql.*;
 
 public class DatabaseConnection {
-	private static Connection connection;
+	private static volatile ConnectionPool pool;
+	private static boolean consoleStarted;
 
+	// ✅ Borrow a pooled connection; closing it returns it to the pool
 	public static Connection connect() throws SQLException {
-		if (connection == null || connection.isClosed()) {
-			startH2Console();
-			connection = DriverManager.getConnection(
-					DbConfig.getUrl(),
-					DbConfig.getUsername(),
-					DbConfig.getPassword()
-			);
-			System.out.println("check!");
+		return getPool().getConnection();
+	}
+
+	public static ConnectionPool getPool() {
+		ConnectionPool current = pool;
+		if (current == null || current.isClosed()) {
+			synchronized (DatabaseConnection.class) {
+				current = pool;
+				if (current == null || current.isClosed()) {
+					if (DbConfig.isConsoleEnabled() && !consoleStarted) {
+						startH2Console();
+						consoleStarted = true;
+					}
+					current = ConnectionPool.fromConfig();
+					if (DbConfig.isMigrationEnabled()) {
+						migrate(current);
+					}
+					pool = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	// ✅ Bring the schema up to date before the pool is handed out
+	private static void migrate(ConnectionPool newPool) {
+		try (Connection conn = newPool.getConnection()) {
+			new SchemaMigrator().migrate(conn);
+		} catch (SQLException e) {
+			newPool.close();
+			throw new RuntimeException("❌ Error migrating database schema: " + e.getMessage(), e);
 		}
-		return connection;
 	}
 
 	public static void closeDatabase() {
-		if (connection != null) {
-			try {
-				connection.close();
-				System.out.println("✅ Database connection closed.");
-			} catch (SQLException e) {
-				System.err.println("❌ Error closing database connection: " + e.getMessage());
-			}
+		TransactionLogger.shutdown(); // flush queued ledger rows while connections are still available
+		ConnectionPool current = pool;
+		if (current != null) {
+			current.close();
+			System.out.println("✅ Database connection pool closed.");
 		}
 	}
 
@@ -18,19 +18,267 @@ public class DbConfig {
 		}
 	}
 
+	// System properties (-Ddb.url=...) win over database.properties
+	private static String get(String key, String defaultValue) {
+		return System.getProperty(key, properties.getProperty(key, defaultValue));
+	}
+
+	private static int getInt(String key, int defaultValue) {
+		return Integer.parseInt(get(key, String.valueOf(defaultValue)).trim());
+	}
+
+	private static long getLong(String key, long defaultValue) {
+		return Long.parseLong(get(key, String.valueOf(defaultValue)).trim());
+	}
+
+	private static boolean getBoolean(String key, boolean defaultValue) {
+		return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)).trim());
+	}
+
 	public static String getUrl() {
-		return properties.getProperty("db.url", "jdbc:h2:~/bankingdb;MODE=MySQL;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1");
+		return get("db.url", "jdbc:h2:~/bankingdb;MODE=MySQL;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1");
 	}
 
 	public static String getUsername() {
-		return properties.getProperty("db.username", "sa"); // Default H2 username
+		return get("db.username", "sa"); // Default H2 username
 	}
 
 	public static String getPassword() {
-		return properties.getProperty("db.password", ""); // Default H2 password
+		return get("db.password", ""); // Default H2 password
 	}
 
 	public static String getSettings() {
-		return properties.getProperty("db.settings", ""); // Default to empty settings if not found
+		return get("db.settings", ""); // Default to empty settings if not found
+	}
+
+	public static boolean isConsoleEnabled() {
+		return getBoolean("db.console.enabled", true);
+	}
+
+	// ✅ Connection pool settings
+	public static int getPoolMaxSize() {
+		return getInt("db.pool.maxSize", 10);
+	}
+
+	public static int getPoolMinIdle() {
+		return getInt("db.pool.minIdle", 2);
+	}
+
+	public static long getPoolAcquireTimeoutMillis() {
+		return getLong("db.pool.acquireTimeoutMillis", 5000);
+	}
+
+	public static long getPoolIdleTimeoutMillis() {
+		return getLong("db.pool.idleTimeoutMillis", 300000);
+	}
+
+	public static long getPoolValidationIntervalMillis() {
+		return getLong("db.pool.validationIntervalMillis", 30000);
+	}
+
+	public static int getPoolValidationTimeoutSeconds() {
+		return getInt("db.pool.validationTimeoutSeconds", 2);
+	}
+
+	public static int getPoolStatementCacheSize() {
+		return getInt("db.pool.statementCacheSize", 64);
+	}
+
+	// ✅ Apply db/migration scripts when the pool starts
+	public static boolean isMigrationEnabled() {
+		return getBoolean("db.migrate.enabled", true);
+	}
+
+	// ✅ Rows the driver fetches per round trip on full-table scans
+	public static int getQueryFetchSize() {
+		return getInt("db.query.fetchSize", 500);
+	}
+
+	// ✅ Rows per page on admin listings
+	public static int getPageSize() {
+		return getInt("db.query.pageSize", 20);
+	}
+
+	// ✅ Balance snapshots (SnapshotScheduler)
+	public static String getSnapshotDirectory() {
+		return get("snapshot.dir", "data/snapshots");
+	}
+
+	public static long getSnapshotIntervalMillis() {
+		return getLong("snapshot.intervalMillis", 300000);
+	}
+
+	public static long getSnapshotEveryPostings() {
+		return getLong("snapshot.everyPostings", 100000);
+	}
+
+	public static boolean isSnapshotCompressed() {
+		return getBoolean("snapshot.compress", true);
+	}
+
+	public static int getSnapshotRetain() {
+		return getInt("snapshot.retain", 3);
+	}
+
+	// ✅ Postings per commit for AccountDAO.applyBatch
+	public static int getBatchCommitSize() {
+		return getInt("batch.commitSize", 1000);
+	}
+
+	// ✅ Ledger writer settings
+	public static boolean isLedgerAsync() {
+		return getBoolean("ledger.async", false);
+	}
+
+	public static int getLedgerQueueCapacity() {
+		return getInt("ledger.queueCapacity", 10000);
+	}
+
+	public static int getLedgerBatchSize() {
+		return getInt("ledger.batchSize", 500);
+	}
+
+	public static long getLedgerFlushIntervalMillis() {
+		return getLong("ledger.flushIntervalMillis", 20);
+	}
+
+	public static long getLedgerWriteTimeoutMillis() {
+		return getLong("ledger.writeTimeoutMillis", 30000);
+	}
+
+	public static long getLedgerCloseTimeoutMillis() {
+		return getLong("ledger.closeTimeoutMillis", 10000);
+	}
+
+	// ✅ Ledger journal settings
+	public static boolean isJournalEnabled() {
+		return getBoolean("ledger.journal.enabled", false);
+	}
+
+	public static String getJournalDirectory() {
+		return get("ledger.journal.dir", "data/journal");
+	}
+
+	public static long getJournalSegmentBytes() {
+		return getLong("ledger.journal.segmentBytes", 64L * 1024 * 1024);
+	}
+
+	public static String getJournalFsyncPolicy() {
+		return get("ledger.journal.fsync", "interval");
+	}
+
+	public static long getJournalFsyncIntervalMillis() {
+		return getLong("ledger.journal.fsyncIntervalMillis", 10);
+	}
+
+	public static int getJournalRelayBatchSize() {
+		return getInt("ledger.journal.relayBatchSize", 500);
+	}
+
+	public static long getJournalRelayPollMillis() {
+		return getLong("ledger.journal.relayPollMillis", 10);
+	}
+
+	// ✅ Account cache (CachingAccountDAO)
+	public static int getAccountCacheMaxSize() {
+		return getInt("cache.accounts.maxSize", 10000);
+	}
+
+	public static long getAccountCacheTtlMillis() {
+		return getLong("cache.accounts.ttlMillis", 30000);
+	}
+
+	// ✅ HTTP front-end (BankingHttpServer)
+	public static String getServerHost() {
+		return get("server.host", "127.0.0.1").trim(); // 0.0.0.0 = every interface
+	}
+
+	public static int getServerPort() {
+		return getInt("server.port", 8080);
+	}
+
+	public static int getServerBacklog() {
+		return getInt("server.backlog", 0); // 0 = system default
+	}
+
+	public static int getServerMaxConcurrentRequests() {
+		return getInt("server.maxConcurrentRequests", 256);
+	}
+
+	public static long getServerAcquireTimeoutMillis() {
+		return getLong("server.acquireTimeoutMillis", 1000);
+	}
+
+	// ✅ Load test (LoadGenerator)
+	public static int getLoadTestUsers() {
+		return getInt("loadtest.users", 1000);
+	}
+
+	public static int getLoadTestThreads() {
+		return getInt("loadtest.threads", 8);
+	}
+
+	public static double getLoadTestTargetRate() {
+		return Double.parseDouble(get("loadtest.targetRate", "0").trim()); // ops/s, 0 = as fast as possible
+	}
+
+	public static long getLoadTestDurationMillis() {
+		return getLong("loadtest.durationMillis", 60000);
+	}
+
+	public static int getLoadTestDepositWeight() {
+		return getInt("loadtest.weight.deposit", 30);
+	}
+
+	public static int getLoadTestWithdrawWeight() {
+		return getInt("loadtest.weight.withdraw", 20);
+	}
+
+	public static int getLoadTestTransferWeight() {
+		return getInt("loadtest.weight.transfer", 50);
+	}
+
+	public static boolean isLoadTestCleanup() {
+		return getBoolean("loadtest.cleanup", true);
+	}
+
+	// ✅ Authentication (PasswordHasher, AuthService)
+	public static int getPasswordHashIterations() {
+		return getInt("auth.pbkdf2.iterations", 310000);
+	}
+
+	public static int getSessionCacheMaxSize() {
+		return getInt("auth.session.maxSize", 100000);
+	}
+
+	public static long getSessionTtlMillis() {
+		return getLong("auth.session.ttlMillis", 900000);
+	}
+
+	// ✅ Retries after lost optimistic updates and lock conflicts (RetryPolicy)
+	public static int getRetryMaxAttempts() {
+		return getInt("retry.maxAttempts", 10);
+	}
+
+	public static long getRetryBaseDelayMillis() {
+		return getLong("retry.baseDelayMillis", 2);
+	}
+
+	public static long getRetryMaxDelayMillis() {
+		return getLong("retry.maxDelayMillis", 200);
+	}
+
+	// ✅ Idempotency keys (IdempotencyStore)
+	public static int getIdempotencyCacheMaxSize() {
+		return getInt("idempotency.cache.maxSize", 100000);
+	}
+
+	public static long getIdempotencyCacheTtlMillis() {
+		return getLong("idempotency.cache.ttlMillis", 86400000);
+	}
+
+	// ✅ Hot accounts (HotAccountSlots, HotAccountRollup)
+	public static long getHotAccountRollupIntervalMillis() {
+		return getLong("hot.rollupIntervalMillis", 1000);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.banking.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sequential reader over a {@link LedgerJournal} directory.
+ * <p>
+ * A reader starts after a given sequence number and hands out records in order. {@link #poll} returns whatever is
+ * complete right now, so calling it in a loop tails a journal that is still being written; {@link #replay} reads
+ * to the current end once. Segments are mapped read-only and the reader never blocks the writer.
+ */
+public class JournalReader {
+	private final Path directory;
+
+	private MappedByteBuffer segment;
+	private long segmentFirstSequence;
+	private int segmentCapacity;
+	private long lastSequence;
+
+	public JournalReader(Path directory, long afterSequence) {
+		this.directory = directory;
+		this.lastSequence = afterSequence;
+	}
+
+	// Sequence of the last record handed out (or the starting point if none yet)
+	public long getLastSequence() {
+		return lastSequence;
+	}
+
+	// ✅ Hands up to max complete records to the action; returns how many
+	public int poll(int max, Consumer<? super JournalRecord> action) {
+		int count = 0;
+		while (count < max) {
+			long expected = lastSequence + 1;
+			if (!position(expected)) {
+				break;
+			}
+			int offset = (int) (expected - segmentFirstSequence) * LedgerJournal.RECORD_SIZE;
+			if (!LedgerJournal.isValid(segment, offset, expected)) {
+				break; // not written yet (or torn)
+			}
+			action.accept(LedgerJournal.decode(segment, offset));
+			lastSequence = expected;
+			count++;
+		}
+		return count;
+	}
+
+	// ✅ Reads everything currently in the journal; returns how many records were read
+	public long replay(Consumer<? super JournalRecord> action) {
+		long total = 0;
+		int read;
+		while ((read = poll(4096, action)) > 0) {
+			total += read;
+		}
+		return total;
+	}
+
+	// Maps the segment holding the given sequence; false if it does not exist yet
+	private boolean position(long sequence) {
+		if (segment != null && sequence >= segmentFirstSequence && sequence < segmentFirstSequence + segmentCapacity) {
+			return true;
+		}
+		try {
+			Path next = null;
+			if (segment != null && sequence == segmentFirstSequence + segmentCapacity) {
+				next = LedgerJournal.segmentPath(directory, sequence);
+				if (!Files.exists(next)) {
+					return false;
+				}
+			} else {
+				// First read or a jump: find the newest segment starting at or before the sequence
+				List<Path> segments = LedgerJournal.listSegments(directory);
+				for (Path candidate : segments) {
+					if (LedgerJournal.firstSequenceOf(candidate) <= sequence) {
+						next = candidate;
+					}
+				}
+				if (next == null) {
+					return false;
+				}
+			}
+			MappedByteBuffer mapped = LedgerJournal.map(next, FileChannel.MapMode.READ_ONLY);
+			long first = LedgerJournal.firstSequenceOf(next);
+			int capacity = mapped.capacity() / LedgerJournal.RECORD_SIZE;
+			if (sequence >= first + capacity) {
+				return false; // the segment after this one has not been created yet
+			}
+			segment = mapped;
+			segmentFirstSequence = first;
+			segmentCapacity = capacity;
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error reading ledger journal in " + directory, e);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+
+// A ledger entry together with its position in the journal
+public final class JournalRecord {
+	private final long sequence;
+	private final LedgerEntry entry;
+
+	public JournalRecord(long sequence, LedgerEntry entry) {
+		this.sequence = sequence;
+		this.entry = entry;
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public LedgerEntry getEntry() {
+		return entry;
+	}
+
+	@Override
+	public String toString() {
+		return "#" + sequence + " " + entry;
+	}
+}
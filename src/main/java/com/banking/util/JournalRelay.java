@@ -0,0 +1,175 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies a {@link LedgerJournal} into the transactions table on a background thread.
+ * <p>
+ * Each batch of rows is inserted in the same database transaction that advances this journal's offset in
+ * {@code journal_offset}, so after a crash the relay resumes exactly after the last committed record and no
+ * posting is written twice or lost. A batch that fails is retried as-is until it commits.
+ */
+public class JournalRelay implements AutoCloseable {
+	private static final String OFFSET_SQL = "SELECT last_sequence FROM journal_offset WHERE journal_name = ?";
+	private static final String INIT_OFFSET_SQL =
+			"INSERT INTO journal_offset (journal_name, last_sequence, updated_at) VALUES (?, 0, ?)";
+	private static final String ADVANCE_SQL =
+			"UPDATE journal_offset SET last_sequence = ?, updated_at = ? WHERE journal_name = ?";
+	private static final long MAX_BACKOFF_MILLIS = 5000;
+
+	private final String name;
+	private final JournalReader reader;
+	private final int batchSize;
+	private final long pollMillis;
+	private final Thread worker;
+	private final AtomicLong rowsRelayed = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	private final List<JournalRecord> pending = new ArrayList<>();
+	private volatile long relayedSequence;
+	private volatile boolean running = true;
+
+	public JournalRelay(String name, Path journalDirectory, int batchSize, long pollMillis) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive.");
+		}
+		this.name = name;
+		this.batchSize = batchSize;
+		this.pollMillis = pollMillis;
+		this.relayedSequence = loadOffset();
+		this.reader = new JournalReader(journalDirectory, relayedSequence);
+		this.worker = new Thread(this::run, "ledger-journal-relay");
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	public static JournalRelay fromConfig(LedgerJournal journal) {
+		return new JournalRelay("ledger", journal.getDirectory(),
+				DbConfig.getJournalRelayBatchSize(), DbConfig.getJournalRelayPollMillis());
+	}
+
+	// Sequence of the last record committed to the transactions table
+	public long getRelayedSequence() {
+		return relayedSequence;
+	}
+
+	public long getRowsRelayed() {
+		return rowsRelayed.get();
+	}
+
+	public long getFailures() {
+		return failures.get();
+	}
+
+	// ✅ Stops the thread, then copies whatever the journal still holds
+	@Override
+	public void close() {
+		running = false;
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			while (relayOnce()) {
+				// keep draining
+			}
+		} catch (SQLException e) {
+			System.err.println("❌ Ledger journal relay stopped at #" + relayedSequence + ": " + e.getMessage());
+		}
+	}
+
+	private void run() {
+		long backoff = pollMillis;
+		while (running) {
+			try {
+				if (!relayOnce()) {
+					Thread.sleep(pollMillis);
+				}
+				backoff = pollMillis;
+			} catch (SQLException e) {
+				failures.incrementAndGet();
+				System.err.println("❌ Ledger journal relay failed, retrying: " + e.getMessage());
+				backoff = Math.min(Math.max(backoff * 2, 1), MAX_BACKOFF_MILLIS);
+				sleepQuietly(backoff);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	// Commits one batch; false when there was nothing to relay
+	private boolean relayOnce() throws SQLException {
+		if (pending.isEmpty()) {
+			reader.poll(batchSize, pending::add);
+			if (pending.isEmpty()) {
+				return false;
+			}
+		}
+		List<LedgerEntry> entries = new ArrayList<>(pending.size());
+		for (JournalRecord record : pending) {
+			entries.add(record.getEntry());
+		}
+		long last = pending.get(pending.size() - 1).getSequence();
+
+		try (Connection conn = DatabaseConnection.connect()) {
+			conn.setAutoCommit(false);
+			try {
+				TransactionLogger.saveTransactions(conn, entries);
+				try (PreparedStatement stmt = conn.prepareStatement(ADVANCE_SQL)) {
+					stmt.setLong(1, last);
+					stmt.setObject(2, LocalDateTime.now());
+					stmt.setString(3, name);
+					stmt.executeUpdate();
+				}
+				conn.commit();
+			} catch (SQLException e) {
+				conn.rollback();
+				throw e;
+			}
+		}
+		relayedSequence = last;
+		rowsRelayed.addAndGet(entries.size());
+		pending.clear();
+		return true;
+	}
+
+	private long loadOffset() {
+		try (Connection conn = DatabaseConnection.connect()) {
+			try (PreparedStatement stmt = conn.prepareStatement(OFFSET_SQL)) {
+				stmt.setString(1, name);
+				try (ResultSet rs = stmt.executeQuery()) {
+					if (rs.next()) {
+						return rs.getLong(1);
+					}
+				}
+			}
+			try (PreparedStatement stmt = conn.prepareStatement(INIT_OFFSET_SQL)) {
+				stmt.setString(1, name);
+				stmt.setObject(2, LocalDateTime.now());
+				stmt.executeUpdate();
+			}
+			return 0;
+		} catch (SQLException e) {
+			throw new RuntimeException("❌ Error reading ledger journal offset: " + e.getMessage(), e);
+		}
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
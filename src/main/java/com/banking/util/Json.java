@@ -0,0 +1,198 @@
+package com.banking.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Just enough JSON for the HTTP front-end: flat request objects in, hand-built responses out.
+ * <p>
+ * {@link #parseObject} accepts one object whose values are strings, numbers, booleans or null. Numbers are kept
+ * as their literal text so amounts can go straight into {@code new BigDecimal(..)} without a double in between.
+ */
+public final class Json {
+	private Json() {
+	}
+
+	public static Map<String, String> parseObject(String text) {
+		Parser parser = new Parser(text);
+		Map<String, String> values = parser.object();
+		parser.skipWhitespace();
+		if (!parser.atEnd()) {
+			throw parser.error("Unexpected content after object");
+		}
+		return values;
+	}
+
+	// ✅ Quoted, escaped JSON string; null becomes the literal null
+	public static String quote(String value) {
+		if (value == null) {
+			return "null";
+		}
+		StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int) c));
+					} else {
+						out.append(c);
+					}
+			}
+		}
+		return out.append('"').toString();
+	}
+
+	private static final class Parser {
+		private final String text;
+		private int pos;
+
+		Parser(String text) {
+			this.text = text == null ? "" : text;
+		}
+
+		Map<String, String> object() {
+			skipWhitespace();
+			expect('{');
+			Map<String, String> values = new LinkedHashMap<>();
+			skipWhitespace();
+			if (peek() == '}') {
+				pos++;
+				return values;
+			}
+			while (true) {
+				skipWhitespace();
+				String key = string();
+				skipWhitespace();
+				expect(':');
+				skipWhitespace();
+				values.put(key, value());
+				skipWhitespace();
+				char c = next();
+				if (c == '}') {
+					return values;
+				}
+				if (c != ',') {
+					throw error("Expected ',' or '}'");
+				}
+			}
+		}
+
+		private String value() {
+			char c = peek();
+			if (c == '"') {
+				return string();
+			}
+			if (c == '{' || c == '[') {
+				throw error("Nested values are not supported");
+			}
+			int start = pos;
+			while (!atEnd() && ",} \t\r\n".indexOf(text.charAt(pos)) < 0) {
+				pos++;
+			}
+			String literal = text.substring(start, pos);
+			if (literal.equals("null")) {
+				return null;
+			}
+			if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+				return literal;
+			}
+			throw error("Invalid value '" + literal + "'");
+		}
+
+		private String string() {
+			expect('"');
+			StringBuilder out = new StringBuilder();
+			while (true) {
+				char c = next();
+				if (c == '"') {
+					return out.toString();
+				}
+				if (c != '\\') {
+					out.append(c);
+					continue;
+				}
+				char escaped = next();
+				switch (escaped) {
+					case 'n':
+						out.append('\n');
+						break;
+					case 'r':
+						out.append('\r');
+						break;
+					case 't':
+						out.append('\t');
+						break;
+					case 'b':
+						out.append('\b');
+						break;
+					case 'f':
+						out.append('\f');
+						break;
+					case 'u':
+						if (pos + 4 > text.length()) {
+							throw error("Truncated \\u escape");
+						}
+						try {
+							out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+						} catch (NumberFormatException e) {
+							throw error("Invalid \\u escape");
+						}
+						pos += 4;
+						break;
+					default:
+						out.append(escaped); // \" \\ \/
+				}
+			}
+		}
+
+		void skipWhitespace() {
+			while (!atEnd() && Character.isWhitespace(text.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		boolean atEnd() {
+			return pos >= text.length();
+		}
+
+		private char peek() {
+			if (atEnd()) {
+				throw error("Unexpected end of input");
+			}
+			return text.charAt(pos);
+		}
+
+		private char next() {
+			char c = peek();
+			pos++;
+			return c;
+		}
+
+		private void expect(char expected) {
+			if (next() != expected) {
+				pos--;
+				throw error("Expected '" + expected + "'");
+			}
+		}
+
+		IllegalArgumentException error(String message) {
+			return new IllegalArgumentException("Invalid JSON at position " + pos + ": " + message);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.banking.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory latency histogram in the style of HdrHistogram, safe to record into from many threads.
+ * <p>
+ * Values below 2048 get one bucket each; above that every power of two is split into 1024 linear sub-buckets, so
+ * any recorded value is reported within 0.1% of what was measured, from nanoseconds up to {@code Long.MAX_VALUE},
+ * in about 450 KB. Percentiles report the highest value of the bucket they fall in, never less than was measured.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 10;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;  // 1024 sub-buckets per power of two
+	private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;     // values below this are exact
+	private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalValue = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public void record(long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative latency: " + value);
+		}
+		counts.incrementAndGet(indexOf(value));
+		totalCount.increment();
+		totalValue.add(value);
+		max.accumulate(value);
+	}
+
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) totalValue.sum() / count;
+	}
+
+	// ✅ Smallest bucket value that at least percentile% of the recorded values are at or below
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+		}
+		long count = getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				return Math.min(highestValueAt(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	static int indexOf(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS; // >= 1
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;                // 0 .. SUB_BUCKETS - 1
+		return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long highestValueAt(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+		long lowest = (long) (SUB_BUCKETS + (index - LINEAR_LIMIT) % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,338 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+import com.banking.model.Money;
+import com.banking.model.TransactionType;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped ledger journal.
+ * <p>
+ * Postings are written as fixed-size binary records into segment files named after the sequence number of their
+ * first record ({@code ledger-00000000000000000001.journal}), so any sequence can be located without scanning.
+ * A segment is created at full size under a temporary name and renamed into place, and every record ends with a
+ * CRC32, so readers never see a half-created segment and stop at a torn record. On open, the writer keeps the
+ * valid prefix of the newest segment and clears everything after it.
+ * <p>
+ * When appended records reach the disk is set by {@link FsyncPolicy}. {@link JournalReader} replays or tails the
+ * journal and {@link JournalRelay} copies it into the transactions table.
+ * <p>
+ * Only two kinds of write reach a journal: balance changes of a {@link com.banking.BankingSystem} constructed with
+ * one (replayed on top of a snapshot by RecoveryService), and rows saved through
+ * {@link TransactionLogger#saveTransaction} with {@code ledger.journal.enabled=true}. The database posting paths
+ * (AccountDAOImpl deposit/withdraw/fastTransfer/applyBatch and MonthEndProcessor) insert their ledger rows in the
+ * same transaction as the balance update and never touch the journal.
+ */
+public class LedgerJournal implements AutoCloseable {
+	// Record layout (ByteBuffer's default big-endian order)
+	static final int RECORD_SIZE = 136;
+	static final int MAX_TEXT_BYTES = 50;
+	private static final int SEQUENCE = 0;      // long
+	private static final int EPOCH_SECOND = 8;  // long, timestamp as UTC-based local date-time
+	private static final int NANO = 16;         // int
+	private static final int TYPE = 20;         // byte, TransactionType ordinal (enum is append-only)
+	private static final int ACCOUNT_LENGTH = 21;
+	private static final int REFERENCE_LENGTH = 22; // -1 for no reference
+	private static final int AMOUNT_CENTS = 24; // long
+	private static final int ACCOUNT = 32;
+	private static final int REFERENCE = ACCOUNT + MAX_TEXT_BYTES;
+	private static final int CRC = RECORD_SIZE - 4;
+
+	private static final String PREFIX = "ledger-";
+	private static final String SUFFIX = ".journal";
+
+	public enum FsyncPolicy {
+		EVERY_WRITE, // force each record before append returns
+		INTERVAL,    // force in the background every fsyncIntervalMillis
+		NONE         // leave it to the OS; forced only on segment roll and close
+	}
+
+	private final Path directory;
+	private final int recordsPerSegment;
+	private final FsyncPolicy fsyncPolicy;
+	private final Thread syncer;
+
+	private MappedByteBuffer segment;
+	private int segmentCapacity;
+	private int nextIndex;
+	private long nextSequence;
+	private volatile boolean dirty;
+	private volatile boolean closed;
+
+	public LedgerJournal(Path directory, long segmentBytes, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+		if (segmentBytes < RECORD_SIZE) {
+			throw new IllegalArgumentException("Segment must hold at least one record.");
+		}
+		long records = segmentBytes / RECORD_SIZE;
+		this.recordsPerSegment = (int) Math.min(records, Integer.MAX_VALUE / RECORD_SIZE);
+		this.directory = directory;
+		this.fsyncPolicy = fsyncPolicy;
+		try {
+			Files.createDirectories(directory);
+			recover();
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error opening ledger journal in " + directory, e);
+		}
+
+		if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+			syncer = new Thread(() -> syncLoop(fsyncIntervalMillis), "ledger-journal-sync");
+			syncer.setDaemon(true);
+			syncer.start();
+		} else {
+			syncer = null;
+		}
+	}
+
+	public static LedgerJournal fromConfig() {
+		return new LedgerJournal(
+				Paths.get(DbConfig.getJournalDirectory()),
+				DbConfig.getJournalSegmentBytes(),
+				FsyncPolicy.valueOf(DbConfig.getJournalFsyncPolicy().toUpperCase()),
+				DbConfig.getJournalFsyncIntervalMillis());
+	}
+
+	// ✅ Appends one posting; returns its sequence number
+	public synchronized long append(LedgerEntry entry) {
+		if (closed) {
+			throw new IllegalStateException("Ledger journal is closed.");
+		}
+		if (nextIndex == segmentCapacity) {
+			roll();
+		}
+		long sequence = nextSequence;
+		encode(segment, nextIndex * RECORD_SIZE, sequence, entry);
+		nextIndex++;
+		nextSequence++;
+		if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+			segment.force();
+		} else {
+			dirty = true;
+		}
+		return sequence;
+	}
+
+	// ✅ Forces everything appended so far to disk
+	public void sync() {
+		MappedByteBuffer current;
+		synchronized (this) {
+			current = segment;
+			dirty = false;
+		}
+		if (current != null) {
+			current.force();
+		}
+	}
+
+	// Sequence of the last appended record, 0 if the journal is empty
+	public synchronized long getLastSequence() {
+		return nextSequence - 1;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	public int getRecordsPerSegment() {
+		return recordsPerSegment;
+	}
+
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		if (syncer != null) {
+			syncer.interrupt();
+			try {
+				syncer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		sync();
+	}
+
+	private void syncLoop(long intervalMillis) {
+		while (!closed) {
+			try {
+				Thread.sleep(intervalMillis);
+			} catch (InterruptedException e) {
+				return;
+			}
+			if (dirty) {
+				sync();
+			}
+		}
+	}
+
+	private void recover() throws IOException {
+		List<Path> segments = listSegments(directory);
+		if (segments.isEmpty()) {
+			openSegment(1);
+			return;
+		}
+		Path last = segments.get(segments.size() - 1);
+		long firstSequence = firstSequenceOf(last);
+		segment = map(last, FileChannel.MapMode.READ_WRITE);
+		segmentCapacity = segment.capacity() / RECORD_SIZE;
+
+		int valid = 0;
+		while (valid < segmentCapacity && isValid(segment, valid * RECORD_SIZE, firstSequence + valid)) {
+			valid++;
+		}
+		// Anything after the valid prefix is a torn write; clear it so it can never be read as a record
+		for (int offset = valid * RECORD_SIZE; offset < segmentCapacity * RECORD_SIZE; offset++) {
+			if (segment.get(offset) != 0) {
+				segment.put(offset, (byte) 0);
+			}
+		}
+		segment.force();
+		nextIndex = valid;
+		nextSequence = firstSequence + valid;
+	}
+
+	private void roll() {
+		if (segment != null) {
+			segment.force();
+		}
+		try {
+			openSegment(nextSequence);
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error creating ledger journal segment", e);
+		}
+	}
+
+	private void openSegment(long firstSequence) throws IOException {
+		Path target = segmentPath(directory, firstSequence);
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		try (RandomAccessFile file = new RandomAccessFile(temp.toFile(), "rw")) {
+			file.setLength((long) recordsPerSegment * RECORD_SIZE);
+		}
+		Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		segment = map(target, FileChannel.MapMode.READ_WRITE);
+		segmentCapacity = recordsPerSegment;
+		nextIndex = 0;
+		nextSequence = firstSequence;
+	}
+
+	// ✅ Shared with JournalReader
+
+	static MappedByteBuffer map(Path path, FileChannel.MapMode mode) throws IOException {
+		String access = mode == FileChannel.MapMode.READ_ONLY ? "r" : "rw";
+		try (RandomAccessFile file = new RandomAccessFile(path.toFile(), access)) {
+			return file.getChannel().map(mode, 0, file.length());
+		}
+	}
+
+	static List<Path> listSegments(Path directory) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return new ArrayList<>();
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(p -> {
+						String name = p.getFileName().toString();
+						return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+					})
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	static Path segmentPath(Path directory, long firstSequence) {
+		return directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+	}
+
+	static long firstSequenceOf(Path segmentFile) {
+		String name = segmentFile.getFileName().toString();
+		return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+	}
+
+	static boolean isValid(ByteBuffer buffer, int offset, long expectedSequence) {
+		return buffer.getLong(offset + SEQUENCE) == expectedSequence
+				&& buffer.getInt(offset + CRC) == crcOf(buffer, offset);
+	}
+
+	static JournalRecord decode(ByteBuffer buffer, int offset) {
+		long sequence = buffer.getLong(offset + SEQUENCE);
+		LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(offset + EPOCH_SECOND),
+				buffer.getInt(offset + NANO), ZoneOffset.UTC);
+		TransactionType type = TransactionType.values()[buffer.get(offset + TYPE)];
+		String account = readText(buffer, offset + ACCOUNT, buffer.get(offset + ACCOUNT_LENGTH));
+		String reference = readText(buffer, offset + REFERENCE, buffer.get(offset + REFERENCE_LENGTH));
+		long cents = buffer.getLong(offset + AMOUNT_CENTS);
+		return new JournalRecord(sequence, new LedgerEntry(account, type, Money.toBigDecimal(cents), reference, timestamp));
+	}
+
+	private static void encode(ByteBuffer buffer, int offset, long sequence, LedgerEntry entry) {
+		byte[] account = textBytes(entry.getAccountNumber());
+		byte[] reference = entry.getReferenceAccount() == null ? null : textBytes(entry.getReferenceAccount());
+		LocalDateTime timestamp = entry.getTimestamp();
+
+		buffer.putLong(offset + SEQUENCE, sequence);
+		buffer.putLong(offset + EPOCH_SECOND, timestamp.toEpochSecond(ZoneOffset.UTC));
+		buffer.putInt(offset + NANO, timestamp.getNano());
+		buffer.put(offset + TYPE, (byte) entry.getType().ordinal());
+		buffer.put(offset + ACCOUNT_LENGTH, (byte) account.length);
+		buffer.put(offset + REFERENCE_LENGTH, (byte) (reference == null ? -1 : reference.length));
+		buffer.put(offset + 23, (byte) 0);
+		buffer.putLong(offset + AMOUNT_CENTS, Money.toCents(entry.getAmount()));
+		writeText(buffer, offset + ACCOUNT, account);
+		writeText(buffer, offset + REFERENCE, reference);
+		// CRC goes last: a record is only readable once it is complete
+		buffer.putInt(offset + CRC, crcOf(buffer, offset));
+	}
+
+	private static int crcOf(ByteBuffer buffer, int offset) {
+		CRC32 crc = new CRC32();
+		ByteBuffer slice = buffer.duplicate();
+		slice.position(offset).limit(offset + CRC);
+		crc.update(slice);
+		return (int) crc.getValue();
+	}
+
+	private static byte[] textBytes(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_TEXT_BYTES) {
+			throw new IllegalArgumentException("Journal field longer than " + MAX_TEXT_BYTES + " bytes: " + value);
+		}
+		return bytes;
+	}
+
+	private static void writeText(ByteBuffer buffer, int offset, byte[] bytes) {
+		for (int i = 0; i < MAX_TEXT_BYTES; i++) {
+			buffer.put(offset + i, bytes != null && i < bytes.length ? bytes[i] : 0);
+		}
+	}
+
+	private static String readText(ByteBuffer buffer, int offset, int length) {
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,81 @@
+package com.banking.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by keys with the same hash stripe.
+ * <p>
+ * Two-key operations take both stripes in ascending stripe order, so any mix of concurrent
+ * {@link #lockPair} calls acquires locks in the same global order and cannot deadlock.
+ */
+public class LockStripes {
+	private final ReentrantLock[] locks;
+	private final int mask;
+
+	public LockStripes(int stripes) {
+		if (stripes <= 0) {
+			throw new IllegalArgumentException("Stripe count must be positive.");
+		}
+		int size = 1;
+		while (size < stripes) {
+			size <<= 1; // power of two so the stripe is a mask, not a modulo
+		}
+		this.locks = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+		this.mask = size - 1;
+	}
+
+	public int stripeOf(String key) {
+		int h = key.hashCode();
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	public void lock(String key) {
+		locks[stripeOf(key)].lock();
+	}
+
+	public void unlock(String key) {
+		locks[stripeOf(key)].unlock();
+	}
+
+	public void lockPair(String first, String second) {
+		int a = stripeOf(first);
+		int b = stripeOf(second);
+		if (a == b) {
+			locks[a].lock();
+			return;
+		}
+		locks[Math.min(a, b)].lock();
+		locks[Math.max(a, b)].lock();
+	}
+
+	public void unlockPair(String first, String second) {
+		int a = stripeOf(first);
+		int b = stripeOf(second);
+		if (a == b) {
+			locks[a].unlock();
+			return;
+		}
+		locks[Math.max(a, b)].unlock();
+		locks[Math.min(a, b)].unlock();
+	}
+
+	// Every stripe, in ascending order (the same global order as lockPair)
+	public void lockAll() {
+		for (ReentrantLock lock : locks) {
+			lock.lock();
+		}
+	}
+
+	public void unlockAll() {
+		for (int i = locks.length - 1; i >= 0; i--) {
+			locks[i].unlock();
+		}
+	}
+
+	public int size() {
+		return locks.length;
+	}
+}
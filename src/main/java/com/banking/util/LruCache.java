@@ -0,0 +1,175 @@
+package com.banking.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe LRU cache with a time-to-live.
+ * <p>
+ * Keys are spread over independently locked segments so concurrent readers rarely contend. Each segment
+ * keeps a write stamp that moves on every invalidation; a loader that reads {@link #writeStamp} before going
+ * to the database and fills with {@link #putIfUnchanged} cannot put back a value that a concurrent write has
+ * already invalidated.
+ */
+public class LruCache<K, V> {
+	private final List<Segment> segments;
+	private final int mask;
+	private final long ttlNanos;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	public LruCache(int maxSize, long ttlMillis) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive.");
+		}
+		int count = 1;
+		while (count < 16 && count * 2 <= maxSize) {
+			count <<= 1;
+		}
+		this.segments = new ArrayList<>(count);
+		int perSegment = (maxSize + count - 1) / count;
+		for (int i = 0; i < count; i++) {
+			segments.add(new Segment(perSegment));
+		}
+		this.mask = count - 1;
+		this.ttlNanos = ttlMillis <= 0 ? Long.MAX_VALUE : ttlMillis * 1_000_000L;
+	}
+
+	public V get(K key) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			CacheEntry<V> entry = segment.map.get(key);
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			if (System.nanoTime() - entry.createdAt > ttlNanos) {
+				segment.map.remove(key);
+				expirations.increment();
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value;
+		}
+	}
+
+	public void put(K key, V value) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.map.put(key, new CacheEntry<>(value));
+		}
+	}
+
+	public long writeStamp(K key) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.stamp;
+		}
+	}
+
+	// Fills the cache only if nothing in the key's segment was invalidated since writeStamp(key)
+	public boolean putIfUnchanged(K key, V value, long stamp) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			if (segment.stamp != stamp) {
+				return false;
+			}
+			segment.map.put(key, new CacheEntry<>(value));
+			return true;
+		}
+	}
+
+	public void invalidate(K key) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.stamp++;
+			segment.map.remove(key);
+		}
+	}
+
+	public void invalidateAll() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.stamp++;
+				segment.map.clear();
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.map.size();
+			}
+		}
+		return size;
+	}
+
+	// ✅ Cache statistics
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	public long getExpirations() {
+		return expirations.sum();
+	}
+
+	public double getHitRate() {
+		long total = getHits() + getMisses();
+		return total == 0 ? 0.0 : (double) getHits() / total;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LruCache[size=%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d]",
+				size(), getHits(), getMisses(), getHitRate() * 100, getEvictions(), getExpirations());
+	}
+
+	private Segment segmentFor(K key) {
+		int h = key.hashCode();
+		return segments.get((h ^ (h >>> 16)) & mask);
+	}
+
+	private static final class CacheEntry<V> {
+		private final V value;
+		private final long createdAt = System.nanoTime();
+
+		private CacheEntry(V value) {
+			this.value = value;
+		}
+	}
+
+	private final class Segment {
+		private final LinkedHashMap<K, CacheEntry<V>> map;
+		private long stamp;
+
+		private Segment(int capacity) {
+			this.map = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+					if (size() > capacity) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+	}
+}
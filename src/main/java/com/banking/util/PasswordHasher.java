@@ -0,0 +1,95 @@
+package com.banking.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 password hashes, stored as {@code pbkdf2_sha256$<iterations>$<salt>$<hash>}.
+ * <p>
+ * The iteration count is part of each stored hash, so it can be raised later ({@code auth.pbkdf2.iterations})
+ * without breaking existing logins; {@link #needsRehash} tells the caller when a stored hash should be replaced.
+ * Rows from before hashing hold the plain password; {@link #verify} still accepts those so they can be upgraded
+ * on the next successful login.
+ */
+public class PasswordHasher {
+	private static final String PREFIX = "pbkdf2_sha256$";
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final int SALT_BYTES = 16;
+	private static final int HASH_BITS = 256;
+
+	private final SecureRandom random = new SecureRandom();
+	private final int iterations;
+
+	public PasswordHasher(int iterations) {
+		if (iterations <= 0) {
+			throw new IllegalArgumentException("Iterations must be positive.");
+		}
+		this.iterations = iterations;
+	}
+
+	public static PasswordHasher fromConfig() {
+		return new PasswordHasher(DbConfig.getPasswordHashIterations());
+	}
+
+	public String hash(String password) {
+		byte[] salt = new byte[SALT_BYTES];
+		random.nextBytes(salt);
+		Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+		return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(derive(password, salt, iterations));
+	}
+
+	// ✅ Constant-time check of a password against a stored hash (or a legacy plain-text value)
+	public boolean verify(String password, String stored) {
+		if (password == null || stored == null) {
+			return false;
+		}
+		if (!isHash(stored)) {
+			return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+		}
+		String[] parts = stored.split("\\$");
+		if (parts.length != 4) {
+			return false;
+		}
+		try {
+			int storedIterations = Integer.parseInt(parts[1]);
+			byte[] salt = Base64.getDecoder().decode(parts[2]);
+			byte[] expected = Base64.getDecoder().decode(parts[3]);
+			return MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+		} catch (IllegalArgumentException e) {
+			return false; // malformed hash
+		}
+	}
+
+	// Plain-text legacy values and hashes made with a different cost should be replaced after a successful login
+	public boolean needsRehash(String stored) {
+		if (!isHash(stored)) {
+			return true;
+		}
+		String[] parts = stored.split("\\$");
+		return parts.length != 4 || !parts[1].equals(String.valueOf(iterations));
+	}
+
+	public static boolean isHash(String stored) {
+		return stored != null && stored.startsWith(PREFIX);
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	private static byte[] derive(String password, byte[] salt, int iterations) {
+		PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+}
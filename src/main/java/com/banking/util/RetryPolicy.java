@@ -0,0 +1,81 @@
+package com.banking.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries an action that lost a race, with capped exponential backoff and full jitter.
+ * <p>
+ * Before retry {@code n} (1-based) the caller sleeps a random time between 0 and
+ * {@code min(maxDelayMillis, baseDelayMillis * 2^(n-1))}, so writers that collided on the same row spread out
+ * instead of colliding again in lock step. Only failures the predicate accepts are retried; anything else, and
+ * the last failure once {@code maxAttempts} is used up, goes straight back to the caller.
+ */
+public class RetryPolicy {
+	private final int maxAttempts;
+	private final long baseDelayMillis;
+	private final long maxDelayMillis;
+
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder exhausted = new LongAdder();
+
+	public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+		if (maxAttempts <= 0 || baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+			throw new IllegalArgumentException("Invalid retry policy: " + maxAttempts + " attempts, "
+					+ baseDelayMillis + "-" + maxDelayMillis + " ms");
+		}
+		this.maxAttempts = maxAttempts;
+		this.baseDelayMillis = baseDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
+	}
+
+	public static RetryPolicy fromConfig() {
+		return new RetryPolicy(DbConfig.getRetryMaxAttempts(), DbConfig.getRetryBaseDelayMillis(), DbConfig.getRetryMaxDelayMillis());
+	}
+
+	public <T> T execute(Supplier<T> action, Predicate<? super RuntimeException> retryable) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return action.get();
+			} catch (RuntimeException e) {
+				if (!retryable.test(e)) {
+					throw e;
+				}
+				if (attempt >= maxAttempts) {
+					exhausted.increment();
+					throw e;
+				}
+				retries.increment();
+				try {
+					Thread.sleep(delayBefore(attempt));
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
+		}
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	// Retries made so far, over every action run through this policy
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	// Actions that were still failing when they ran out of attempts
+	public long getExhausted() {
+		return exhausted.sum();
+	}
+
+	// ✅ Random sleep after the given failed attempt
+	long delayBefore(int failedAttempts) {
+		long cap = baseDelayMillis << Math.min(failedAttempts - 1, 30);
+		cap = Math.min(maxDelayMillis, cap < 0 ? maxDelayMillis : cap);
+		return cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+	}
+}
@@ -0,0 +1,202 @@
+package com.banking.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned schema migrations, applied in order when the connection pool starts.
+ * <p>
+ * Scripts live on the classpath under {@code db/migration} and are named {@code V<version>__<description>.sql};
+ * add new ones to {@link #MIGRATIONS}. Every applied script is recorded in {@code schema_version} with a checksum,
+ * so a script is never run twice and an edited script that was already applied is reported instead of ignored.
+ */
+public class SchemaMigrator {
+	private static final String LOCATION = "db/migration/";
+	private static final String[] MIGRATIONS = {
+			"V1__baseline.sql",
+			"V2__account_and_history_indexes.sql",
+			"V3__month_end_progress.sql",
+			"V4__transaction_history_keyset_index.sql",
+			"V5__journal_offset.sql",
+			"V6__account_balance_index.sql",
+			"V7__account_version.sql",
+			"V8__idempotency_keys.sql",
+			"V9__hot_account_slots.sql",
+			"V10__month_end_accounts.sql",
+			"V11__transaction_date_not_null.sql"
+	};
+
+	private static final String CREATE_VERSION_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_version (" +
+			"version INT PRIMARY KEY, " +
+			"description VARCHAR(200) NOT NULL, " +
+			"checksum BIGINT NOT NULL, " +
+			"installed_on TIMESTAMP NOT NULL, " +
+			"execution_millis BIGINT NOT NULL)";
+	private static final String APPLIED_SQL = "SELECT version, checksum FROM schema_version";
+	private static final String RECORD_SQL =
+			"INSERT INTO schema_version (version, description, checksum, installed_on, execution_millis) VALUES (?, ?, ?, ?, ?)";
+
+	private final List<Migration> migrations;
+
+	public SchemaMigrator() {
+		this(MIGRATIONS);
+	}
+
+	SchemaMigrator(String... scripts) {
+		this.migrations = new ArrayList<>(scripts.length);
+		for (String script : scripts) {
+			migrations.add(Migration.load(script));
+		}
+		migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+	}
+
+	// ✅ Applies every pending migration; returns how many ran
+	public int migrate(Connection conn) throws SQLException {
+		boolean autoCommit = conn.getAutoCommit();
+		try {
+			conn.setAutoCommit(false);
+			try (Statement stmt = conn.createStatement()) {
+				stmt.execute(CREATE_VERSION_TABLE_SQL);
+			}
+			conn.commit();
+
+			Map<Integer, Long> applied = loadApplied(conn);
+			int count = 0;
+			for (Migration migration : migrations) {
+				Long checksum = applied.get(migration.version);
+				if (checksum != null) {
+					if (checksum != migration.checksum) {
+						throw new SQLException("❌ Migration V" + migration.version + " (" + migration.script +
+								") was changed after it was applied");
+					}
+					continue;
+				}
+				apply(conn, migration);
+				count++;
+			}
+			return count;
+		} finally {
+			conn.setAutoCommit(autoCommit);
+		}
+	}
+
+	// Highest applied version, 0 for an empty database
+	public int currentVersion(Connection conn) throws SQLException {
+		try (Statement stmt = conn.createStatement();
+		     ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+	public int latestVersion() {
+		return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+	}
+
+	private Map<Integer, Long> loadApplied(Connection conn) throws SQLException {
+		Map<Integer, Long> applied = new TreeMap<>();
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(APPLIED_SQL)) {
+			while (rs.next()) {
+				applied.put(rs.getInt("version"), rs.getLong("checksum"));
+			}
+		}
+		return applied;
+	}
+
+	private void apply(Connection conn, Migration migration) throws SQLException {
+		long start = System.nanoTime();
+		try {
+			try (Statement stmt = conn.createStatement()) {
+				for (String sql : migration.statements) {
+					stmt.execute(sql);
+				}
+			}
+			try (PreparedStatement stmt = conn.prepareStatement(RECORD_SQL)) {
+				stmt.setInt(1, migration.version);
+				stmt.setString(2, migration.description);
+				stmt.setLong(3, migration.checksum);
+				stmt.setObject(4, LocalDateTime.now());
+				stmt.setLong(5, (System.nanoTime() - start) / 1_000_000);
+				stmt.executeUpdate();
+			}
+			conn.commit();
+			System.out.println("✅ Applied schema migration V" + migration.version + ": " + migration.description);
+		} catch (SQLException e) {
+			conn.rollback();
+			throw new SQLException("❌ Migration V" + migration.version + " (" + migration.script + ") failed: " + e.getMessage(), e);
+		}
+	}
+
+	private static final class Migration {
+		private final String script;
+		private final int version;
+		private final String description;
+		private final long checksum;
+		private final List<String> statements;
+
+		private Migration(String script, int version, String description, long checksum, List<String> statements) {
+			this.script = script;
+			this.version = version;
+			this.description = description;
+			this.checksum = checksum;
+			this.statements = statements;
+		}
+
+		private static Migration load(String script) {
+			int separator = script.indexOf("__");
+			if (!script.startsWith("V") || separator < 0 || !script.endsWith(".sql")) {
+				throw new IllegalArgumentException("Migration name must look like V<version>__<description>.sql: " + script);
+			}
+			int version = Integer.parseInt(script.substring(1, separator));
+			String description = script.substring(separator + 2, script.length() - 4).replace('_', ' ');
+
+			String text;
+			try (InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(LOCATION + script)) {
+				if (in == null) {
+					throw new IllegalStateException("❌ Migration script not found on classpath: " + LOCATION + script);
+				}
+				text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new IllegalStateException("❌ Error reading migration " + script, e);
+			}
+
+			CRC32 crc = new CRC32();
+			crc.update(text.getBytes(StandardCharsets.UTF_8));
+			return new Migration(script, version, description, crc.getValue(), split(text));
+		}
+
+		// Statements end with ';' at the end of a line; '--' lines are comments
+		private static List<String> split(String text) {
+			List<String> statements = new ArrayList<>();
+			StringBuilder current = new StringBuilder();
+			for (String line : text.split("\\R")) {
+				String trimmed = line.trim();
+				if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+					continue;
+				}
+				current.append(line).append('\n');
+				if (trimmed.endsWith(";")) {
+					String sql = current.toString().trim();
+					statements.add(sql.substring(0, sql.length() - 1));
+					current.setLength(0);
+				}
+			}
+			if (current.toString().trim().length() > 0) {
+				statements.add(current.toString().trim());
+			}
+			return statements;
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package com.banking.util;
+
+import com.banking.model.AccountSnapshot;
+import com.banking.model.AccountType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary file holding one {@link AccountSnapshot}.
+ * <p>
+ * A 48-byte header is followed by one fixed 64-byte record per account, sorted by account number, optionally
+ * deflate-compressed. Uncompressed files are opened as a read-only memory mapping and read in place (no copy into
+ * the heap), so reports can binary-search a snapshot instead of querying the live accounts table. Files are
+ * written under a temporary name and renamed into place; the header carries a CRC32 of the records.
+ */
+public final class SnapshotFile {
+	private static final int MAGIC = 0x42534E50; // "BSNP"
+	private static final short VERSION = 1;
+	private static final short FLAG_COMPRESSED = 1;
+	private static final int HEADER_SIZE = 48;
+
+	// Header fields
+	private static final int H_MAGIC = 0;
+	private static final int H_VERSION = 4;
+	private static final int H_FLAGS = 6;
+	private static final int H_CREATED_AT = 8;
+	private static final int H_TRANSACTION_ID = 16;
+	private static final int H_JOURNAL_SEQUENCE = 24;
+	private static final int H_COUNT = 32;
+	private static final int H_CRC = 36;
+
+	// Record fields
+	static final int RECORD_SIZE = 64;
+	private static final int R_BALANCE = 0;
+	private static final int R_TYPE = 8;
+	private static final int R_LENGTH = 9;
+	private static final int R_ACCOUNT = 10;
+	private static final int MAX_ACCOUNT_BYTES = RECORD_SIZE - R_ACCOUNT;
+
+	private final ByteBuffer records;
+	private final int count;
+	private final boolean compressed;
+	private final long createdAtMillis;
+	private final long lastTransactionId;
+	private final long lastJournalSequence;
+
+	private SnapshotFile(ByteBuffer records, int count, boolean compressed, long createdAtMillis,
+	                     long lastTransactionId, long lastJournalSequence) {
+		this.records = records;
+		this.count = count;
+		this.compressed = compressed;
+		this.createdAtMillis = createdAtMillis;
+		this.lastTransactionId = lastTransactionId;
+		this.lastJournalSequence = lastJournalSequence;
+	}
+
+	// ✅ Writes the snapshot atomically: readers see the old file or the complete new one
+	public static void write(AccountSnapshot snapshot, Path path, boolean compress) {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		List<AccountSnapshot.Entry> entries = snapshot.getEntries();
+		CRC32 crc = new CRC32();
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.position(HEADER_SIZE);
+			OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+			if (compress) {
+				out = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED), 1 << 16);
+			}
+			ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+			for (AccountSnapshot.Entry entry : entries) {
+				encode(record, entry);
+				crc.update(record.array(), 0, RECORD_SIZE);
+				out.write(record.array(), 0, RECORD_SIZE);
+			}
+			out.flush();
+			if (out instanceof DeflaterOutputStream) {
+				((DeflaterOutputStream) out).finish();
+				out.flush();
+			}
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(H_MAGIC, MAGIC);
+			header.putShort(H_VERSION, VERSION);
+			header.putShort(H_FLAGS, compress ? FLAG_COMPRESSED : 0);
+			header.putLong(H_CREATED_AT, System.currentTimeMillis());
+			header.putLong(H_TRANSACTION_ID, snapshot.getLastTransactionId());
+			header.putLong(H_JOURNAL_SEQUENCE, snapshot.getLastJournalSequence());
+			header.putInt(H_COUNT, entries.size());
+			header.putInt(H_CRC, (int) crc.getValue());
+			channel.write(header, 0);
+			channel.force(true);
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error writing snapshot " + path, e);
+		}
+		try {
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error publishing snapshot " + path, e);
+		}
+	}
+
+	// ✅ Opens a snapshot; uncompressed files are mapped, not copied
+	public static SnapshotFile open(Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read the whole header
+			}
+			if (header.hasRemaining() || header.getInt(H_MAGIC) != MAGIC) {
+				throw new IllegalStateException("❌ Not a balance snapshot: " + path);
+			}
+			if (header.getShort(H_VERSION) != VERSION) {
+				throw new IllegalStateException("❌ Unsupported snapshot version " + header.getShort(H_VERSION) + ": " + path);
+			}
+			boolean compressed = (header.getShort(H_FLAGS) & FLAG_COMPRESSED) != 0;
+			int count = header.getInt(H_COUNT);
+			long bodySize = (long) count * RECORD_SIZE;
+
+			ByteBuffer records;
+			if (compressed) {
+				records = ByteBuffer.allocate(Math.toIntExact(bodySize));
+				channel.position(HEADER_SIZE);
+				try (InputStream in = new InflaterInputStream(Channels.newInputStream(channel), new Inflater(), 1 << 16)) {
+					int read;
+					while (records.hasRemaining() && (read = in.read(records.array(), records.position(), records.remaining())) > 0) {
+						records.position(records.position() + read);
+					}
+				}
+				records.flip();
+			} else {
+				records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bodySize);
+			}
+			if (records.remaining() != bodySize) {
+				throw new IllegalStateException("❌ Truncated snapshot: " + path);
+			}
+
+			CRC32 crc = new CRC32();
+			crc.update(records.duplicate());
+			if ((int) crc.getValue() != header.getInt(H_CRC)) {
+				throw new IllegalStateException("❌ Snapshot checksum mismatch: " + path);
+			}
+			return new SnapshotFile(records, count, compressed, header.getLong(H_CREATED_AT),
+					header.getLong(H_TRANSACTION_ID), header.getLong(H_JOURNAL_SEQUENCE));
+		} catch (IOException e) {
+			throw new UncheckedIOException("❌ Error reading snapshot " + path, e);
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public boolean isCompressed() {
+		return compressed;
+	}
+
+	public long getCreatedAtMillis() {
+		return createdAtMillis;
+	}
+
+	public long getLastTransactionId() {
+		return lastTransactionId;
+	}
+
+	public long getLastJournalSequence() {
+		return lastJournalSequence;
+	}
+
+	public String getAccountNumber(int index) {
+		int offset = offsetOf(index);
+		byte[] bytes = new byte[records.get(offset + R_LENGTH)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = records.get(offset + R_ACCOUNT + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public AccountType getAccountType(int index) {
+		return AccountType.values()[records.get(offsetOf(index) + R_TYPE)];
+	}
+
+	public long getBalanceCents(int index) {
+		return records.getLong(offsetOf(index) + R_BALANCE);
+	}
+
+	// Records are sorted by account number, so lookups are a binary search over the file
+	public OptionalLong findBalanceCents(String accountNumber) {
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = getAccountNumber(mid).compareTo(accountNumber);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return OptionalLong.of(getBalanceCents(mid));
+			}
+		}
+		return OptionalLong.empty();
+	}
+
+	public long getTotalCents() {
+		long total = 0;
+		for (int i = 0; i < count; i++) {
+			total = Math.addExact(total, getBalanceCents(i));
+		}
+		return total;
+	}
+
+	public AccountSnapshot toAccountSnapshot() {
+		List<AccountSnapshot.Entry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			entries.add(new AccountSnapshot.Entry(getAccountNumber(i), getAccountType(i), getBalanceCents(i)));
+		}
+		return new AccountSnapshot(entries, lastTransactionId, lastJournalSequence);
+	}
+
+	private int offsetOf(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Snapshot record " + index + " of " + count);
+		}
+		return index * RECORD_SIZE;
+	}
+
+	private static void encode(ByteBuffer record, AccountSnapshot.Entry entry) {
+		byte[] account = entry.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+		if (account.length > MAX_ACCOUNT_BYTES) {
+			throw new IllegalArgumentException("Account number longer than " + MAX_ACCOUNT_BYTES + " bytes: " + entry.getAccountNumber());
+		}
+		byte[] bytes = record.array();
+		Arrays.fill(bytes, (byte) 0);
+		record.putLong(R_BALANCE, entry.getBalanceCents());
+		record.put(R_TYPE, (byte) entry.getAccountType().ordinal());
+		record.put(R_LENGTH, (byte) account.length);
+		System.arraycopy(account, 0, bytes, R_ACCOUNT, account.length);
+	}
+}
@@ -0,0 +1,49 @@
+package com.banking.util;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+
+/**
+ * Sorts database failures into "lost a race, run it again" and everything else.
+ * <p>
+ * Covers H2 and MySQL: deadlocks (SQLState 40001, H2 40001, MySQL 1213), lock wait timeouts (H2 50200 / HYT00,
+ * MySQL 1205) and H2's concurrent update of the same row (90131). The callers roll the whole transaction back before
+ * retrying, so running it again from the start is safe.
+ */
+public final class SqlErrors {
+	private static final int H2_DEADLOCK = 40001;
+	private static final int H2_LOCK_TIMEOUT = 50200;
+	private static final int H2_CONCURRENT_UPDATE = 90131;
+	private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+	private static final int MYSQL_DEADLOCK = 1213;
+
+	private SqlErrors() {
+	}
+
+	// ✅ True if the failure, or anything that caused it, is a deadlock, a lock timeout or a concurrent update
+	public static boolean isLockConflict(Throwable failure) {
+		for (Throwable e = failure; e != null; e = e.getCause()) {
+			if (e instanceof SQLException) {
+				for (SQLException sql = (SQLException) e; sql != null; sql = sql.getNextException()) {
+					if (isLockConflict(sql)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isLockConflict(SQLException e) {
+		if (e instanceof SQLTransactionRollbackException) {
+			return true;
+		}
+		String state = e.getSQLState();
+		if ("40001".equals(state) || "HYT00".equals(state)) {
+			return true;
+		}
+		int code = e.getErrorCode();
+		return code == H2_DEADLOCK || code == H2_LOCK_TIMEOUT || code == H2_CONCURRENT_UPDATE
+				|| code == MYSQL_LOCK_WAIT_TIMEOUT || code == MYSQL_DEADLOCK;
+	}
+}
@@ -6,15 +6,57 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
+import java.util.List;
+import com.banking.model.LedgerEntry;
+import com.banking.model.TransactionType;
 
 public class TransactionLogger {
+	private static final String INSERT_SQL = "INSERT INTO transactions (account_number, transaction_type, amount, transaction_date, reference_account) VALUES (?, ?, ?, ?, ?)";
+
+	private static volatile AsyncLedgerWriter asyncWriter;
+	private static volatile LedgerJournal journal;
+	private static JournalRelay journalRelay;
+	private static boolean shutdownHookRegistered;
 
 	// ✅ Save transaction with type (Deposit, Withdrawal, Transfer)
+	// With ledger.async=true the row is queued and written by the background writer
 	public static void saveTransaction(String accountNumber, String transactionType, BigDecimal amount, String referenceAccount) {
-		String sql = "INSERT INTO transactions (account_number, transaction_type, amount, transaction_date, reference_account) VALUES (?, ?, ?, ?, ?)";
+		saveTransaction(accountNumber, transactionType, amount, referenceAccount, false);
+	}
+
+	// ✅ writeThrough=true returns only once the row is committed, even in async or journal mode
+	// With ledger.journal.enabled=true the row is appended to the journal and relayed to the table later.
+	// Only rows saved here use the writer or the journal; postings write their rows with saveTransactions(conn, ...)
+	public static void saveTransaction(String accountNumber, String transactionType, BigDecimal amount, String referenceAccount, boolean writeThrough) {
+		LedgerJournal ledgerJournal = writeThrough ? null : getJournal();
+		if (ledgerJournal != null) {
+			ledgerJournal.append(new LedgerEntry(accountNumber, TransactionType.fromColumn(transactionType),
+					amount, referenceAccount, LocalDateTime.now()));
+			return;
+		}
+
+		AsyncLedgerWriter writer = getAsyncWriter();
+		if (writer == null) {
+			insertTransaction(accountNumber, transactionType, amount, referenceAccount);
+			return;
+		}
+
+		LedgerEntry entry = new LedgerEntry(accountNumber, TransactionType.fromColumn(transactionType),
+				amount, referenceAccount, LocalDateTime.now());
+		if (!writeThrough) {
+			writer.enqueue(entry);
+			return;
+		}
+		try {
+			writer.writeThrough(entry);
+		} catch (SQLException e) {
+			System.err.println("❌ Could not save transaction: " + e.getMessage());
+		}
+	}
 
+	private static void insertTransaction(String accountNumber, String transactionType, BigDecimal amount, String referenceAccount) {
 		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
+		     PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
 
 			stmt.setString(1, accountNumber);
 			stmt.setString(2, transactionType);
@@ -30,6 +72,115 @@ public class TransactionLogger {
 		}
 	}
 
+	// The writer is started on first use and flushed by a shutdown hook; null when ledger.async is off
+	public static AsyncLedgerWriter getAsyncWriter() {
+		if (!DbConfig.isLedgerAsync()) {
+			return null;
+		}
+		AsyncLedgerWriter writer = asyncWriter;
+		if (writer == null) {
+			synchronized (TransactionLogger.class) {
+				writer = asyncWriter;
+				if (writer == null) {
+					writer = AsyncLedgerWriter.fromConfig();
+					registerShutdownHook();
+					asyncWriter = writer;
+				}
+			}
+		}
+		return writer;
+	}
+
+	// The journal and its relay are opened on first use; null when ledger.journal.enabled is off
+	public static LedgerJournal getJournal() {
+		if (!DbConfig.isJournalEnabled()) {
+			return null;
+		}
+		LedgerJournal current = journal;
+		if (current == null) {
+			synchronized (TransactionLogger.class) {
+				current = journal;
+				if (current == null) {
+					current = LedgerJournal.fromConfig();
+					journalRelay = JournalRelay.fromConfig(current);
+					registerShutdownHook();
+					journal = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	// Caller holds the TransactionLogger lock
+	private static void registerShutdownHook() {
+		if (!shutdownHookRegistered) {
+			Runtime.getRuntime().addShutdownHook(new Thread(TransactionLogger::shutdown, "ledger-writer-shutdown"));
+			shutdownHookRegistered = true;
+		}
+	}
+
+	// ✅ Flush queued rows, relay the journal to the table and stop the background threads
+	public static void shutdown() {
+		AsyncLedgerWriter writer;
+		LedgerJournal ledgerJournal;
+		JournalRelay relay;
+		synchronized (TransactionLogger.class) {
+			writer = asyncWriter;
+			asyncWriter = null;
+			ledgerJournal = journal;
+			relay = journalRelay;
+			journal = null;
+			journalRelay = null;
+		}
+		if (writer != null) {
+			writer.close();
+		}
+		if (ledgerJournal != null) {
+			ledgerJournal.close();
+			relay.close();
+		}
+	}
+
+	// ✅ Write both legs of a transfer in one statement, inside the caller's transaction
+	public static void saveTransferLegs(Connection conn, String fromAccount, String toAccount, BigDecimal amount) throws SQLException {
+		String sql = "INSERT INTO transactions (account_number, transaction_type, amount, transaction_date, reference_account) VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?)";
+		LocalDateTime now = LocalDateTime.now();
+
+		try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+			stmt.setString(1, fromAccount);
+			stmt.setString(2, TransactionType.TRANSFER_OUT.name());
+			stmt.setBigDecimal(3, amount);
+			stmt.setObject(4, now);
+			stmt.setString(5, toAccount);
+
+			stmt.setString(6, toAccount);
+			stmt.setString(7, TransactionType.TRANSFER_IN.name());
+			stmt.setBigDecimal(8, amount);
+			stmt.setObject(9, now);
+			stmt.setString(10, fromAccount);
+
+			stmt.executeUpdate();
+		}
+	}
+
+	// ✅ Batch-insert ledger rows inside the caller's transaction (the caller commits)
+	public static void saveTransactions(Connection conn, List<LedgerEntry> entries) throws SQLException {
+		if (entries.isEmpty()) {
+			return;
+		}
+		try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+			for (LedgerEntry entry : entries) {
+				stmt.setString(1, entry.getAccountNumber());
+				stmt.setString(2, entry.getType().name());
+				stmt.setBigDecimal(3, entry.getAmount());
+				stmt.setObject(4, entry.getTimestamp());
+				stmt.setString(5, entry.getReferenceAccount());
+				stmt.addBatch();
+			}
+			stmt.executeBatch();
+		}
+	}
+
 	// ✅ Show all transactions
 	public static void showAllTransactions() {
 		String sql = "SELECT account_number, transaction_type, amount, transaction_date, reference_account FROM transactions ORDER BY transaction_date DESC";
@@ -1,8 +1,10 @@
 package com.banking.view;
 
 import com.banking.model.Users;
+import com.banking.service.AuthService;
 import com.banking.service.UserDAOImpl;
 import com.banking.util.DatabaseConnection;
+import com.banking.util.DbConfig;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,11 +13,13 @@ import java.util.Scanner;
 public class Admin {
 	private final Scanner scanner;
 	private final UserDAOImpl userDAO;
+	private final AuthService authService;
 	private Users loggedInAdmin;
 
 	public Admin() {
 		this.scanner = new Scanner(System.in);
 		this.userDAO = new UserDAOImpl();
+		this.authService = AuthService.fromConfig();
 	}
 
 	public void showAdminMenu() {
@@ -56,8 +60,8 @@ public class Admin {
 		System.out.print("Enter admin password: ");
 		String password = scanner.next();
 
-		int adminId = userDAO.authenticateUser(username, password);
-		if (adminId > 0) {
+		Optional<AuthService.Session> session = authService.login(username, password);
+		if (session.isPresent() && session.get().isAdmin()) { // ✅ Only users with the admin role
 			Optional<Users> adminUser = userDAO.getUserByUsername(username);
 			adminUser.ifPresent(value -> this.loggedInAdmin = value);
 			System.out.println("✅ Admin login successful!");
@@ -66,15 +70,31 @@ public class Admin {
 		return false;
 	}
 
+	// Pages through users by username so the list never has to fit in memory
 	private void viewAllUsers() {
 		System.out.println("\n==== List of All Users ====");
-		List<Users> users = userDAO.getAllUsers();
-		if (users.isEmpty()) {
-			System.out.println("No users found.");
-			return;
-		}
-		for (Users user : users) {
-			System.out.println(user);
+		int pageSize = DbConfig.getPageSize();
+		String lastUsername = null;
+		int page = 1;
+		while (true) {
+			List<Users> users = userDAO.getUsersAfter(lastUsername, pageSize);
+			if (users.isEmpty()) {
+				System.out.println(page == 1 ? "No users found." : "No more users.");
+				return;
+			}
+			System.out.println("-- Page " + page + " --");
+			for (Users user : users) {
+				System.out.println(user);
+			}
+			if (users.size() < pageSize) {
+				return;
+			}
+			System.out.print("Show next page? (y/n): ");
+			if (!scanner.next().equalsIgnoreCase("y")) {
+				return;
+			}
+			lastUsername = users.get(users.size() - 1).getUsername();
+			page++;
 		}
 	}
 
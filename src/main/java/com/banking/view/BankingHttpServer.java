@@ -0,0 +1,420 @@
+package com.banking.view;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.BankingException;
+import com.banking.model.Account;
+import com.banking.model.PostingStatus;
+import com.banking.model.TransactionCursor;
+import com.banking.model.TransactionPage;
+import com.banking.model.TransactionRecord;
+import com.banking.service.AccountDAOImpl;
+import com.banking.service.AuthService;
+import com.banking.service.CachingAccountDAO;
+import com.banking.service.CustomerSession;
+import com.banking.service.TransactionDAO;
+import com.banking.service.TransactionDAOImpl;
+import com.banking.util.DbConfig;
+import com.banking.util.Json;
+import com.banking.util.LruCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP/JSON front-end for the account operations, on the JDK's built-in {@link HttpServer}.
+ * <p>
+ * Every request runs on its own virtual thread, so a request blocked on JDBC costs no platform thread. A semaphore
+ * caps how many requests are in flight at once; a request that cannot get a permit within the acquire timeout is
+ * answered with 503 instead of queueing without bound in front of the connection pool.
+ * <pre>
+ * GET  /accounts/{number}                                     balance
+ * GET  /accounts/{number}/transactions?limit=&amp;cursor=&amp;from=&amp;to=  history, newest first
+ * POST /accounts/{number}/deposit    {"amount": "25.00"}
+ * POST /accounts/{number}/withdraw   {"amount": "25.00"}
+ * POST /transfers                    {"from": "...", "to": "...", "amount": "25.00"}
+ * POST /login                        {"username": "...", "password": "..."}  -> {"token": "...", ...}
+ * POST /logout
+ * </pre>
+ * Every request but the login needs {@code Authorization: Bearer <token>} with the token it returned; the token
+ * is checked against the session cache only, and answered with 401 if it is missing or unknown. Customers can only
+ * read and post from their own accounts (403 otherwise), checked with the same {@link CustomerSession} the console
+ * dashboard uses; admins can use any account. The server binds to {@code server.host}, loopback by default.
+ * <p>
+ * Balances are read through a {@link CachingAccountDAO} ({@code cache.accounts.*}). Postings made by this server
+ * invalidate the accounts they touch; writes from another process show up once the cached entry expires.
+ * <p>
+ * The POSTs take an optional {@code Idempotency-Key} header: a retry with the same key gets the original
+ * response back and moves no money a second time.
+ */
+public class BankingHttpServer implements AutoCloseable {
+	private static final int MAX_BODY_BYTES = 64 * 1024;
+
+	private final AccountDAOImpl accountDAO;
+	// Balance reads and postings; the postings invalidate what they touch
+	private final CachingAccountDAO accounts;
+	private final TransactionDAO transactionDAO;
+	private final AuthService authService;
+	// Ownership per logged-in user, shared by all of that user's sessions
+	private final LruCache<Integer, CustomerSession> customers;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final long acquireTimeoutMillis;
+
+	public BankingHttpServer(AccountDAOImpl accountDAO, TransactionDAO transactionDAO, AuthService authService,
+	                         String host, int port, int maxConcurrentRequests, long acquireTimeoutMillis) throws IOException {
+		if (maxConcurrentRequests <= 0) {
+			throw new IllegalArgumentException("Concurrency limit must be positive.");
+		}
+		this.accountDAO = accountDAO;
+		this.accounts = new CachingAccountDAO(accountDAO);
+		this.transactionDAO = transactionDAO;
+		this.authService = authService;
+		this.customers = new LruCache<>(DbConfig.getSessionCacheMaxSize(), DbConfig.getSessionTtlMillis());
+		this.permits = new Semaphore(maxConcurrentRequests);
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory());
+		this.server = HttpServer.create(new InetSocketAddress(host, port), DbConfig.getServerBacklog());
+		server.createContext("/accounts/", limited(authenticated(this::handleAccount)));
+		server.createContext("/transfers", limited(authenticated(this::handleTransfer)));
+		server.createContext("/login", limited(this::handleLogin));
+		server.createContext("/logout", limited(authenticated(this::handleLogout)));
+		server.setExecutor(executor);
+	}
+
+	public static BankingHttpServer fromConfig() throws IOException {
+		return new BankingHttpServer(new AccountDAOImpl(), new TransactionDAOImpl(), AuthService.fromConfig(),
+				DbConfig.getServerHost(), DbConfig.getServerPort(),
+				DbConfig.getServerMaxConcurrentRequests(), DbConfig.getServerAcquireTimeoutMillis());
+	}
+
+	public void start() {
+		server.start();
+		System.out.println("✅ Banking HTTP server listening on " + server.getAddress().getHostString() + ":" + getPort());
+	}
+
+	// Actual port, useful when the server was created on port 0
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	// ✅ Stops accepting connections, gives running requests a second to finish, then shuts the executor down
+	@Override
+	public void close() {
+		server.stop(1);
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private HttpHandler limited(Handler handler) {
+		return exchange -> {
+			try (exchange) {
+				boolean acquired;
+				try {
+					acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				if (!acquired) {
+					send(exchange, 503, error("Server busy, try again later."));
+					return;
+				}
+				try {
+					handler.handle(exchange);
+				} catch (HttpError e) {
+					send(exchange, e.status, error(e.getMessage()));
+				} catch (AccountNotFoundException e) {
+					send(exchange, 404, error(e.getMessage()));
+				} catch (IllegalArgumentException | BankingException e) {
+					send(exchange, 400, error(e.getMessage()));
+				} catch (RuntimeException e) {
+					System.err.println("❌ HTTP " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed: " + e.getMessage());
+					send(exchange, 500, error("Internal error."));
+				} finally {
+					permits.release();
+				}
+			}
+		};
+	}
+
+	// The one request that hashes a password; the token it returns is checked in memory from then on
+	private void handleLogin(HttpExchange exchange) throws IOException {
+		if (!exchange.getRequestURI().getPath().equals("/login")) {
+			throw new HttpError(404, "Not found.");
+		}
+		requireMethod(exchange, "POST");
+		Map<String, String> body = readBody(exchange);
+		AuthService.Session session = authService.login(required(body, "username"), required(body, "password"))
+				.orElseThrow(() -> new HttpError(401, "Invalid username or password."));
+		send(exchange, 200, "{\"token\":" + Json.quote(session.getToken())
+				+ ",\"username\":" + Json.quote(session.getUsername())
+				+ ",\"role\":" + Json.quote(session.getRole()) + "}");
+	}
+
+	private void handleLogout(HttpExchange exchange, AuthService.Session session) throws IOException {
+		if (!exchange.getRequestURI().getPath().equals("/logout")) {
+			throw new HttpError(404, "Not found.");
+		}
+		requireMethod(exchange, "POST");
+		authService.logout(session.getToken());
+		send(exchange, 200, "{\"status\":\"LOGGED_OUT\"}");
+	}
+
+	// ✅ Resolves the bearer token from the session cache; no database access and no hashing per request
+	private Handler authenticated(SessionHandler handler) {
+		return exchange -> {
+			String header = exchange.getRequestHeaders().getFirst("Authorization");
+			String token = header != null && header.regionMatches(true, 0, "Bearer ", 0, 7) ? header.substring(7).trim() : null;
+			AuthService.Session session = authService.validate(token)
+					.orElseThrow(() -> {
+						exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+						return new HttpError(401, "Missing or invalid session token.");
+					});
+			handler.handle(exchange, session);
+		};
+	}
+
+	// Same check as the console dashboard: the account must belong to the logged-in user, unless it is an admin
+	private void requireOwner(AuthService.Session session, String accountNumber) {
+		if (session.isAdmin()) {
+			return;
+		}
+		CustomerSession customer = customers.get(session.getUserId());
+		if (customer == null) {
+			customer = new CustomerSession(session.getUserId(), accountDAO);
+			customers.put(session.getUserId(), customer);
+		}
+		if (!customer.owns(accountNumber)) {
+			throw new HttpError(403, "Account " + accountNumber + " does not belong to you.");
+		}
+	}
+
+	// /accounts/{number}[/deposit|/withdraw|/transactions]
+	private void handleAccount(HttpExchange exchange, AuthService.Session session) throws IOException {
+		String[] parts = exchange.getRequestURI().getPath().substring("/accounts/".length()).split("/");
+		String accountNumber = parts[0];
+		if (accountNumber.isEmpty() || parts.length > 2) {
+			throw new HttpError(404, "Not found.");
+		}
+		String action = parts.length == 2 ? parts[1] : "";
+		requireOwner(session, accountNumber);
+		switch (action) {
+			case "":
+				requireMethod(exchange, "GET");
+				Account account = accounts.getAccountByNumber(accountNumber).orElseThrow(() -> new AccountNotFoundException(accountNumber));
+				send(exchange, 200, "{\"accountNumber\":" + Json.quote(account.getAccountNumber())
+						+ ",\"accountType\":" + Json.quote(account.getAccountType().name())
+						+ ",\"balance\":" + Json.quote(account.getBalance().toPlainString()) + "}");
+				break;
+			case "deposit":
+				requireMethod(exchange, "POST");
+				sendStatus(exchange, accounts.deposit(accountNumber, amountOf(readBody(exchange)), idempotencyKeyOf(exchange)));
+				break;
+			case "withdraw":
+				requireMethod(exchange, "POST");
+				sendStatus(exchange, accounts.withdraw(accountNumber, amountOf(readBody(exchange)), idempotencyKeyOf(exchange)));
+				break;
+			case "transactions":
+				requireMethod(exchange, "GET");
+				sendHistory(exchange, accountNumber);
+				break;
+			default:
+				throw new HttpError(404, "Not found.");
+		}
+	}
+
+	private void handleTransfer(HttpExchange exchange, AuthService.Session session) throws IOException {
+		if (!exchange.getRequestURI().getPath().equals("/transfers")) {
+			throw new HttpError(404, "Not found.");
+		}
+		requireMethod(exchange, "POST");
+		Map<String, String> body = readBody(exchange);
+		String from = required(body, "from");
+		requireOwner(session, from);
+		sendStatus(exchange, accounts.fastTransfer(from, required(body, "to"), amountOf(body), idempotencyKeyOf(exchange)));
+	}
+
+	private static void sendStatus(HttpExchange exchange, PostingStatus status) throws IOException {
+		switch (status) {
+			case APPLIED:
+				send(exchange, 200, status(status));
+				break;
+			case INSUFFICIENT_FUNDS:
+				send(exchange, 409, status(status));
+				break;
+			default:
+				send(exchange, 404, status(status));
+		}
+	}
+
+	private void sendHistory(HttpExchange exchange, String accountNumber) throws IOException {
+		Map<String, String> query = queryOf(exchange);
+		int limit = query.containsKey("limit") ? parseInt(query.get("limit")) : DbConfig.getPageSize();
+		TransactionCursor cursor = query.containsKey("cursor") ? TransactionCursor.decode(query.get("cursor")) : null;
+		TransactionPage page = transactionDAO.getTransactions(accountNumber, dateOf(query, "from"), dateOf(query, "to"), cursor, limit);
+
+		StringBuilder json = new StringBuilder("{\"accountNumber\":").append(Json.quote(accountNumber)).append(",\"transactions\":[");
+		boolean first = true;
+		for (TransactionRecord record : page.getRecords()) {
+			json.append(first ? "" : ",")
+					.append("{\"id\":").append(record.getTransactionId())
+					.append(",\"type\":").append(Json.quote(record.getType().name()))
+					.append(",\"amount\":").append(Json.quote(record.getAmount().toPlainString()))
+					.append(",\"referenceAccount\":").append(Json.quote(record.getReferenceAccount()))
+					.append(",\"date\":").append(Json.quote(record.getTransactionDate().toString()))
+					.append('}');
+			first = false;
+		}
+		json.append("],\"nextCursor\":").append(Json.quote(page.hasMore() ? page.getNextCursor().encode() : null)).append('}');
+		send(exchange, 200, json.toString());
+	}
+
+	private static String idempotencyKeyOf(HttpExchange exchange) {
+		return exchange.getRequestHeaders().getFirst("Idempotency-Key");
+	}
+
+	private static void requireMethod(HttpExchange exchange, String method) {
+		if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+			exchange.getResponseHeaders().set("Allow", method);
+			throw new HttpError(405, "Method not allowed.");
+		}
+	}
+
+	private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				body.write(buffer, 0, read);
+				if (body.size() > MAX_BODY_BYTES) {
+					throw new HttpError(413, "Request body too large.");
+				}
+			}
+			return Json.parseObject(body.toString(StandardCharsets.UTF_8));
+		}
+	}
+
+	// Positive amount with at most two decimal places
+	private static BigDecimal amountOf(Map<String, String> body) {
+		BigDecimal amount;
+		try {
+			amount = new BigDecimal(required(body, "amount"));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Amount must be a number.");
+		}
+		if (amount.signum() <= 0) {
+			throw new IllegalArgumentException("Amount must be positive.");
+		}
+		if (amount.stripTrailingZeros().scale() > 2) {
+			throw new IllegalArgumentException("Amount cannot have more than two decimal places.");
+		}
+		return amount;
+	}
+
+	private static String required(Map<String, String> body, String field) {
+		String value = body.get(field);
+		if (value == null || value.isEmpty()) {
+			throw new IllegalArgumentException("Field '" + field + "' is required.");
+		}
+		return value;
+	}
+
+	private static Map<String, String> queryOf(HttpExchange exchange) {
+		Map<String, String> query = new HashMap<>();
+		String raw = exchange.getRequestURI().getRawQuery();
+		if (raw == null) {
+			return query;
+		}
+		for (String pair : raw.split("&")) {
+			int eq = pair.indexOf('=');
+			if (eq > 0) {
+				query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+						URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return query;
+	}
+
+	private static LocalDateTime dateOf(Map<String, String> query, String name) {
+		String value = query.get(name);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return LocalDateTime.parse(value);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("'" + name + "' must be an ISO date-time, e.g. 2024-01-31T00:00:00.");
+		}
+	}
+
+	private static int parseInt(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number: " + value);
+		}
+	}
+
+	private static String status(PostingStatus status) {
+		return "{\"status\":" + Json.quote(status.name()) + "}";
+	}
+
+	private static String error(String message) {
+		return "{\"error\":" + Json.quote(message) + "}";
+	}
+
+	private static void send(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		void handle(HttpExchange exchange) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface SessionHandler {
+		void handle(HttpExchange exchange, AuthService.Session session) throws IOException;
+	}
+
+	// Ends a request early with the given status
+	private static final class HttpError extends RuntimeException {
+		private final int status;
+
+		HttpError(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+}
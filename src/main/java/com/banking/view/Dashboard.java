@@ -2,22 +2,21 @@ package com.banking.view;
 
 import com.banking.model.AccountType;
 import com.banking.service.AccountDAOImpl;
-import com.banking.util.DatabaseConnection;
+import com.banking.service.AuthService;
+import com.banking.service.CustomerSession;
 
 import java.math.BigDecimal;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.Scanner;
 
 public class Dashboard {
 	private final Scanner scanner;
 	private final AccountDAOImpl accountDAO;
+	private final AuthService authService;
 
 	public Dashboard() {
 		this.scanner = new Scanner(System.in);
 		this.accountDAO = new AccountDAOImpl();
+		this.authService = AuthService.fromConfig();
 	}
 
 	public void showMenu() {
@@ -37,7 +36,7 @@ public class Dashboard {
 				case 2:
 					int userId = handleCustomerLogin(); // ✅ Get logged-in user ID
 					if (userId != -1) {
-						showCustomerMenu(userId); // ✅ Pass userId (fixes error)
+						showCustomerMenu(new CustomerSession(userId, accountDAO)); // ✅ Accounts loaded once per login
 					} else {
 						System.out.println("❌ Login failed. Returning to main menu...");
 					}
@@ -58,7 +57,7 @@ public class Dashboard {
 		System.out.print("Enter password: ");
 		String password = scanner.next();
 
-		int userId = accountDAO.authenticateUser(username, password); // ✅ Check credentials
+		int userId = authService.authenticateUser(username, password); // ✅ Check credentials
 
 		if (userId != -1) {
 			System.out.println("✅ Login successful! Welcome, " + username);
@@ -69,24 +68,8 @@ public class Dashboard {
 		}
 	}
 
-	public int authenticateUser(String username, String password) {
-		String sql = "SELECT user_id FROM users WHERE username = ? AND password = ?";
-		try (Connection conn = DatabaseConnection.connect();
-		     PreparedStatement stmt = conn.prepareStatement(sql)) {
-			stmt.setString(1, username);
-			stmt.setString(2, password);
-			ResultSet rs = stmt.executeQuery();
-			if (rs.next()) {
-				return rs.getInt("user_id"); // ✅ Return the user's ID
-			}
-		} catch (SQLException e) {
-			System.err.println("❌ Error during login: " + e.getMessage());
-		}
-		return -1; // ❌ Login failed
-	}
-
 
-	private void showCustomerMenu(int userId) { // ✅ Accepts userId
+	private void showCustomerMenu(CustomerSession session) {
 		while (true) {
 			System.out.println("\n==== Select Account Type ====");
 			System.out.println("1. Savings Account");
@@ -95,14 +78,14 @@ public class Dashboard {
 			System.out.print("Choose an option: ");
 
 			int choice = scanner.nextInt();
-			String accountType = "";
+			AccountType accountType;
 
 			switch (choice) {
 				case 1:
-					AccountType savings = AccountType.SAVINGS;
+					accountType = AccountType.SAVINGS;
 					break;
 				case 2:
-					AccountType checking = AccountType.CHECKING;
+					accountType = AccountType.CHECKING;
 					break;
 				case 3:
 					return; // ✅ Return to main menu
@@ -111,14 +94,14 @@ public class Dashboard {
 					continue;
 			}
 
-			handleTransactions(userId, accountType); // ✅ Pass userId and accountType
+			handleTransactions(session, accountType);
 		}
 	}
 
 
-	private void handleTransactions(int userId, String accountType) {
+	private void handleTransactions(CustomerSession session, AccountType accountType) {
 		while (true) {
-			System.out.println("\n==== " + accountType.toUpperCase() + " Account Options ====");
+			System.out.println("\n==== " + accountType + " Account Options ====");
 			System.out.println("1. Deposit");
 			System.out.println("2. Withdraw");
 			System.out.println("3. Transfer");
@@ -129,13 +112,13 @@ public class Dashboard {
 
 			switch (choice) {
 				case 1:
-					handleDeposit(userId, accountType);
+					handleDeposit(session, accountType);
 					break;
 				case 2:
-					handleWithdrawal(userId, accountType);
+					handleWithdrawal(session, accountType);
 					break;
 				case 3:
-					handleTransfer(userId, accountType);
+					handleTransfer(session, accountType);
 					break;
 				case 4:
 					return; // ✅ Go back to account type selection
@@ -146,13 +129,13 @@ public class Dashboard {
 	}
 
 
-	private void handleDeposit(int userId, String accountType) {
+	private void handleDeposit(CustomerSession session, AccountType accountType) {
 		try {
 			System.out.print("Enter your account number: ");
 			String accountNumber = scanner.next();
 
-			if (!accountDAO.isAccountOwnedByUser(accountNumber, userId, accountType)) {
-				System.out.println("❌ You do not own this " + accountType + " account!");
+			if (!session.owns(accountNumber, accountType)) {
+				System.out.println("❌ You do not own this " + accountType.name().toLowerCase() + " account!");
 				return;
 			}
 
@@ -171,13 +154,13 @@ public class Dashboard {
 		}
 	}
 
-	private void handleWithdrawal(int userId, String accountType) {
+	private void handleWithdrawal(CustomerSession session, AccountType accountType) {
 		try {
 			System.out.print("Enter your account number: ");
 			String accountNumber = scanner.next();
 
-			if (!accountDAO.isAccountOwnedByUser(accountNumber, userId, accountType)) {
-				System.out.println("❌ You do not own this " + accountType + " account!");
+			if (!session.owns(accountNumber, accountType)) {
+				System.out.println("❌ You do not own this " + accountType.name().toLowerCase() + " account!");
 				return;
 			}
 
@@ -196,13 +179,13 @@ public class Dashboard {
 		}
 	}
 
-	private void handleTransfer(int userId, String accountType) {
+	private void handleTransfer(CustomerSession session, AccountType accountType) {
 		try {
 			System.out.print("Enter your account number: ");
 			String fromAccount = scanner.next();
 
-			if (!accountDAO.isAccountOwnedByUser(fromAccount, userId, accountType)) {
-				System.out.println("❌ You do not own this " + accountType + " account!");
+			if (!session.owns(fromAccount, accountType)) {
+				System.out.println("❌ You do not own this " + accountType.name().toLowerCase() + " account!");
 				return;
 			}
 
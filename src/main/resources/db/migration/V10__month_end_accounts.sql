@@ -0,0 +1,7 @@
+-- Accounts finished by a month-end run (MonthEndProcessor); a rerun skips exactly these, so an account opened
+-- after a crash is still processed even if it sorts inside a completed chunk's range
+CREATE TABLE IF NOT EXISTS month_end_accounts (
+    run_id VARCHAR(50) NOT NULL,
+    account_number VARCHAR(50) NOT NULL,
+    PRIMARY KEY (run_id, account_number)
+);
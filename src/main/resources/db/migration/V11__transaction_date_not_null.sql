@@ -0,0 +1,4 @@
+-- History pages key on (transaction_date, transaction_id), and a NULL date can neither be compared against a cursor
+-- nor carried in one. Rows written without a date sort as the oldest history instead.
+UPDATE transactions SET transaction_date = TIMESTAMP '1970-01-01 00:00:00' WHERE transaction_date IS NULL;
+ALTER TABLE transactions MODIFY COLUMN transaction_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
@@ -0,0 +1,30 @@
+-- Tables as in bankingSystem.sql; IF NOT EXISTS leaves an existing database untouched
+CREATE TABLE IF NOT EXISTS users (
+    user_id INT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) UNIQUE,
+    user_role VARCHAR(20) DEFAULT 'customer'
+);
+
+CREATE TABLE IF NOT EXISTS accounts (
+    account_number VARCHAR(50) PRIMARY KEY,
+    balance DECIMAL(15, 2) NOT NULL,
+    account_type VARCHAR(20) NOT NULL,
+    user_id INT,
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    transaction_id INT AUTO_INCREMENT PRIMARY KEY,
+    account_number VARCHAR(50),
+    transaction_type VARCHAR(20),
+    amount DECIMAL(15, 2) NOT NULL,
+    transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    reference_account VARCHAR(50),
+    CONSTRAINT fk_transactions_account FOREIGN KEY (account_number) REFERENCES accounts (account_number) ON DELETE CASCADE
+);
+
+-- Databases created from the old dump have no reference_account column
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS reference_account VARCHAR(50);
@@ -0,0 +1,8 @@
+-- getUserAccounts / isAccountOwnedByUser: answered from the index without touching the table
+CREATE INDEX IF NOT EXISTS idx_accounts_user ON accounts (user_id, account_type, account_number);
+
+-- Per-account history in date order
+CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions (account_number, transaction_date);
+
+-- TransactionLogger.showAllTransactions (ORDER BY transaction_date DESC)
+CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions (transaction_date);
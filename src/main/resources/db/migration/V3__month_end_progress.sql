@@ -0,0 +1,9 @@
+-- Completed chunks of a month-end run (MonthEndProcessor)
+CREATE TABLE IF NOT EXISTS month_end_progress (
+    run_id VARCHAR(50) NOT NULL,
+    first_account VARCHAR(50) NOT NULL,
+    last_account VARCHAR(50) NOT NULL,
+    accounts INT NOT NULL,
+    completed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (run_id, first_account)
+);
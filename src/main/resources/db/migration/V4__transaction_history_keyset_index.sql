@@ -0,0 +1,5 @@
+-- Keyset pages on (transaction_date, transaction_id) per account are read straight off this index
+CREATE INDEX IF NOT EXISTS idx_transactions_account_date_id ON transactions (account_number, transaction_date, transaction_id);
+
+-- Superseded by the index above
+DROP INDEX IF EXISTS idx_transactions_account_date;
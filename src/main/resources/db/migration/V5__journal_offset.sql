@@ -0,0 +1,6 @@
+-- Last ledger journal record copied into transactions, advanced in the same commit as the rows (JournalRelay)
+CREATE TABLE IF NOT EXISTS journal_offset (
+    journal_name VARCHAR(100) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
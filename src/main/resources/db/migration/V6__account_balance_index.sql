@@ -0,0 +1,2 @@
+-- Top-N and balance range queries (AccountDAOImpl.topByBalance / bottomByBalance / balanceBetween) walk this index
+CREATE INDEX IF NOT EXISTS idx_accounts_balance ON accounts (balance, account_number);
@@ -0,0 +1,2 @@
+-- Row version for optimistic concurrency: every balance write bumps it, AccountDAO.updateBalance(.., expectedVersion, ..) checks it
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Client idempotency keys with the outcome of the request they first arrived with (IdempotencyStore)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request VARCHAR(200) NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- IdempotencyStore.purgeOlderThan
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created ON idempotency_keys (created_at);
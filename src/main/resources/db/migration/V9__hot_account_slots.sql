@@ -0,0 +1,7 @@
+-- Sub-balances of hot accounts (HotAccountSlots): the balance is accounts.balance plus the account's slots
+CREATE TABLE IF NOT EXISTS account_balance_slots (
+    account_number VARCHAR(50) NOT NULL,
+    slot INT NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (account_number, slot)
+);
@@ -0,0 +1,175 @@
+package com.banking;
+
+import com.banking.exception.InsufficientFundsException;
+import com.banking.model.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.*;
+
+public class BankingSystemTest {
+    private static final int ACCOUNTS = 8;
+    private BankingSystem bankingSystem;
+
+    @Before
+    public void setUp() {
+        bankingSystem = new BankingSystem(4);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            bankingSystem.addAccount(AccountFactory.createAccount(AccountType.CHECKING, "CHK" + i, new BigDecimal("1000.00")));
+        }
+    }
+
+    @Test
+    public void testConcurrentTransfersPreserveTotalBalance() throws Exception {
+        BigDecimal totalBefore = bankingSystem.getTotalBalance();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 5000; i++) {
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    try {
+                        bankingSystem.transfer("CHK" + from, "CHK" + to, new BigDecimal("7.25"));
+                    } catch (InsufficientFundsException ignored) {
+                        // expected once an account runs down to its overdraft limit
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(0, totalBefore.compareTo(bankingSystem.getTotalBalance()));
+        for (Account account : bankingSystem.getAccountsSortedByBalance()) {
+            assertTrue(account.getBalance().compareTo(new BigDecimal("-100.00")) >= 0);
+        }
+    }
+
+    @Test
+    public void testSnapshotsTakenDuringTransfersAreConsistent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    try {
+                        bankingSystem.transfer("CHK" + from, "CHK" + to, 313L);
+                    } catch (InsufficientFundsException ignored) {
+                        // expected once an account runs down to its overdraft limit
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                long total = 0;
+                for (AccountSnapshot.Entry entry : bankingSystem.snapshot().getEntries()) {
+                    total += entry.getBalanceCents();
+                }
+                assertEquals(ACCOUNTS * 100_000L, total);
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            pool.shutdown();
+        }
+        assertTrue(bankingSystem.getPostingCount() > 0);
+    }
+
+    @Test
+    public void testAggregatesAndBalanceIndexFollowEveryChange() {
+        bankingSystem.addAccount(AccountFactory.createAccount(AccountType.SAVINGS, "SAV1", new BigDecimal("500.00")));
+        bankingSystem.deposit("CHK1", 25_00L);
+        bankingSystem.withdraw("CHK2", 300_00L);
+        bankingSystem.transfer("CHK3", "SAV1", 150_00L);
+        bankingSystem.findAccount("CHK4").deposit(new BigDecimal("1.00")); // straight on the account
+        bankingSystem.processMonthlyFees();
+
+        long expected = 0;
+        for (Account account : bankingSystem.getAccountsSortedByNumber()) {
+            expected += account.getBalanceCents();
+        }
+        assertEquals(expected, bankingSystem.getTotalBalanceCents());
+        assertEquals(new BigDecimal("666.25"), bankingSystem.getTotalBalance(AccountType.SAVINGS));
+        assertEquals(8, bankingSystem.getNumberOfAccounts(AccountType.CHECKING));
+        assertEquals(1, bankingSystem.getNumberOfAccounts(AccountType.SAVINGS));
+
+        List<Account> sorted = bankingSystem.getAccountsSortedByBalance();
+        assertEquals(9, sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getBalanceCents() <= sorted.get(i).getBalanceCents());
+        }
+        assertEquals("SAV1", sorted.get(0).getAccountNumber());
+
+        List<Account> above = bankingSystem.getAccountsAboveBalance(new BigDecimal("988.00"));
+        assertEquals(List.of("CHK4", "CHK1"), List.of(above.get(0).getAccountNumber(), above.get(1).getAccountNumber()));
+        assertEquals(2, above.size());
+
+        // Replacing and clearing accounts takes their balances out of the aggregates
+        bankingSystem.addAccount(AccountFactory.createAccount(AccountType.SAVINGS, "SAV1", new BigDecimal("100.00")));
+        assertEquals(new BigDecimal("100.00"), bankingSystem.getTotalBalance(AccountType.SAVINGS));
+        bankingSystem.clearAccounts();
+        assertEquals(0, bankingSystem.getTotalBalanceCents());
+        assertEquals(0, bankingSystem.getNumberOfAccounts(AccountType.CHECKING));
+        assertTrue(bankingSystem.getAccountsSortedByBalance().isEmpty());
+    }
+
+    @Test
+    public void testPostingsAreNotBlockedBetweenCalculatingAndBookingAMonthlyAdjustment() throws Exception {
+        bankingSystem.withdraw("CHK0", new BigDecimal("1085.00")); // -85.00: the $12 fee just fits
+        MonthlyAdjustment adjustment = bankingSystem.calculateMonthlyAdjustment(bankingSystem.findAccount("CHK0"));
+        assertEquals(-1_200, adjustment.getAdjustmentCents());
+
+        // Stands in for the database commit: another thread's posting must not wait for it
+        Thread spender = new Thread(() -> bankingSystem.withdraw("CHK0", new BigDecimal("5.00")));
+        spender.start();
+        spender.join(1_000);
+        assertFalse("the withdrawal must not wait for month-end", spender.isAlive());
+
+        assertFalse(bankingSystem.bookMonthlyAdjustment(adjustment));
+        assertEquals(new BigDecimal("-102.00"), bankingSystem.findAccount("CHK0").getBalance());
+    }
+
+    @Test
+    public void testMonthlyFeeIsWaivedForAnOverdrawnCheckingAccount() {
+        bankingSystem.withdraw("CHK0", new BigDecimal("1095.00")); // -95.00: the fee would pass the limit
+        bankingSystem.processMonthlyFees();
+
+        assertEquals(new BigDecimal("-95.00"), bankingSystem.findAccount("CHK0").getBalance());
+        assertEquals(new BigDecimal("988.00"), bankingSystem.findAccount("CHK1").getBalance());
+    }
+
+    @Test(expected = InsufficientFundsException.class)
+    public void testFailedTransferLeavesBalancesUntouched() {
+        try {
+            bankingSystem.transfer("CHK0", "CHK1", new BigDecimal("5000.00"));
+        } finally {
+            assertEquals(new BigDecimal("1000.00"), bankingSystem.findAccount("CHK0").getBalance());
+            assertEquals(new BigDecimal("1000.00"), bankingSystem.findAccount("CHK1").getBalance());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransferToSameAccountIsRejected() {
+        bankingSystem.transfer("CHK0", "CHK0", new BigDecimal("1.00"));
+    }
+}
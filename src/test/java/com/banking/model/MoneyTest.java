@@ -0,0 +1,55 @@
+package com.banking.model;
+
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import static org.junit.Assert.*;
+
+public class MoneyTest {
+
+    @Test
+    public void testRoundTripKeepsScaleTwo() {
+        assertEquals(123456, Money.toCents(new BigDecimal("1234.56")));
+        assertEquals(new BigDecimal("1234.56"), Money.toBigDecimal(123456));
+        assertEquals(new BigDecimal("-0.05"), Money.toBigDecimal(-5));
+    }
+
+    @Test
+    public void testToCentsRoundsHalfEvenWhenAskedTo() {
+        assertEquals(2, Money.toCents(new BigDecimal("0.025"), RoundingMode.HALF_EVEN));
+        assertEquals(4, Money.toCents(new BigDecimal("0.035"), RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    public void testInputAmountsFinerThanACentAreRejected() {
+        assertEquals(1000, Money.toCents(new BigDecimal("10.000")));
+        for (String amount : new String[]{"10.005", "0.004"}) {
+            try {
+                Money.toCents(new BigDecimal(amount));
+                fail(amount + " must not be rounded to whole cents");
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage().contains(amount));
+            }
+        }
+    }
+
+    @Test
+    public void testApplyRateMatchesBigDecimal() {
+        long ppm = Money.ratePpm(new BigDecimal("0.025"));
+        assertEquals(25_000, ppm);
+        assertEquals(2_500, Money.applyRate(100_000, ppm));   // 1000.00 * 2.5% = 25.00
+        assertEquals(3, Money.applyRate(123, ppm));           // 1.23 * 2.5% = 0.03075 -> 0.03
+        // 10 trillion dollars would overflow a naive cents * ppm multiplication
+        assertEquals(25_000_000_000_000L, Money.applyRate(1_000_000_000_000_000L, ppm));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testAddOverflowIsDetected() {
+        Money.add(Long.MAX_VALUE, 1);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testAmountTooLargeForCentsIsRejected() {
+        Money.toCents(new BigDecimal("1e30"));
+    }
+}
@@ -0,0 +1,360 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.PostingBatchException;
+import com.banking.model.Account;
+import com.banking.model.Posting;
+import com.banking.model.PostingResult;
+import com.banking.model.PostingStatus;
+import com.banking.model.VersionedBalance;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.RetryPolicy;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+
+public class AccountDAOImplTest {
+    private AccountDAOImpl accountDAO;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase(";LOCK_TIMEOUT=100");
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        accountDAO = new AccountDAOImpl();
+        accountDAO.createAccount("SAV001", new BigDecimal("1000.00"), "savings");
+        accountDAO.createAccount("CHK001", new BigDecimal("500.00"), "checking");
+    }
+
+    @Test
+    public void testKeysetPagesCoverEveryAccountOnce() {
+        accountDAO.createAccount("CHK002", new BigDecimal("10.00"), "checking");
+        accountDAO.createAccount("SAV002", new BigDecimal("20.00"), "savings");
+
+        List<String> seen = new ArrayList<>();
+        String last = null;
+        List<Account> page;
+        while (!(page = accountDAO.getAccountsAfter(last, 3)).isEmpty()) {
+            for (Account account : page) {
+                seen.add(account.getAccountNumber());
+            }
+            last = page.get(page.size() - 1).getAccountNumber();
+        }
+        assertEquals(Arrays.asList("CHK001", "CHK002", "SAV001", "SAV002"), seen);
+    }
+
+    @Test
+    public void testBalanceQueriesMatchBankingSystem() {
+        accountDAO.createAccount("CHK002", new BigDecimal("500.00"), "checking");
+        accountDAO.createAccount("SAV002", new BigDecimal("250.50"), "savings");
+        accountDAO.createAccount("SAV003", new BigDecimal("1000.00"), "savings");
+        accountDAO.createAccount("CHK003", new BigDecimal("-20.00"), "checking");
+        BankingSystem bankingSystem = new BankingSystem();
+        accountDAO.forEachAccount(bankingSystem::addAccount);
+
+        assertEquals(Arrays.asList("SAV003", "SAV001", "CHK002"), numbers(accountDAO.topByBalance(3)));
+        assertEquals(numbers(accountDAO.topByBalance(3)), numbers(bankingSystem.topByBalance(3)));
+        assertEquals(Arrays.asList("CHK003", "SAV002", "CHK001"), numbers(accountDAO.bottomByBalance(3)));
+        assertEquals(numbers(accountDAO.bottomByBalance(3)), numbers(bankingSystem.bottomByBalance(3)));
+        assertEquals(numbers(accountDAO.topByBalance(100)), numbers(bankingSystem.topByBalance(100)));
+
+        BigDecimal low = new BigDecimal("250.501");
+        BigDecimal high = new BigDecimal("1000.00");
+        assertEquals(Arrays.asList("CHK001", "CHK002", "SAV001"), numbers(accountDAO.balanceBetween(low, high, 3)));
+        assertEquals(numbers(accountDAO.balanceBetween(low, high, 3)), numbers(bankingSystem.balanceBetween(low, high, 3)));
+        assertTrue(accountDAO.balanceBetween(high, low, 10).isEmpty());
+        assertTrue(bankingSystem.balanceBetween(high, low, 10).isEmpty());
+    }
+
+    private static List<String> numbers(List<Account> accounts) {
+        List<String> numbers = new ArrayList<>();
+        for (Account account : accounts) {
+            numbers.add(account.getAccountNumber());
+        }
+        return numbers;
+    }
+
+    @Test
+    public void testForEachAccountVisitsEveryRow() {
+        List<Account> visited = new ArrayList<>();
+        accountDAO.forEachAccount(visited::add);
+
+        assertEquals(2, visited.size());
+        assertEquals(2, accountDAO.getAllAccounts().size());
+    }
+
+    @Test
+    public void testFastTransferMovesMoneyAndWritesBothLedgerRows() throws SQLException {
+        assertEquals(PostingStatus.APPLIED, accountDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("200.00")));
+
+        assertEquals(new BigDecimal("800.00"), balanceOf("SAV001"));
+        assertEquals(new BigDecimal("700.00"), balanceOf("CHK001"));
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions WHERE account_number = 'SAV001' AND transaction_type = 'TRANSFER_OUT'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions WHERE account_number = 'CHK001' AND transaction_type = 'TRANSFER_IN'"));
+    }
+
+    @Test
+    public void testFastTransferReportsInsufficientFunds() throws SQLException {
+        assertEquals(PostingStatus.INSUFFICIENT_FUNDS, accountDAO.fastTransfer("CHK001", "SAV001", new BigDecimal("500.01")));
+
+        assertEquals(new BigDecimal("500.00"), balanceOf("CHK001"));
+        assertEquals(new BigDecimal("1000.00"), balanceOf("SAV001"));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+    }
+
+    @Test
+    public void testFastTransferReportsMissingAccount() throws SQLException {
+        assertEquals(PostingStatus.ACCOUNT_NOT_FOUND, accountDAO.fastTransfer("SAV001", "MISSING", new BigDecimal("10.00")));
+        assertEquals(PostingStatus.ACCOUNT_NOT_FOUND, accountDAO.fastTransfer("MISSING", "SAV001", new BigDecimal("10.00")));
+
+        assertEquals(new BigDecimal("1000.00"), balanceOf("SAV001"));
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+    }
+
+    @Test
+    public void testTransferReturnsFalseOnInsufficientFunds() {
+        assertFalse(accountDAO.transfer("CHK001", "SAV001", new BigDecimal("9999.00")));
+    }
+
+    @Test(expected = AccountNotFoundException.class)
+    public void testTransferToMissingAccountThrows() {
+        accountDAO.transfer("SAV001", "MISSING", new BigDecimal("10.00"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransferWithNegativeAmount() {
+        accountDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("-10.00"));
+    }
+
+    @Test
+    public void testWithdrawWithNegativeAmountIsRejectedWithoutPosting() throws SQLException {
+        try {
+            accountDAO.withdraw("SAV001", new BigDecimal("-10.00"));
+            fail("a negative withdrawal must not credit the account");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(new BigDecimal("1000.00"), balanceOf("SAV001"));
+            assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDepositFinerThanACentIsRejected() {
+        accountDAO.deposit("SAV001", new BigDecimal("10.005"));
+    }
+
+    @Test
+    public void testDepositAndWithdrawWriteTheirLedgerRowsWithTheBalance() throws SQLException {
+        assertTrue(accountDAO.deposit("SAV001", new BigDecimal("10.00")));
+        assertTrue(accountDAO.withdraw("SAV001", new BigDecimal("4.00")));
+        assertFalse(accountDAO.withdraw("SAV001", new BigDecimal("5000.00")));
+
+        assertEquals(new BigDecimal("1006.00"), balanceOf("SAV001"));
+        assertEquals(2, count("SELECT COUNT(*) FROM transactions WHERE account_number = 'SAV001'"));
+    }
+
+    @Test
+    public void testApplyBatchReportsResultPerPosting() throws SQLException {
+        List<Posting> postings = Arrays.asList(
+                Posting.deposit("SAV001", new BigDecimal("100.00")),
+                Posting.withdrawal("CHK001", new BigDecimal("600.00")),
+                Posting.deposit("MISSING", new BigDecimal("5.00")),
+                Posting.transfer("SAV001", "CHK001", new BigDecimal("300.00")),
+                Posting.withdrawal("CHK001", new BigDecimal("600.00"))
+        );
+
+        List<PostingResult> results = accountDAO.applyBatch(postings, 2);
+
+        assertEquals(PostingStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(PostingStatus.INSUFFICIENT_FUNDS, results.get(1).getStatus());
+        assertEquals(PostingStatus.ACCOUNT_NOT_FOUND, results.get(2).getStatus());
+        assertEquals(PostingStatus.APPLIED, results.get(3).getStatus());
+        assertEquals(PostingStatus.APPLIED, results.get(4).getStatus());
+        assertEquals(new BigDecimal("800.00"), balanceOf("SAV001"));
+        assertEquals(new BigDecimal("200.00"), balanceOf("CHK001"));
+        assertEquals(4, count("SELECT COUNT(*) FROM transactions"));
+    }
+
+    @Test
+    public void testApplyBatchDoesNotKeepHalfOfAFailedTransfer() throws SQLException {
+        List<Posting> postings = Arrays.asList(
+                Posting.transfer("SAV001", "MISSING", new BigDecimal("950.00")),
+                Posting.withdrawal("SAV001", new BigDecimal("900.00"))
+        );
+
+        List<PostingResult> results = accountDAO.applyBatch(postings, 10);
+
+        assertEquals(PostingStatus.ACCOUNT_NOT_FOUND, results.get(0).getStatus());
+        assertEquals(PostingStatus.APPLIED, results.get(1).getStatus());
+        assertEquals(new BigDecimal("100.00"), balanceOf("SAV001"));
+    }
+
+    @Test
+    public void testApplyBatchReportsCommittedChunksWhenALaterChunkFails() throws SQLException {
+        List<Posting> postings = Arrays.asList(
+                Posting.deposit("SAV001", new BigDecimal("100.00")),
+                Posting.withdrawal("CHK001", new BigDecimal("600.00")),
+                Posting.deposit("CHK001", new BigDecimal("1.00")),
+                Posting.deposit("SAV001", new BigDecimal("99999999999999.00")) // overflows DECIMAL(15, 2)
+        );
+
+        try {
+            accountDAO.applyBatch(postings, 2);
+            fail("the overflowing chunk must fail");
+        } catch (PostingBatchException e) {
+            assertEquals(2, e.getCommittedResults().size());
+            assertEquals(PostingStatus.APPLIED, e.getCommittedResults().get(0).getStatus());
+            assertEquals(PostingStatus.INSUFFICIENT_FUNDS, e.getCommittedResults().get(1).getStatus());
+        }
+        assertEquals(new BigDecimal("1100.00"), balanceOf("SAV001"));
+        assertEquals(new BigDecimal("500.00"), balanceOf("CHK001"));
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions"));
+    }
+
+    @Test
+    public void testVersionedUpdateRejectsStaleVersion() {
+        VersionedBalance read = accountDAO.getVersionedBalance("SAV001").get();
+        accountDAO.deposit("SAV001", new BigDecimal("1.00"));
+
+        assertFalse(accountDAO.updateBalance("SAV001", read.getVersion(), new BigDecimal("0.00")));
+        assertEquals(new BigDecimal("1001.00"), balanceOf("SAV001"));
+
+        VersionedBalance fresh = accountDAO.getVersionedBalance("SAV001").get();
+        assertTrue(fresh.getVersion() > read.getVersion());
+        assertTrue(accountDAO.updateBalance("SAV001", fresh.getVersion(), new BigDecimal("900.00")));
+        assertEquals(new BigDecimal("900.00"), balanceOf("SAV001"));
+        assertFalse(accountDAO.getVersionedBalance("NOPE").isPresent());
+    }
+
+    @Test
+    public void testConcurrentAdjustmentsLoseNoUpdates() throws InterruptedException {
+        RetryPolicy retry = new RetryPolicy(1_000, 1, 10);
+        int threads = 4;
+        int perThread = 25;
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        accountDAO.adjustBalance("CHK001", balance -> balance.subtract(new BigDecimal("1.00")), retry);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(new BigDecimal("400.00"), balanceOf("CHK001"));
+    }
+
+    @Test
+    public void testOppositeTransfersOverTheSamePairAllComplete() throws Exception {
+        List<Callable<PostingStatus>> transfers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            transfers.add(() -> accountDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("3.00")));
+            transfers.add(() -> accountDAO.fastTransfer("CHK001", "SAV001", new BigDecimal("2.00")));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<PostingStatus> result : pool.invokeAll(transfers)) {
+                assertEquals(PostingStatus.APPLIED, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(new BigDecimal("950.00"), balanceOf("SAV001"));
+        assertEquals(new BigDecimal("550.00"), balanceOf("CHK001"));
+        assertEquals(0, AccountDAOImpl.getLockRetryPolicy().getExhausted());
+    }
+
+    @Test
+    public void testTransferRetriesPastALockTimeout() throws Exception {
+        long retriesBefore = AccountDAOImpl.getLockRetryPolicy().getRetries();
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+                conn.setAutoCommit(false);
+                stmt.executeQuery("SELECT * FROM accounts WHERE account_number = 'CHK001' FOR UPDATE").close();
+                locked.countDown();
+                Thread.sleep(300); // longer than LOCK_TIMEOUT, so the transfer times out at least once
+                conn.rollback();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        holder.start();
+        locked.await();
+
+        assertEquals(PostingStatus.APPLIED, accountDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("10.00")));
+        holder.join();
+        assertTrue(AccountDAOImpl.getLockRetryPolicy().getRetries() > retriesBefore);
+        assertEquals(new BigDecimal("510.00"), balanceOf("CHK001"));
+    }
+
+    @Test
+    public void testBatchChunkRetriesPastALockTimeout() throws Exception {
+        long retriesBefore = AccountDAOImpl.getLockRetryPolicy().getRetries();
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+                conn.setAutoCommit(false);
+                stmt.executeQuery("SELECT * FROM accounts WHERE account_number = 'SAV001' FOR UPDATE").close();
+                locked.countDown();
+                Thread.sleep(300); // the chunk's locking read times out at least once
+                conn.rollback();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        holder.start();
+        locked.await();
+
+        List<PostingResult> results = accountDAO.applyBatch(Arrays.asList(
+                Posting.transfer("CHK001", "SAV001", new BigDecimal("10.00")),
+                Posting.transfer("SAV001", "CHK001", new BigDecimal("20.00"))
+        ), 10);
+        holder.join();
+
+        assertTrue(results.stream().allMatch(PostingResult::isApplied));
+        assertTrue(AccountDAOImpl.getLockRetryPolicy().getRetries() > retriesBefore);
+        assertEquals(new BigDecimal("990.00"), balanceOf("SAV001"));
+        assertEquals(new BigDecimal("510.00"), balanceOf("CHK001"));
+    }
+
+    private BigDecimal balanceOf(String accountNumber) {
+        return accountDAO.getAccountByNumber(accountNumber).get().getBalance();
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
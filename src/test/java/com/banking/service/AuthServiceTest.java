@@ -0,0 +1,111 @@
+package com.banking.service;
+
+import com.banking.model.UserCredentials;
+import com.banking.model.Users;
+import com.banking.util.PasswordHasher;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import static org.junit.Assert.*;
+
+public class AuthServiceTest {
+    private final PasswordHasher hasher = new PasswordHasher(1_000);
+    private InMemoryUserDAO userDAO;
+    private AuthService authService;
+
+    @Before
+    public void setUp() {
+        userDAO = new InMemoryUserDAO();
+        userDAO.rows.put("alice", new UserCredentials(1, "alice", hasher.hash("pw"), "admin"));
+        userDAO.rows.put("bob", new UserCredentials(2, "bob", "legacy-pw", "customer")); // pre-hashing row
+        authService = new AuthService(userDAO, hasher, 100, 60_000);
+    }
+
+    @Test
+    public void testSessionIsValidatedWithoutTheDatabase() {
+        AuthService.Session session = authService.login("alice", "pw").get();
+        assertEquals(1, session.getUserId());
+        assertTrue(session.isAdmin());
+        int lookups = userDAO.lookups;
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("alice", authService.validate(session.getToken()).get().getUsername());
+        }
+        assertEquals(lookups, userDAO.lookups);
+
+        authService.logout(session.getToken());
+        assertFalse(authService.validate(session.getToken()).isPresent());
+        assertFalse(authService.validate("forged").isPresent());
+    }
+
+    @Test
+    public void testWrongPasswordsAndUnknownUsersAreRejected() {
+        assertFalse(authService.login("alice", "wrong").isPresent());
+        assertFalse(authService.login("nobody", "pw").isPresent());
+        assertEquals(-1, authService.authenticateUser("alice", null));
+        assertEquals(1, authService.authenticateUser("alice", "pw"));
+    }
+
+    @Test
+    public void testLegacyAndOutdatedHashesAreUpgradedOnLogin() {
+        assertEquals(2, authService.authenticateUser("bob", "legacy-pw"));
+        String upgraded = userDAO.rows.get("bob").getPasswordHash();
+        assertTrue(PasswordHasher.isHash(upgraded));
+        assertEquals(2, authService.authenticateUser("bob", "legacy-pw"));
+
+        AuthService stronger = new AuthService(userDAO, new PasswordHasher(2_000), 100, 60_000);
+        assertEquals(1, stronger.authenticateUser("alice", "pw"));
+        assertTrue(userDAO.rows.get("alice").getPasswordHash().startsWith("pbkdf2_sha256$2000$"));
+    }
+
+    private static class InMemoryUserDAO implements UserDAO {
+        private final Map<String, UserCredentials> rows = new HashMap<>();
+        private int lookups;
+
+        @Override
+        public Optional<UserCredentials> getCredentials(String username) {
+            lookups++;
+            return Optional.ofNullable(rows.get(username));
+        }
+
+        @Override
+        public boolean updatePasswordHash(int userId, String passwordHash) {
+            for (UserCredentials row : rows.values()) {
+                if (row.getUserId() == userId) {
+                    rows.put(row.getUsername(), new UserCredentials(userId, row.getUsername(), passwordHash, row.getRole()));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean createUser(Users user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Users> getAllUsers() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Users> getUsersAfter(String lastUsername, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachUser(Consumer<? super Users> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Users> getUserByUsername(String username) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
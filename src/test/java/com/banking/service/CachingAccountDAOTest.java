@@ -0,0 +1,190 @@
+package com.banking.service;
+
+import com.banking.exception.AccountNotFoundException;
+import com.banking.model.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+import static org.junit.Assert.*;
+
+public class CachingAccountDAOTest {
+    private CountingAccountDAO backing;
+    private CachingAccountDAO cachingDAO;
+
+    @Before
+    public void setUp() {
+        backing = new CountingAccountDAO();
+        backing.accounts.put("SAV001", new BigDecimal("1000.00"));
+        backing.accounts.put("SAV002", new BigDecimal("50.00"));
+        cachingDAO = new CachingAccountDAO(backing, 100, 60000);
+    }
+
+    @Test
+    public void testRepeatedReadsHitTheCache() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(new BigDecimal("1000.00"), cachingDAO.getAccountByNumber("SAV001").get().getBalance());
+        }
+        assertEquals(1, backing.reads);
+        assertEquals(4, cachingDAO.getCache().getHits());
+        assertEquals(1, cachingDAO.getCache().getMisses());
+    }
+
+    @Test
+    public void testWritesInvalidateCachedEntries() {
+        cachingDAO.getAccountByNumber("SAV001");
+        cachingDAO.getAccountByNumber("SAV002");
+
+        cachingDAO.transfer("SAV001", "SAV002", new BigDecimal("25.00"));
+
+        assertEquals(new BigDecimal("975.00"), cachingDAO.getAccountByNumber("SAV001").get().getBalance());
+        assertEquals(new BigDecimal("75.00"), cachingDAO.getAccountByNumber("SAV002").get().getBalance());
+        assertEquals(4, backing.reads);
+    }
+
+    @Test
+    public void testKeyedPostingsInvalidateCachedEntries() {
+        cachingDAO.getAccountByNumber("SAV001");
+        cachingDAO.getAccountByNumber("SAV002");
+
+        cachingDAO.deposit("SAV001", new BigDecimal("5.00"), "key-1");
+        cachingDAO.withdraw("SAV002", new BigDecimal("5.00"), "key-2");
+        assertEquals(new BigDecimal("1005.00"), cachingDAO.getAccountByNumber("SAV001").get().getBalance());
+        assertEquals(new BigDecimal("45.00"), cachingDAO.getAccountByNumber("SAV002").get().getBalance());
+
+        cachingDAO.fastTransfer("SAV001", "SAV002", new BigDecimal("10.00"), null);
+        assertEquals(new BigDecimal("995.00"), cachingDAO.getAccountByNumber("SAV001").get().getBalance());
+        assertEquals(new BigDecimal("55.00"), cachingDAO.getAccountByNumber("SAV002").get().getBalance());
+        assertEquals(6, backing.reads);
+    }
+
+    @Test
+    public void testCachedAccountCannotBeModifiedByCallers() {
+        cachingDAO.getAccountByNumber("SAV001").get().deposit(new BigDecimal("1.00"));
+        assertEquals(new BigDecimal("1000.00"), cachingDAO.getAccountByNumber("SAV001").get().getBalance());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        CachingAccountDAO tiny = new CachingAccountDAO(backing, 1, 60000);
+        tiny.getAccountByNumber("SAV001");
+        tiny.getAccountByNumber("SAV002");
+        tiny.getAccountByNumber("SAV001");
+
+        assertEquals(3, backing.reads);
+        assertEquals(2, tiny.getCache().getEvictions());
+    }
+
+    // In-memory stand-in for AccountDAOImpl that counts reads
+    private static class CountingAccountDAO extends AccountDAO {
+        private final Map<String, BigDecimal> accounts = new HashMap<>();
+        private int reads;
+
+        @Override
+        public Optional<Account> getAccountByNumber(String accountNumber) {
+            reads++;
+            BigDecimal balance = accounts.get(accountNumber);
+            if (balance == null) {
+                throw new AccountNotFoundException(accountNumber);
+            }
+            return Optional.of(new SavingsAccount(accountNumber, balance));
+        }
+
+        @Override
+        public void createAccount(Account account) {
+            accounts.put(account.getAccountNumber(), account.getBalance());
+        }
+
+        @Override
+        public void updateBalance(String accountNumber, BigDecimal newBalance) {
+            accounts.put(accountNumber, newBalance);
+        }
+
+        @Override
+        public Optional<VersionedBalance> getVersionedBalance(String accountNumber) {
+            BigDecimal balance = accounts.get(accountNumber);
+            return balance == null ? Optional.empty() : Optional.of(new VersionedBalance(accountNumber, balance, 0));
+        }
+
+        @Override
+        public boolean updateBalance(String accountNumber, long expectedVersion, BigDecimal newBalance) {
+            accounts.put(accountNumber, newBalance);
+            return true;
+        }
+
+        @Override
+        public List<Account> getAllAccounts() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<Account> getAccountsAfter(String lastAccountNumber, int limit) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void forEachAccount(Consumer<? super Account> action) {
+        }
+
+        @Override
+        public List<Account> topByBalance(int limit) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<Account> bottomByBalance(int limit) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<Account> balanceBetween(BigDecimal low, BigDecimal high, int limit) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void deleteAccount(String accountNumber) {
+            accounts.remove(accountNumber);
+        }
+
+        @Override
+        public boolean deposit(String accountNumber, BigDecimal amount) {
+            accounts.merge(accountNumber, amount, BigDecimal::add);
+            return true;
+        }
+
+        @Override
+        public boolean withdraw(String accountNumber, BigDecimal amount) {
+            accounts.merge(accountNumber, amount.negate(), BigDecimal::add);
+            return true;
+        }
+
+        @Override
+        public boolean transfer(String fromAccount, String toAccount, BigDecimal amount) {
+            return withdraw(fromAccount, amount) && deposit(toAccount, amount);
+        }
+
+        @Override
+        public PostingStatus deposit(String accountNumber, BigDecimal amount, String idempotencyKey) {
+            deposit(accountNumber, amount);
+            return PostingStatus.APPLIED;
+        }
+
+        @Override
+        public PostingStatus withdraw(String accountNumber, BigDecimal amount, String idempotencyKey) {
+            withdraw(accountNumber, amount);
+            return PostingStatus.APPLIED;
+        }
+
+        @Override
+        public PostingStatus fastTransfer(String fromAccount, String toAccount, BigDecimal amount, String idempotencyKey) {
+            transfer(fromAccount, toAccount, amount);
+            return PostingStatus.APPLIED;
+        }
+
+        @Override
+        public List<PostingResult> applyBatch(List<Posting> postings) {
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.service;
+
+import com.banking.model.AccountType;
+import com.banking.model.Users;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.PasswordHasher;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import static org.junit.Assert.*;
+
+public class CustomerSessionTest {
+    private AccountDAOImpl accountDAO;
+    private int userId;
+    private int otherId;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        UserDAOImpl userDAO = new UserDAOImpl(new PasswordHasher(1_000));
+        userDAO.createUser(new Users("dave", "pw", "Dave", "dave@test.com", "customer"));
+        userDAO.createUser(new Users("erin", "pw", "Erin", "erin@test.com", "customer"));
+        userId = userDAO.getCredentials("dave").get().getUserId();
+        otherId = userDAO.getCredentials("erin").get().getUserId();
+
+        accountDAO = new AccountDAOImpl();
+        accountDAO.createAccount("SAV-D", new BigDecimal("100.00"), "savings", userId);
+        accountDAO.createAccount("CHK-E", new BigDecimal("100.00"), "checking", otherId);
+    }
+
+    @Test
+    public void testOwnershipAndTypeAreCheckedInMemory() throws SQLException {
+        CustomerSession session = new CustomerSession(userId, accountDAO);
+
+        assertTrue(session.owns("SAV-D", AccountType.SAVINGS));
+        assertFalse(session.owns("SAV-D", AccountType.CHECKING));
+        assertFalse(session.owns("CHK-E", AccountType.CHECKING));
+        assertFalse(session.owns("NOPE"));
+
+        // A change the DAO did not make is not seen until the session is invalidated
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM accounts WHERE account_number = 'SAV-D'");
+        }
+        assertTrue(session.owns("SAV-D", AccountType.SAVINGS));
+        session.invalidate();
+        assertFalse(session.owns("SAV-D"));
+    }
+
+    @Test
+    public void testAccountOpenedByAnotherProcessIsFoundOnFirstUse() throws SQLException {
+        CustomerSession session = new CustomerSession(userId, accountDAO);
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO accounts (account_number, balance, account_type, user_id) "
+                    + "VALUES ('CHK-X', 10.00, 'checking', " + userId + ")");
+        }
+
+        assertTrue(session.owns("CHK-X", AccountType.CHECKING));
+        assertTrue(session.getAccountNumbers().contains("CHK-X"));
+        assertFalse(session.owns("CHK-E"));
+    }
+
+    @Test
+    public void testAnotherUsersAccountChangesDoNotReloadThisSession() {
+        long before = AccountDAOImpl.getAccountsVersion(userId);
+
+        accountDAO.deleteAccount("CHK-E");
+        assertTrue(accountDAO.createAccount("CHK-E2", new BigDecimal("5.00"), "checking", otherId));
+
+        assertEquals(before, AccountDAOImpl.getAccountsVersion(userId));
+    }
+
+    @Test
+    public void testCreatingAndDeletingAccountsRefreshesTheSession() {
+        CustomerSession session = new CustomerSession(userId, accountDAO);
+        assertFalse(session.owns("CHK-D"));
+
+        accountDAO.createAccount("CHK-D", new BigDecimal("50.00"), "checking", userId);
+        assertTrue(session.owns("CHK-D", AccountType.CHECKING));
+        assertEquals(2, session.getAccountNumbers().size());
+
+        accountDAO.deleteAccount("SAV-D");
+        assertFalse(session.owns("SAV-D"));
+    }
+}
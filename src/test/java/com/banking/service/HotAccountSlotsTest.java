@@ -0,0 +1,157 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.model.Posting;
+import com.banking.model.PostingResult;
+import com.banking.model.PostingStatus;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.RetryPolicy;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+
+public class HotAccountSlotsTest {
+    private HotAccountSlots hotAccounts;
+    private AccountDAOImpl accountDAO;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO accounts (account_number, balance, account_type) VALUES " +
+                    "('MERCHANT', 100.00, 'checking'), ('SAV001', 1000.00, 'savings'), ('SAV002', 1000.00, 'savings')");
+        }
+        hotAccounts = new HotAccountSlots();
+        accountDAO = new AccountDAOImpl(new IdempotencyStore(100, 60_000), hotAccounts);
+        hotAccounts.enable("MERCHANT", 4);
+    }
+
+    @Test
+    public void testConcurrentCreditsLandInSlotsAndTheTotalStaysExact() throws Exception {
+        List<Callable<Boolean>> postings = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String payer = i % 2 == 0 ? "SAV001" : "SAV002";
+            postings.add(() -> accountDAO.deposit("MERCHANT", new BigDecimal("1.00")));
+            postings.add(() -> accountDAO.fastTransfer(payer, "MERCHANT", new BigDecimal("2.00")) == PostingStatus.APPLIED);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Boolean> result : pool.invokeAll(postings)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(new BigDecimal("220.00"), balanceOf("MERCHANT"));
+        assertEquals(new BigDecimal("100.00"), accountRowOf("MERCHANT")); // every credit went to a slot
+        assertEquals(new BigDecimal("1920.00"), balanceOf("SAV001").add(balanceOf("SAV002")));
+        assertEquals(80, count("SELECT COUNT(*) FROM transactions WHERE account_number = 'MERCHANT'"));
+
+        assertEquals(1, hotAccounts.rollUpAll());
+        assertEquals(new BigDecimal("220.00"), accountRowOf("MERCHANT"));
+        assertEquals(new BigDecimal("220.00"), balanceOf("MERCHANT"));
+    }
+
+    @Test
+    public void testDebitsSeeTheAggregateAndReadModifyWriteKeepsLaterCredits() throws SQLException {
+        accountDAO.deposit("MERCHANT", new BigDecimal("50.00"));
+
+        // The account row holds only 100.00; the debit rolls the slots up before deciding
+        assertEquals(PostingStatus.APPLIED, accountDAO.fastTransfer("MERCHANT", "SAV001", new BigDecimal("140.00")));
+        assertEquals(new BigDecimal("10.00"), balanceOf("MERCHANT"));
+        assertFalse(accountDAO.withdraw("MERCHANT", new BigDecimal("10.01")));
+
+        accountDAO.deposit("MERCHANT", new BigDecimal("5.00"));
+        accountDAO.adjustBalance("MERCHANT", balance -> {
+            accountDAO.deposit("MERCHANT", new BigDecimal("1.00")); // lands in a slot between the read and the write
+            return balance.subtract(new BigDecimal("2.00"));
+        }, new RetryPolicy(1, 0, 0));
+        assertEquals(new BigDecimal("14.00"), balanceOf("MERCHANT"));
+
+        hotAccounts.disable("MERCHANT");
+        assertFalse(hotAccounts.isHot("MERCHANT"));
+        assertEquals(new BigDecimal("14.00"), accountRowOf("MERCHANT"));
+        assertEquals(0, count("SELECT COUNT(*) FROM account_balance_slots"));
+    }
+
+    @Test
+    public void testUserAccountsAddSlotsOnlyToHotAccounts() throws SQLException {
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM users");
+            stmt.execute("INSERT INTO users (user_id, username, password, full_name) VALUES (7, 'shop', 'x', 'Shop')");
+            stmt.execute("UPDATE accounts SET user_id = 7 WHERE account_number IN ('MERCHANT', 'SAV001')");
+        }
+        accountDAO.deposit("MERCHANT", new BigDecimal("50.00"));
+        accountDAO.deposit("SAV001", new BigDecimal("5.00"));
+
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (Account account : accountDAO.getUserAccounts(7)) {
+            balances.put(account.getAccountNumber(), account.getBalance());
+        }
+
+        assertEquals(Map.of("MERCHANT", new BigDecimal("150.00"), "SAV001", new BigDecimal("1005.00")), balances);
+        assertEquals(new BigDecimal("100.00"), accountRowOf("MERCHANT"));
+    }
+
+    @Test
+    public void testBatchDebitsRollUpAHotAccountThatIsShort() throws SQLException {
+        accountDAO.deposit("MERCHANT", new BigDecimal("50.00"));
+        accountDAO.deposit("MERCHANT", new BigDecimal("30.00"));
+
+        List<PostingResult> results = accountDAO.applyBatch(List.of(
+                Posting.deposit("SAV001", new BigDecimal("1.00")),
+                Posting.withdrawal("MERCHANT", new BigDecimal("120.00")),    // row holds 100.00, slots 80.00
+                Posting.transfer("MERCHANT", "SAV002", new BigDecimal("50.00")),
+                Posting.withdrawal("MERCHANT", new BigDecimal("20.01"))
+        ), 10);
+
+        assertEquals(PostingStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(PostingStatus.APPLIED, results.get(1).getStatus());
+        assertEquals(PostingStatus.APPLIED, results.get(2).getStatus());
+        assertEquals(PostingStatus.INSUFFICIENT_FUNDS, results.get(3).getStatus());
+        assertEquals(new BigDecimal("10.00"), balanceOf("MERCHANT"));
+        assertEquals(new BigDecimal("10.00"), accountRowOf("MERCHANT"));
+        assertEquals(new BigDecimal("1050.00"), balanceOf("SAV002"));
+    }
+
+    private BigDecimal balanceOf(String accountNumber) {
+        return accountDAO.getAccountByNumber(accountNumber).get().getBalance();
+    }
+
+    private BigDecimal accountRowOf(String accountNumber) throws SQLException {
+        try (Connection conn = DatabaseConnection.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT balance FROM accounts WHERE account_number = '" + accountNumber + "'")) {
+            rs.next();
+            return rs.getBigDecimal(1);
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.banking.service;
+
+import com.banking.model.PostingStatus;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+
+public class IdempotencyStoreTest {
+    private IdempotencyStore store;
+    private AccountDAOImpl accountDAO;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO accounts (account_number, balance, account_type) VALUES " +
+                    "('SAV001', 1000.00, 'savings'), ('CHK001', 500.00, 'checking')");
+        }
+        store = new IdempotencyStore(100, 60_000);
+        accountDAO = new AccountDAOImpl(store);
+    }
+
+    @Test
+    public void testRepeatedKeyPostsOnceAndReplaysTheOutcome() throws SQLException {
+        assertEquals(PostingStatus.APPLIED, accountDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("100.00"), "t-1"));
+        assertEquals(PostingStatus.APPLIED, accountDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("100"), "t-1"));
+        assertEquals(1, store.getRecentKeys().getHits());
+
+        // A process without the key in memory finds it in the table
+        AccountDAOImpl coldDAO = new AccountDAOImpl(new IdempotencyStore(100, 60_000));
+        assertEquals(PostingStatus.APPLIED, coldDAO.fastTransfer("SAV001", "CHK001", new BigDecimal("100.00"), "t-1"));
+
+        assertEquals(PostingStatus.INSUFFICIENT_FUNDS, accountDAO.withdraw("CHK001", new BigDecimal("900.00"), "w-1"));
+        accountDAO.deposit("CHK001", new BigDecimal("500.00"), null);
+        assertEquals(PostingStatus.INSUFFICIENT_FUNDS, coldDAO.withdraw("CHK001", new BigDecimal("900.00"), "w-1"));
+        assertEquals(PostingStatus.ACCOUNT_NOT_FOUND, accountDAO.deposit("NOPE", new BigDecimal("1.00"), "d-1"));
+
+        assertEquals(new BigDecimal("900.00"), balanceOf("SAV001"));
+        assertEquals(new BigDecimal("1100.00"), balanceOf("CHK001"));
+        assertEquals(3, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(3, count("SELECT COUNT(*) FROM idempotency_keys"));
+
+        try {
+            accountDAO.deposit("SAV001", new BigDecimal("100.00"), "t-1");
+            fail("a key bound to a transfer must not be reused for a deposit");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(new BigDecimal("900.00"), balanceOf("SAV001"));
+        }
+    }
+
+    @Test
+    public void testConcurrentDuplicatesPostOnce() throws Exception {
+        int duplicates = 8;
+        List<Callable<PostingStatus>> attempts = new ArrayList<>();
+        for (int i = 0; i < duplicates; i++) {
+            // Separate caches, so every attempt has to settle the race in the database
+            AccountDAOImpl dao = new AccountDAOImpl(new IdempotencyStore(100, 60_000));
+            attempts.add(() -> dao.deposit("SAV001", new BigDecimal("10.00"), "retry-storm"));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(duplicates);
+        try {
+            for (Future<PostingStatus> result : pool.invokeAll(attempts)) {
+                assertEquals(PostingStatus.APPLIED, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(new BigDecimal("1010.00"), balanceOf("SAV001"));
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions WHERE account_number = 'SAV001'"));
+    }
+
+    private BigDecimal balanceOf(String accountNumber) {
+        return accountDAO.getAccountByNumber(accountNumber).get().getBalance();
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.banking.service;
+
+import com.banking.util.TestDatabase;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import static org.junit.Assert.*;
+
+public class LoadGeneratorTest {
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Test
+    public void testMixedLoadConservesMoney() {
+        LoadGenerator generator = new LoadGenerator(20, 4, 0, 1, 1, 3);
+        generator.setUp();
+        assertEquals(new BigDecimal("20000.00"), generator.totalBalance());
+
+        LoadGenerator.Report report = generator.run(0, 2000);
+
+        assertEquals(2000, report.getTotalOperations());
+        for (LoadGenerator.Operation operation : LoadGenerator.Operation.values()) {
+            assertEquals(0, report.getErrors(operation));
+            assertTrue(report.getSucceeded(operation) > 0);
+            assertTrue(report.getLatency(operation).getValueAtPercentile(99) > 0);
+        }
+        assertTrue(report.toString(), report.isMoneyConserved());
+
+        generator.cleanUp();
+        assertEquals(new BigDecimal("0.00"), generator.totalBalance());
+    }
+
+    @Test
+    public void testTargetRatePacesTheRun() {
+        LoadGenerator generator = new LoadGenerator(4, 2, 200, 0, 0, 1);
+        generator.setUp();
+        long start = System.nanoTime();
+        LoadGenerator.Report report = generator.run(0, 100);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(100, report.getTotalOperations());
+        assertTrue("finished in " + elapsedMillis + " ms", elapsedMillis >= 400);
+        assertTrue(report.isMoneyConserved());
+        generator.cleanUp();
+    }
+}
@@ -0,0 +1,84 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.model.Account;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import static org.junit.Assert.*;
+
+public class MonthEndProcessorTest {
+    private BankingSystem bankingSystem;
+    private AccountDAOImpl accountDAO;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        accountDAO = new AccountDAOImpl();
+        bankingSystem = new BankingSystem();
+        for (int i = 0; i < 5; i++) {
+            bankingSystem.addAccount(accountDAO.createAccount("SAV00" + i, new BigDecimal("1000.00"), "savings"));
+            bankingSystem.addAccount(accountDAO.createAccount("CHK00" + i, new BigDecimal("500.00"), "checking"));
+        }
+    }
+
+    @Test
+    public void testRunWritesBalancesAndLedgerRows() throws SQLException {
+        MonthEndProcessor.Summary summary = new MonthEndProcessor(bankingSystem, 3, 2).run("2026-10", (id, done, total, n) -> { });
+
+        assertEquals(10, summary.getAccountsProcessed());
+        assertEquals(5 * 2500, summary.getInterestCents());
+        assertEquals(5 * 1200, summary.getFeeCents());
+        for (Account account : bankingSystem.getAccountsSortedByNumber()) {
+            assertEquals(account.getBalance(), accountDAO.getAccountByNumber(account.getAccountNumber()).get().getBalance());
+        }
+        assertEquals(new BigDecimal("1025.00"), bankingSystem.findAccount("SAV000").getBalance());
+        assertEquals(new BigDecimal("488.00"), bankingSystem.findAccount("CHK000").getBalance());
+        assertEquals(10, count("SELECT COUNT(*) FROM transactions WHERE transaction_type IN ('FEE', 'INTEREST')"));
+    }
+
+    @Test
+    public void testRerunningSameRunDoesNotChargeTwice() {
+        MonthEndProcessor processor = new MonthEndProcessor(bankingSystem, 4, 2);
+        processor.run("2026-10", (id, done, total, n) -> { });
+
+        MonthEndProcessor.Summary rerun = processor.run("2026-10", (id, done, total, n) -> { });
+
+        assertEquals(0, rerun.getAccountsProcessed());
+        assertEquals(10, rerun.getAccountsSkipped());
+        assertEquals(new BigDecimal("1025.00"), bankingSystem.findAccount("SAV004").getBalance());
+    }
+
+    @Test
+    public void testRerunProcessesAnAccountOpenedInsideACompletedChunk() {
+        MonthEndProcessor processor = new MonthEndProcessor(bankingSystem, 10, 1);
+        processor.run("2026-10", (id, done, total, n) -> { });
+        bankingSystem.addAccount(accountDAO.createAccount("CHK0025", new BigDecimal("500.00"), "checking")); // between CHK002 and CHK003
+
+        MonthEndProcessor.Summary rerun = processor.run("2026-10", (id, done, total, n) -> { });
+
+        assertEquals(1, rerun.getAccountsProcessed());
+        assertEquals(10, rerun.getAccountsSkipped());
+        assertEquals(new BigDecimal("488.00"), bankingSystem.findAccount("CHK0025").getBalance());
+        assertEquals(new BigDecimal("488.00"), accountDAO.getAccountByNumber("CHK0025").get().getBalance());
+    }
+
+    private static int count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.model.Account;
+import com.banking.model.AccountFactory;
+import com.banking.model.AccountSnapshot;
+import com.banking.model.AccountType;
+import com.banking.model.LedgerEntry;
+import com.banking.model.TransactionType;
+import com.banking.util.LedgerJournal;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+public class RecoveryServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BankingSystem bankingSystem;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        AccountDAOImpl accountDAO = new AccountDAOImpl();
+        for (int i = 0; i < 20; i++) {
+            accountDAO.createAccount(String.format("SAV%03d", i), new BigDecimal("100.00"), "savings");
+            accountDAO.createAccount(String.format("CHK%03d", i), new BigDecimal("50.00"), "checking");
+        }
+        bankingSystem = new BankingSystem();
+    }
+
+    @Test
+    public void testDatabaseSnapshotLoadsEveryAccountInPartitions() {
+        AtomicInteger partitionsDone = new AtomicInteger();
+        RecoveryService.Summary summary = new RecoveryService(4).recover(bankingSystem,
+                new RecoveryService(4).loadDatabaseSnapshot(), new TransactionTableReplay(Long.MAX_VALUE),
+                (done, total, entries) -> partitionsDone.incrementAndGet());
+
+        assertEquals(40, summary.getAccountsLoaded());
+        assertEquals(4, partitionsDone.get());
+        assertEquals(40, bankingSystem.getNumberOfAccounts());
+        assertEquals(new BigDecimal("3000.00"), bankingSystem.getTotalBalance());
+        assertEquals(AccountType.CHECKING, bankingSystem.findAccount("CHK007").getAccountType());
+    }
+
+    @Test
+    public void testTransactionsAfterSnapshotAreReplayed() {
+        RecoveryService recovery = new RecoveryService(3);
+        AccountSnapshot snapshot = recovery.loadDatabaseSnapshot();
+        AccountDAOImpl accountDAO = new AccountDAOImpl();
+        accountDAO.deposit("SAV003", new BigDecimal("25.00"));
+        accountDAO.withdraw("CHK019", new BigDecimal("10.00"));
+        accountDAO.transfer("SAV010", "CHK000", new BigDecimal("40.00"));
+
+        RecoveryService.Summary summary = recovery.recover(bankingSystem, snapshot,
+                new TransactionTableReplay(snapshot.getLastTransactionId()), (done, total, entries) -> { });
+
+        assertEquals(4, summary.getEntriesReplayed());
+        assertEquals(new BigDecimal("125.00"), bankingSystem.findAccount("SAV003").getBalance());
+        assertEquals(new BigDecimal("40.00"), bankingSystem.findAccount("CHK019").getBalance());
+        assertEquals(new BigDecimal("60.00"), bankingSystem.findAccount("SAV010").getBalance());
+        assertEquals(new BigDecimal("90.00"), bankingSystem.findAccount("CHK000").getBalance());
+
+        // The database agrees with the rebuilt in-memory state
+        BankingSystem fromDatabase = new BankingSystem();
+        RecoveryService.Summary cold = recovery.recoverFromDatabase(fromDatabase);
+        assertEquals(0, cold.getEntriesReplayed());
+        assertEquals(fromDatabase.getTotalBalance(), bankingSystem.getTotalBalance());
+        assertEquals(new BigDecimal("125.00"), fromDatabase.findAccount("SAV003").getBalance());
+    }
+
+    @Test
+    public void testSnapshotPlusJournalRebuildsTheSystemUnderConcurrentPostings() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        try (LedgerJournal journal = new LedgerJournal(dir, 1 << 16, LedgerJournal.FsyncPolicy.NONE, 0)) {
+            BankingSystem live = new BankingSystem(16, journal);
+            for (int i = 0; i < 20; i++) {
+                live.addAccount(AccountFactory.createAccount(AccountType.SAVINGS, String.format("SAV%03d", i), new BigDecimal("1000.00")));
+            }
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread writer = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (running.get()) {
+                        String account = String.format("SAV%03d", random.nextInt(20));
+                        String other = String.format("SAV%03d", random.nextInt(20));
+                        long cents = 1 + random.nextInt(5_000);
+                        try {
+                            if (random.nextBoolean() && !account.equals(other)) {
+                                live.transfer(account, other, cents);
+                            } else if (random.nextBoolean()) {
+                                live.deposit(account, cents);
+                            } else {
+                                live.withdraw(account, cents);
+                            }
+                        } catch (InsufficientFundsException ignored) {
+                            // not journaled
+                        }
+                    }
+                });
+                writer.start();
+                writers.add(writer);
+            }
+
+            Thread.sleep(50);
+            AccountSnapshot snapshot = live.snapshot();
+            Thread.sleep(50);
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertTrue(snapshot.getLastJournalSequence() > 0);
+            assertTrue(journal.getLastSequence() > snapshot.getLastJournalSequence());
+
+            RecoveryService.Summary summary = new RecoveryService(3).recover(bankingSystem, snapshot,
+                    new JournalReplay(dir, snapshot.getLastJournalSequence()), (done, total, entries) -> { });
+
+            assertEquals(0, summary.getEntriesSkipped());
+            for (Account account : live.getAccountsSortedByNumber()) {
+                assertEquals(account.getAccountNumber(), account.getBalance(),
+                        bankingSystem.findAccount(account.getAccountNumber()).getBalance());
+            }
+        }
+    }
+
+    @Test
+    public void testJournalReplaySkipsUnknownAccounts() {
+        Path dir = folder.getRoot().toPath();
+        try (LedgerJournal journal = new LedgerJournal(dir, 1 << 16, LedgerJournal.FsyncPolicy.NONE, 0)) {
+            journal.append(new LedgerEntry("A1", TransactionType.DEPOSIT, new BigDecimal("5.00"), null, LocalDateTime.now()));
+            journal.append(new LedgerEntry("B1", TransactionType.FEE, new BigDecimal("1.50"), null, LocalDateTime.now()));
+            journal.append(new LedgerEntry("ZZ", TransactionType.DEPOSIT, new BigDecimal("9.00"), null, LocalDateTime.now()));
+            journal.append(new LedgerEntry("C1", TransactionType.INTEREST, new BigDecimal("0.25"), null, LocalDateTime.now()));
+        }
+        AccountSnapshot snapshot = new AccountSnapshot(Arrays.asList(
+                new AccountSnapshot.Entry("A1", AccountType.SAVINGS, 1_000),
+                new AccountSnapshot.Entry("B1", AccountType.CHECKING, 2_000),
+                new AccountSnapshot.Entry("C1", AccountType.SAVINGS, 3_000)), 0, 1);
+
+        RecoveryService.Summary summary = new RecoveryService(2).recover(bankingSystem, snapshot,
+                new JournalReplay(dir, snapshot.getLastJournalSequence()), (done, total, entries) -> { });
+
+        assertEquals(2, summary.getEntriesReplayed());
+        assertEquals(1, summary.getEntriesSkipped());
+        assertEquals(new BigDecimal("10.00"), bankingSystem.findAccount("A1").getBalance());
+        assertEquals(new BigDecimal("18.50"), bankingSystem.findAccount("B1").getBalance());
+        assertEquals(new BigDecimal("30.25"), bankingSystem.findAccount("C1").getBalance());
+    }
+}
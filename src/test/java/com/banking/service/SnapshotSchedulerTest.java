@@ -0,0 +1,46 @@
+package com.banking.service;
+
+import com.banking.BankingSystem;
+import com.banking.model.AccountFactory;
+import com.banking.model.AccountType;
+import com.banking.util.SnapshotFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+
+public class SnapshotSchedulerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSnapshotIsWrittenAfterEveryNPostingsAndOldFilesArePruned() throws Exception {
+        BankingSystem bankingSystem = new BankingSystem();
+        bankingSystem.addAccount(AccountFactory.createAccount(AccountType.SAVINGS, "SAV001", new BigDecimal("100.00")));
+        Path dir = folder.getRoot().toPath();
+
+        try (SnapshotScheduler scheduler = new SnapshotScheduler(bankingSystem, dir, 0, 5, true, 2)) {
+            for (int round = 1; round <= 3; round++) {
+                for (int i = 0; i < 5; i++) {
+                    bankingSystem.deposit("SAV001", 100L);
+                }
+                long deadline = System.currentTimeMillis() + 5000;
+                long expected = 10_000L + round * 500L;
+                while (System.currentTimeMillis() < deadline && (scheduler.getLatest() == null
+                        || SnapshotFile.open(scheduler.getLatest()).findBalanceCents("SAV001").getAsLong() != expected)) {
+                    Thread.sleep(20);
+                }
+                assertEquals(expected, SnapshotFile.open(scheduler.getLatest()).findBalanceCents("SAV001").getAsLong());
+            }
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+        assertEquals(SnapshotScheduler.findLatest(dir).get().getFileName().toString().length(), "balances-".length() + 20 + ".snap".length());
+    }
+}
@@ -0,0 +1,112 @@
+package com.banking.service;
+
+import com.banking.model.TransactionCursor;
+import com.banking.model.TransactionPage;
+import com.banking.model.TransactionRecord;
+import com.banking.model.TransactionType;
+import com.banking.util.DatabaseConnection;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class TransactionDAOImplTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private TransactionDAOImpl transactionDAO;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    // 25 rows for SAV001, one per hour, with every third row sharing its timestamp with the previous one
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        try (Connection conn = DatabaseConnection.connect()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("INSERT INTO accounts (account_number, balance, account_type) VALUES " +
+                        "('SAV001', 1000.00, 'savings'), ('CHK001', 500.00, 'checking')");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO transactions " +
+                    "(account_number, transaction_type, amount, transaction_date, reference_account) VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < 25; i++) {
+                    stmt.setString(1, "SAV001");
+                    stmt.setString(2, i % 2 == 0 ? "DEPOSIT" : "deposit");
+                    stmt.setBigDecimal(3, BigDecimal.valueOf(i + 1));
+                    stmt.setObject(4, START.plusHours(i % 3 == 2 ? i - 1 : i));
+                    stmt.setString(5, null);
+                    stmt.addBatch();
+                }
+                stmt.setString(1, "CHK001");
+                stmt.setString(2, "TRANSFER");
+                stmt.setBigDecimal(3, new BigDecimal("5.00"));
+                stmt.setObject(4, START);
+                stmt.setString(5, "SAV001");
+                stmt.addBatch();
+                stmt.executeBatch();
+            }
+        }
+        transactionDAO = new TransactionDAOImpl();
+    }
+
+    @Test
+    public void testPagesWalkHistoryNewestFirstWithoutGapsOrRepeats() {
+        List<TransactionRecord> seen = new ArrayList<>();
+        TransactionCursor cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = transactionDAO.getTransactions("SAV001", null, null, cursor, 10);
+            seen.addAll(page.getRecords());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionRecord newer = seen.get(i - 1);
+            TransactionRecord older = seen.get(i);
+            assertTrue(newer.getTransactionDate().isAfter(older.getTransactionDate())
+                    || (newer.getTransactionDate().equals(older.getTransactionDate())
+                        && newer.getTransactionId() > older.getTransactionId()));
+        }
+        assertEquals(TransactionType.DEPOSIT, seen.get(0).getType());
+    }
+
+    @Test
+    public void testDateRangeIsFromInclusiveToExclusive() {
+        TransactionPage page = transactionDAO.getTransactions("SAV001", START.plusHours(3), START.plusHours(6), null, 100);
+
+        assertEquals(3, page.getRecords().size()); // hours 3, 4, 4 (the row for hour 5 is stamped hour 4)
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    public void testCursorTokenRoundTrips() {
+        TransactionPage first = transactionDAO.getTransactions("SAV001", null, null, null, 5);
+        TransactionCursor decoded = TransactionCursor.decode(first.getNextCursor().encode());
+
+        assertEquals(first.getNextCursor(), decoded);
+        assertEquals(transactionDAO.getTransactions("SAV001", null, null, first.getNextCursor(), 5).getRecords().get(0).getTransactionId(),
+                transactionDAO.getTransactions("SAV001", null, null, decoded, 5).getRecords().get(0).getTransactionId());
+    }
+
+    @Test
+    public void testExportStreamsWholeLedgerOldestFirst() {
+        List<TransactionRecord> exported = new ArrayList<>();
+        transactionDAO.exportTransactions(null, null, null, exported::add);
+
+        assertEquals(26, exported.size());
+        assertEquals(TransactionType.TRANSFER, exported.get(1).getType());
+        assertEquals("SAV001", exported.get(1).getReferenceAccount());
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.service;
+
+import com.banking.model.Users;
+import com.banking.util.PasswordHasher;
+import com.banking.util.TestDatabase;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.sql.SQLException;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class UserDAOImplTest {
+    private UserDAOImpl userDAO;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        userDAO = new UserDAOImpl(new PasswordHasher(1_000));
+        userDAO.createUser(new Users("carol", "pw", "Carol", "carol@test.com", "customer"));
+        userDAO.createUser(new Users("alice", "pw", "Alice", "alice@test.com", "admin"));
+        userDAO.createUser(new Users("bob", "pw", "Bob", "bob@test.com", "customer"));
+    }
+
+    @Test
+    public void testUsersArePagedByUsername() {
+        List<Users> first = userDAO.getUsersAfter(null, 2);
+        assertEquals(2, first.size());
+        assertEquals("alice", first.get(0).getUsername());
+        assertEquals("bob", first.get(1).getUsername());
+
+        List<Users> second = userDAO.getUsersAfter("bob", 2);
+        assertEquals(1, second.size());
+        assertEquals("carol", second.get(0).getUsername());
+        assertTrue(userDAO.getUsersAfter("carol", 2).isEmpty());
+    }
+
+    @Test
+    public void testPasswordsAreStoredHashed() {
+        String stored = userDAO.getCredentials("carol").get().getPasswordHash();
+        assertTrue(PasswordHasher.isHash(stored));
+        assertTrue(new PasswordHasher(1_000).verify("pw", stored));
+        assertNotEquals(stored, userDAO.getCredentials("bob").get().getPasswordHash()); // salted
+        assertFalse(userDAO.getCredentials("nobody").isPresent());
+    }
+
+    @Test
+    public void testRoleIsReadFromUserRoleColumn() {
+        assertEquals("admin", userDAO.getUserByUsername("alice").get().getRole());
+        assertEquals(3, userDAO.getAllUsers().size());
+    }
+}
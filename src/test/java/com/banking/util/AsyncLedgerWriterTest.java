@@ -0,0 +1,153 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+import com.banking.model.TransactionType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import static org.junit.Assert.*;
+
+public class AsyncLedgerWriterTest {
+    private AsyncLedgerWriter writer;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE IF EXISTS transactions_offline RENAME TO transactions");
+            // Every ledger row needs its account (fk_transactions_account)
+            stmt.execute("INSERT INTO accounts (account_number, balance, account_type) VALUES " +
+                    "('ACC0', 0, 'savings'), ('ACC1', 0, 'savings'), ('ACC2', 0, 'savings'), ('ACC3', 0, 'savings'), " +
+                    "('ACC4', 0, 'savings'), ('ACC5', 0, 'savings'), ('ACC6', 0, 'savings'), ('ACC001', 0, 'savings'), " +
+                    "('SYNC', 0, 'savings')");
+        }
+        writer = new AsyncLedgerWriter(16, 10, 5);
+    }
+
+    @After
+    public void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    public void testCloseFlushesEverythingQueued() throws SQLException {
+        for (int i = 0; i < 500; i++) {
+            writer.enqueue(entry("ACC" + (i % 7)));
+        }
+        writer.close();
+
+        assertEquals(500, countRows());
+        assertEquals(500, writer.getRowsWritten());
+        assertEquals(0, writer.getQueueDepth());
+        assertTrue(writer.getFlushCount() >= 50);
+    }
+
+    @Test
+    public void testWriteThroughReturnsAfterCommit() throws SQLException {
+        writer.writeThrough(entry("ACC001"));
+
+        assertEquals(1, countRows());
+        assertTrue(writer.getMaxFlushMillis() > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEnqueueAfterCloseIsRejected() {
+        writer.close();
+        writer.enqueue(entry("ACC001"));
+    }
+
+    @Test
+    public void testRowsSurviveAnOutageAndBackPressureCallers() throws Exception {
+        takeTransactionsOffline();
+        try {
+            writer.writeThrough(entry("SYNC"));
+            fail("a write-through row must report the outage to its caller");
+        } catch (SQLException expected) {
+            assertEquals(1, writer.getRowsFailed());
+        }
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(entry("ACC" + i));
+        }
+
+        // The stuck batch is not replaced, so the 16-row queue fills and the producer has to wait
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 40; i++) {
+                writer.enqueue(entry("ACC" + (i % 7)));
+            }
+        });
+        producer.start();
+        producer.join(500);
+        assertTrue(producer.isAlive());
+        assertTrue(writer.getBackpressureWaits() > 0);
+        assertTrue(writer.getFailedFlushes() > 1);
+
+        bringTransactionsBack();
+        producer.join();
+        writer.close();
+
+        assertEquals(45, countRows());
+        assertEquals(45, writer.getRowsWritten());
+        assertEquals(1, writer.getRowsFailed());
+    }
+
+    @Test
+    public void testCloseGivesUpAfterItsDeadlineDuringAnOutage() throws Exception {
+        writer.close();
+        writer = new AsyncLedgerWriter(16, 10, 5, 200, 300);
+        takeTransactionsOffline();
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(entry("ACC" + i));
+        }
+        try {
+            writer.writeThrough(entry("SYNC")); // queued behind the stuck batch
+            fail("a write-through caller must not wait past its timeout");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage().contains("200 ms"));
+        }
+
+        long start = System.nanoTime();
+        long unsaved = writer.close(300);
+
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertEquals(5, unsaved);
+        assertEquals(5, writer.getRowsUnsaved());
+        assertEquals(0, writer.getRowsWritten());
+        bringTransactionsBack();
+    }
+
+    // Inserts fail while the table is renamed away, which the writer sees as an outage
+    private static void takeTransactionsOffline() throws SQLException {
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE transactions RENAME TO transactions_offline");
+        }
+    }
+
+    private static void bringTransactionsBack() throws SQLException {
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE transactions_offline RENAME TO transactions");
+        }
+    }
+
+    private static LedgerEntry entry(String accountNumber) {
+        return new LedgerEntry(accountNumber, TransactionType.DEPOSIT, new BigDecimal("10.00"), null, LocalDateTime.now());
+    }
+
+    private static int countRows() throws SQLException {
+        try (Connection conn = DatabaseConnection.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transactions")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.banking.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.*;
+
+public class ConnectionPoolTest {
+    private static final String URL = "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1";
+    private ConnectionPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ConnectionPool(URL, "sa", "", 2, 0, 200, 60000, 0, 1);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testConnectionIsReturnedToPoolOnClose() throws Exception {
+        try (Connection conn = pool.getConnection()) {
+            assertFalse(conn.isClosed());
+            assertEquals(1, pool.getActiveConnections());
+            assertEquals(0, pool.getIdleConnections());
+        }
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, pool.getIdleConnections());
+        assertEquals(1, pool.getTotalConnections());
+    }
+
+    @Test
+    public void testNestedCheckoutOnSameThreadSharesConnection() throws Exception {
+        try (Connection outer = pool.getConnection()) {
+            outer.setAutoCommit(false);
+            try (Connection inner = pool.getConnection()) {
+                // Same physical connection, so the inner handle sees the outer transaction
+                assertFalse(inner.getAutoCommit());
+            }
+            assertFalse(outer.isClosed());
+            assertEquals(1, pool.getActiveConnections());
+        }
+        assertEquals(1, pool.getTotalConnections());
+    }
+
+    @Test
+    public void testOpenTransactionIsRolledBackOnRelease() throws Exception {
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS pool_rollback (id INT)");
+            stmt.execute("DELETE FROM pool_rollback");
+        }
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.execute("INSERT INTO pool_rollback VALUES (1)");
+        }
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            assertTrue(conn.getAutoCommit());
+            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM pool_rollback");
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testAcquireTimesOutWhenPoolIsExhausted() throws Exception {
+        CountDownLatch held = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            new Thread(() -> {
+                try (Connection conn = pool.getConnection()) {
+                    held.countDown();
+                    done.await();
+                    conn.rollback();
+                } catch (Exception ignored) {
+                }
+            }).start();
+        }
+        held.await();
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try {
+            pool.getConnection().close();
+            fail("Expected the checkout to time out");
+        } catch (SQLTimeoutException e) {
+            failure.set(e);
+        } finally {
+            done.countDown();
+        }
+        assertNotNull(failure.get());
+        assertEquals(1, pool.getAcquireTimeouts());
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws Exception {
+        ConnectionPool shortLived = new ConnectionPool(URL, "sa", "", 2, 0, 200, 1, 0, 1);
+        try {
+            shortLived.getConnection().close();
+            assertEquals(1, shortLived.getIdleConnections());
+            Thread.sleep(5);
+            shortLived.evictIdle();
+            assertEquals(0, shortLived.getIdleConnections());
+            assertEquals(0, shortLived.getTotalConnections());
+        } finally {
+            shortLived.close();
+        }
+    }
+}
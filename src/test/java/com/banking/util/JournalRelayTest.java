@@ -0,0 +1,73 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+import com.banking.model.TransactionType;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import static org.junit.Assert.*;
+
+public class JournalRelayTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws SQLException {
+        database.clear();
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO accounts (account_number, balance, account_type) VALUES ('SAV001', 0, 'savings')");
+        }
+    }
+
+    @Test
+    public void testRelayCopiesEachRecordExactlyOnceAcrossRestarts() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        try (LedgerJournal journal = new LedgerJournal(dir, 8 * LedgerJournal.RECORD_SIZE, LedgerJournal.FsyncPolicy.NONE, 0)) {
+            JournalRelay relay = new JournalRelay("test", dir, 3, 1);
+            append(journal, 10);
+            waitFor(relay, 10);
+            relay.close();
+            assertEquals(10, count());
+
+            append(journal, 5);
+            JournalRelay restarted = new JournalRelay("test", dir, 3, 1);
+            restarted.close();
+            assertEquals(15, restarted.getRelayedSequence());
+            assertEquals(5, restarted.getRowsRelayed());
+        }
+        assertEquals(15, count());
+    }
+
+    private static void append(LedgerJournal journal, int n) {
+        for (int i = 0; i < n; i++) {
+            journal.append(new LedgerEntry("SAV001", TransactionType.DEPOSIT, new BigDecimal("1.00"), null, LocalDateTime.now()));
+        }
+    }
+
+    private static void waitFor(JournalRelay relay, long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (relay.getRelayedSequence() < sequence && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static int count() throws SQLException {
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transactions")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.util;
+
+import org.junit.Test;
+import java.util.Map;
+import static org.junit.Assert.*;
+
+public class JsonTest {
+    @Test
+    public void testParsesFlatObjectAndKeepsNumbersAsText() {
+        Map<String, String> values = Json.parseObject(" {\"from\": \"A\\\"1\", \"amount\": 10.50, \"ok\": true, \"note\": null, \"u\": \"\\u00e9\"} ");
+
+        assertEquals("A\"1", values.get("from"));
+        assertEquals("10.50", values.get("amount"));
+        assertEquals("true", values.get("ok"));
+        assertTrue(values.containsKey("note"));
+        assertNull(values.get("note"));
+        assertEquals("é", values.get("u"));
+        assertTrue(Json.parseObject("{}").isEmpty());
+    }
+
+    @Test
+    public void testRejectsMalformedInput() {
+        String[] inputs = {"", "[1]", "{\"a\": 1", "{\"a\": {\"b\": 1}}", "{\"a\": 1} x", "{\"a\": abc}", "{a: 1}"};
+        for (String input : inputs) {
+            try {
+                Json.parseObject(input);
+                fail("Accepted " + input);
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testQuoteEscapesControlCharacters() {
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", Json.quote("a\"b\\c\n\u0001"));
+        assertEquals("null", Json.quote(null));
+    }
+}
@@ -0,0 +1,37 @@
+package com.banking.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testPercentilesStayWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000); // 1 µs .. 100 ms in ns
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMax());
+        assertWithin(50_000_000L, histogram.getValueAtPercentile(50));
+        assertWithin(99_000_000L, histogram.getValueAtPercentile(99));
+        assertWithin(99_900_000L, histogram.getValueAtPercentile(99.9));
+        assertEquals(100_000_000L, histogram.getValueAtPercentile(100));
+        assertEquals(50_000_500.0, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    public void testBucketsCoverTheWholeRange() {
+        long[] values = {0, 1, 2047, 2048, 2049, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            long highest = LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(value));
+            assertTrue(value + " above its bucket", highest >= value);
+            assertTrue(value + " bucket too wide", highest - value <= Math.max(0, value / 1024));
+        }
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 1000);
+    }
+}
@@ -0,0 +1,96 @@
+package com.banking.util;
+
+import com.banking.model.LedgerEntry;
+import com.banking.model.TransactionType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class LedgerJournalTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123456789);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRecordsRoundTripAcrossSegments() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        try (LedgerJournal journal = new LedgerJournal(dir, 4 * LedgerJournal.RECORD_SIZE, LedgerJournal.FsyncPolicy.NONE, 0)) {
+            for (int i = 1; i <= 10; i++) {
+                assertEquals(i, journal.append(entry(i)));
+            }
+        }
+        assertEquals(3, LedgerJournal.listSegments(dir).size());
+
+        List<JournalRecord> records = new ArrayList<>();
+        assertEquals(10, new JournalReader(dir, 0).replay(records::add));
+        for (int i = 1; i <= 10; i++) {
+            JournalRecord record = records.get(i - 1);
+            assertEquals(i, record.getSequence());
+            assertEquals("ACC" + i, record.getEntry().getAccountNumber());
+            assertEquals(new BigDecimal(i + ".25"), record.getEntry().getAmount());
+            assertEquals(NOW, record.getEntry().getTimestamp());
+        }
+        assertEquals(TransactionType.TRANSFER_OUT, records.get(0).getEntry().getType());
+        assertEquals("REF1", records.get(0).getEntry().getReferenceAccount());
+        assertNull(records.get(1).getEntry().getReferenceAccount());
+    }
+
+    @Test
+    public void testReaderStartsAfterGivenSequenceAndTailsNewRecords() {
+        Path dir = folder.getRoot().toPath();
+        try (LedgerJournal journal = new LedgerJournal(dir, 4 * LedgerJournal.RECORD_SIZE, LedgerJournal.FsyncPolicy.EVERY_WRITE, 0)) {
+            for (int i = 1; i <= 6; i++) {
+                journal.append(entry(i));
+            }
+            JournalReader reader = new JournalReader(dir, 3);
+            List<JournalRecord> records = new ArrayList<>();
+            assertEquals(3, reader.poll(100, records::add));
+            assertEquals(4, records.get(0).getSequence());
+            assertEquals(0, reader.poll(100, records::add));
+
+            journal.append(entry(7));
+            journal.append(entry(8));
+            journal.append(entry(9));
+            assertEquals(3, reader.poll(100, records::add));
+            assertEquals(9, reader.getLastSequence());
+        }
+    }
+
+    @Test
+    public void testReopenDropsTornRecordAndContinuesSequence() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        try (LedgerJournal journal = new LedgerJournal(dir, 100 * LedgerJournal.RECORD_SIZE, LedgerJournal.FsyncPolicy.NONE, 0)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.append(entry(i));
+            }
+        }
+        // Corrupt record #4 as if the process died while writing it
+        Path segment = LedgerJournal.listSegments(dir).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(3L * LedgerJournal.RECORD_SIZE + 40);
+            file.write(0x7F);
+        }
+
+        try (LedgerJournal journal = new LedgerJournal(dir, 100 * LedgerJournal.RECORD_SIZE, LedgerJournal.FsyncPolicy.NONE, 0)) {
+            assertEquals(3, journal.getLastSequence());
+            assertEquals(4, journal.append(entry(40)));
+        }
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(dir, 0).replay(records::add);
+        assertEquals(4, records.size());
+        assertEquals("ACC40", records.get(3).getEntry().getAccountNumber());
+    }
+
+    private static LedgerEntry entry(int i) {
+        return new LedgerEntry("ACC" + i, i == 1 ? TransactionType.TRANSFER_OUT : TransactionType.DEPOSIT,
+                new BigDecimal(i + ".25"), i == 1 ? "REF1" : null, NOW);
+    }
+}
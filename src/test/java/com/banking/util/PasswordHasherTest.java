@@ -0,0 +1,29 @@
+package com.banking.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PasswordHasherTest {
+    private final PasswordHasher hasher = new PasswordHasher(1_000);
+
+    @Test
+    public void testHashVerifiesOnlyTheRightPassword() {
+        String stored = hasher.hash("s3cret");
+
+        assertTrue(stored.startsWith("pbkdf2_sha256$1000$"));
+        assertTrue(hasher.verify("s3cret", stored));
+        assertFalse(hasher.verify("s3cret!", stored));
+        assertNotEquals(stored, hasher.hash("s3cret"));
+        assertFalse(hasher.needsRehash(stored));
+        assertTrue(new PasswordHasher(2_000).needsRehash(stored));
+        assertTrue(new PasswordHasher(2_000).verify("s3cret", stored)); // cost is read from the stored hash
+    }
+
+    @Test
+    public void testLegacyAndMalformedValues() {
+        assertTrue(hasher.verify("plain", "plain"));
+        assertTrue(hasher.needsRehash("plain"));
+        assertFalse(hasher.verify("plain", "pbkdf2_sha256$1000$not-base64!$x"));
+        assertFalse(hasher.verify(null, "plain"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.util;
+
+import org.junit.Test;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+public class RetryPolicyTest {
+    @Test
+    public void testRetriesOnlyAcceptedFailuresUpToTheLimit() {
+        RetryPolicy retry = new RetryPolicy(3, 0, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("done", retry.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("busy");
+            }
+            return "done";
+        }, e -> e instanceof IllegalStateException));
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        try {
+            retry.execute(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("always busy");
+            }, e -> e instanceof IllegalStateException);
+            fail("expected the last failure to be rethrown");
+        } catch (IllegalStateException e) {
+            assertEquals(3, calls.get());
+        }
+
+        calls.set(0);
+        try {
+            retry.execute(() -> {
+                calls.incrementAndGet();
+                throw new IllegalArgumentException("not retryable");
+            }, e -> e instanceof IllegalStateException);
+            fail("expected an immediate failure");
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void testBackoffGrowsAndStaysUnderTheCap() {
+        RetryPolicy retry = new RetryPolicy(10, 4, 50);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(retry.delayBefore(1) <= 4);
+            assertTrue(retry.delayBefore(3) <= 16);
+            assertTrue(retry.delayBefore(9) <= 50);
+            assertTrue(retry.delayBefore(200) <= 50);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.banking.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import static org.junit.Assert.*;
+
+public class SchemaMigratorTest {
+    private Connection conn;
+
+    @Before
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:migrator;MODE=MySQL", "sa", "");
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    public void testFreshDatabaseIsMigratedOnce() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+
+        assertEquals(migrator.latestVersion(), migrator.migrate(conn));
+        assertEquals(0, migrator.migrate(conn));
+        assertEquals(migrator.latestVersion(), migrator.currentVersion(conn));
+        assertTrue(indexExists("IDX_ACCOUNTS_USER"));
+        assertTrue(indexExists("IDX_TRANSACTIONS_ACCOUNT_DATE_ID"));
+        assertTrue(indexExists("IDX_ACCOUNTS_BALANCE"));
+    }
+
+    @Test
+    public void testOldSchemaGainsReferenceAccountColumn() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE transactions (transaction_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "account_number VARCHAR(50), transaction_type VARCHAR(20), amount DECIMAL(15, 2) NOT NULL, " +
+                    "transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        new SchemaMigrator().migrate(conn);
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                     "WHERE TABLE_NAME = 'TRANSACTIONS' AND COLUMN_NAME = 'REFERENCE_ACCOUNT'")) {
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testUndatedTransactionsAreBackfilledAndDatesBecomeRequired() throws SQLException {
+        new SchemaMigrator("V1__baseline.sql").migrate(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO accounts (account_number, balance, account_type) VALUES ('SAV001', 10.00, 'savings')");
+            stmt.execute("INSERT INTO transactions (account_number, transaction_type, amount, transaction_date) " +
+                    "VALUES ('SAV001', 'DEPOSIT', 10.00, NULL)");
+        }
+
+        new SchemaMigrator().migrate(conn);
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT transaction_date FROM transactions")) {
+            rs.next();
+            assertNotNull(rs.getTimestamp(1));
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO transactions (account_number, transaction_type, amount, transaction_date) " +
+                    "VALUES ('SAV001', 'DEPOSIT', 5.00, NULL)");
+            fail("A NULL transaction_date should be rejected");
+        } catch (SQLException expected) {
+            // NOT NULL constraint
+        }
+    }
+
+    private boolean indexExists(String name) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = '" + name + "'")) {
+            rs.next();
+            return rs.getInt(1) > 0;
+        }
+    }
+}
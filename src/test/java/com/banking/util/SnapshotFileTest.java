@@ -0,0 +1,57 @@
+package com.banking.util;
+
+import com.banking.model.AccountSnapshot;
+import com.banking.model.AccountType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class SnapshotFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTripWithAndWithoutCompression() {
+        AccountSnapshot snapshot = sampleSnapshot(1000);
+        for (boolean compress : new boolean[]{false, true}) {
+            Path file = folder.getRoot().toPath().resolve("balances-" + compress + ".snap");
+            SnapshotFile.write(snapshot, file, compress);
+
+            SnapshotFile loaded = SnapshotFile.open(file);
+            assertEquals(compress, loaded.isCompressed());
+            assertEquals(1000, loaded.size());
+            assertEquals(42, loaded.getLastTransactionId());
+            assertEquals(7, loaded.getLastJournalSequence());
+            assertEquals("ACC0000", loaded.getAccountNumber(0));
+            assertEquals(AccountType.CHECKING, loaded.getAccountType(1));
+            assertEquals(-1_234_567L, loaded.findBalanceCents("ACC0999").getAsLong());
+            assertFalse(loaded.findBalanceCents("ACC9999").isPresent());
+            assertEquals(snapshot.getEntries().size(), loaded.toAccountSnapshot().getEntries().size());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCorruptedSnapshotIsRejected() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("balances.snap");
+        SnapshotFile.write(sampleSnapshot(10), file, false);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(48 + 3);
+            raf.write(0x55);
+        }
+        SnapshotFile.open(file);
+    }
+
+    private static AccountSnapshot sampleSnapshot(int n) {
+        List<AccountSnapshot.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            entries.add(new AccountSnapshot.Entry(String.format("ACC%04d", i),
+                    i % 2 == 0 ? AccountType.SAVINGS : AccountType.CHECKING, i == n - 1 ? -1_234_567L : i * 100L));
+        }
+        return new AccountSnapshot(entries, 42, 7);
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.util;
+
+import org.junit.Test;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import static org.junit.Assert.*;
+
+public class SqlErrorsTest {
+    @Test
+    public void testDeadlocksAndLockTimeoutsAreLockConflicts() {
+        assertTrue(SqlErrors.isLockConflict(new SQLException("H2 deadlock", "40001", 40001)));
+        assertTrue(SqlErrors.isLockConflict(new SQLException("H2 lock timeout", "HYT00", 50200)));
+        assertTrue(SqlErrors.isLockConflict(new SQLException("MySQL lock wait timeout", "HY000", 1205)));
+        assertTrue(SqlErrors.isLockConflict(new SQLException("H2 concurrent update", "90131", 90131)));
+        assertTrue(SqlErrors.isLockConflict(new SQLTransactionRollbackException("rolled back")));
+        // As thrown by the DAOs: wrapped in a RuntimeException
+        assertTrue(SqlErrors.isLockConflict(new RuntimeException("❌ Error", new SQLException("MySQL deadlock", "40001", 1213))));
+
+        assertFalse(SqlErrors.isLockConflict(new SQLException("Duplicate key", "23505", 23505)));
+        assertFalse(SqlErrors.isLockConflict(new RuntimeException("no cause")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.util;
+
+import org.junit.rules.ExternalResource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Points {@link DatabaseConnection} at a fresh in-memory H2 database for one test class; {@link SchemaMigrator}
+ * builds the schema on the first connect, exactly as it does in production.
+ * <pre>
+ * &#64;ClassRule
+ * public static final TestDatabase database = new TestDatabase();
+ * </pre>
+ * {@link #clear()} empties every table between tests.
+ */
+public class TestDatabase extends ExternalResource {
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final String url;
+
+    public TestDatabase() {
+        this("");
+    }
+
+    // Extra H2 settings appended to the URL, e.g. ";LOCK_TIMEOUT=100"
+    public TestDatabase(String settings) {
+        this.url = "jdbc:h2:mem:test" + DATABASES.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1" + settings;
+    }
+
+    @Override
+    protected void before() {
+        System.setProperty("db.url", url);
+        System.setProperty("db.console.enabled", "false");
+    }
+
+    @Override
+    protected void after() {
+        DatabaseConnection.closeDatabase();
+        System.clearProperty("db.url");
+        System.clearProperty("db.console.enabled");
+        try (Connection conn = DriverManager.getConnection(url, "sa", ""); Statement stmt = conn.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not drop " + url, e);
+        }
+    }
+
+    // Empties every table except schema_version and restarts the generated ids
+    public void clear() throws SQLException {
+        try (Connection conn = DatabaseConnection.connect(); Statement stmt = conn.createStatement()) {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+                    "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' AND TABLE_NAME <> 'SCHEMA_VERSION'")) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+            stmt.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            try {
+                for (String table : tables) {
+                    stmt.execute("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+                }
+            } finally {
+                stmt.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.banking.view;
+
+import com.banking.model.Users;
+import com.banking.service.AccountDAOImpl;
+import com.banking.service.AuthService;
+import com.banking.service.TransactionDAOImpl;
+import com.banking.service.UserDAOImpl;
+import com.banking.util.PasswordHasher;
+import com.banking.util.Json;
+import com.banking.util.TestDatabase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.Assert.*;
+
+public class BankingHttpServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private BankingHttpServer server;
+    private String token;
+
+    @ClassRule
+    public static final TestDatabase database = new TestDatabase();
+
+    @Before
+    public void setUp() throws Exception {
+        database.clear();
+        PasswordHasher hasher = new PasswordHasher(1_000);
+        UserDAOImpl userDAO = new UserDAOImpl(hasher);
+        userDAO.createUser(new Users("dave", "pw", "Dave", "dave@test.com", "customer"));
+        userDAO.createUser(new Users("erin", "pw", "Erin", "erin@test.com", "customer"));
+        AccountDAOImpl accountDAO = new AccountDAOImpl();
+        accountDAO.createAccount("SAV001", new BigDecimal("1000.00"), "savings", userDAO.getCredentials("dave").get().getUserId());
+        accountDAO.createAccount("CHK001", new BigDecimal("500.00"), "checking", userDAO.getCredentials("dave").get().getUserId());
+        accountDAO.createAccount("SAV-E", new BigDecimal("100.00"), "savings", userDAO.getCredentials("erin").get().getUserId());
+
+        server = new BankingHttpServer(accountDAO, new TransactionDAOImpl(), new AuthService(userDAO, hasher, 100, 60_000), "127.0.0.1", 0, 16, 5000);
+        server.start();
+        token = Json.parseObject(post("/login", "{\"username\": \"dave\", \"password\": \"pw\"}").body()).get("token");
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testAccountOperations() throws Exception {
+        HttpResponse<String> balance = get("/accounts/SAV001");
+        assertEquals(200, balance.statusCode());
+        assertEquals("1000.00", Json.parseObject(balance.body()).get("balance"));
+
+        assertEquals(200, post("/accounts/SAV001/deposit", "{\"amount\": \"25.50\"}").statusCode());
+        assertEquals(200, post("/accounts/CHK001/withdraw", "{\"amount\": 100}").statusCode());
+        assertEquals(409, post("/accounts/CHK001/withdraw", "{\"amount\": \"1000.00\"}").statusCode());
+        HttpResponse<String> transfer = post("/transfers", "{\"from\": \"SAV001\", \"to\": \"CHK001\", \"amount\": \"25.50\"}");
+        assertEquals(200, transfer.statusCode());
+        assertEquals("APPLIED", Json.parseObject(transfer.body()).get("status"));
+
+        assertEquals("1000.00", Json.parseObject(get("/accounts/SAV001").body()).get("balance"));
+        assertEquals("425.50", Json.parseObject(get("/accounts/CHK001").body()).get("balance"));
+
+        HttpResponse<String> history = get("/accounts/SAV001/transactions?limit=1");
+        assertEquals(200, history.statusCode());
+        assertTrue(history.body().contains("\"type\":\"TRANSFER_OUT\""));
+        assertFalse(history.body().contains("\"nextCursor\":null"));
+    }
+
+    @Test
+    public void testErrorsMapToStatusCodes() throws Exception {
+        assertEquals(403, get("/accounts/NOPE").statusCode());
+        assertEquals(404, post("/transfers", "{\"from\": \"SAV001\", \"to\": \"NOPE\", \"amount\": \"1.00\"}").statusCode());
+        assertEquals(400, post("/accounts/SAV001/deposit", "{\"amount\": \"-5\"}").statusCode());
+        assertEquals(400, post("/accounts/SAV001/deposit", "{\"amount\": \"1.001\"}").statusCode());
+        assertEquals(400, post("/accounts/SAV001/deposit", "not json").statusCode());
+        assertEquals(400, get("/accounts/SAV001/transactions?limit=0").statusCode());
+        assertEquals(405, get("/accounts/SAV001/deposit").statusCode());
+        assertEquals(404, get("/accounts/SAV001/unknown").statusCode());
+    }
+
+    @Test
+    public void testRequestsNeedASessionForTheirOwnAccounts() throws Exception {
+        token = null;
+        HttpResponse<String> anonymous = get("/accounts/SAV001");
+        assertEquals(401, anonymous.statusCode());
+        assertEquals("Bearer", anonymous.headers().firstValue("WWW-Authenticate").orElse(null));
+
+        token = "not-a-session";
+        assertEquals(401, get("/accounts/SAV001").statusCode());
+
+        assertEquals(401, post("/login", "{\"username\": \"erin\", \"password\": \"wrong\"}").statusCode());
+        HttpResponse<String> login = post("/login", "{\"username\": \"erin\", \"password\": \"pw\"}");
+        assertEquals(200, login.statusCode());
+        assertEquals("customer", Json.parseObject(login.body()).get("role"));
+        token = Json.parseObject(login.body()).get("token");
+        assertEquals(403, get("/accounts/SAV001").statusCode());
+        assertEquals(403, post("/accounts/SAV001/withdraw", "{\"amount\": \"1.00\"}").statusCode());
+        assertEquals(403, post("/transfers", "{\"from\": \"SAV001\", \"to\": \"SAV-E\", \"amount\": \"1.00\"}").statusCode());
+        // Paying into someone else's account is fine
+        assertEquals(200, post("/transfers", "{\"from\": \"SAV-E\", \"to\": \"SAV001\", \"amount\": \"1.00\"}").statusCode());
+
+        assertEquals(200, post("/logout", "").statusCode());
+        assertEquals(401, get("/accounts/SAV-E").statusCode());
+    }
+
+    @Test
+    public void testConcurrentTransfersPreserveTotal() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String body = i % 2 == 0
+                    ? "{\"from\": \"SAV001\", \"to\": \"CHK001\", \"amount\": \"3.00\"}"
+                    : "{\"from\": \"CHK001\", \"to\": \"SAV001\", \"amount\": \"2.00\"}";
+            responses.add(client.sendAsync(request("/transfers").POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+        }
+
+        Map<String, String> savings = Json.parseObject(get("/accounts/SAV001").body());
+        Map<String, String> checking = Json.parseObject(get("/accounts/CHK001").body());
+        assertEquals(new BigDecimal("950.00"), new BigDecimal(savings.get("balance")));
+        assertEquals(new BigDecimal("550.00"), new BigDecimal(checking.get("balance")));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+        return token == null ? request : request.header("Authorization", "Bearer " + token);
+    }
+}